@@ -12,21 +12,30 @@ import com.caixabanktech.loan.domain.port.in.RetrieveLoanUseCase;
 import com.caixabanktech.loan.domain.port.out.LoanRepositoryPort;
 import com.caixabanktech.loan.domain.exception.ResourceNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
 import java.util.Currency;
+import java.util.function.UnaryOperator;
 
 @Service
 @Transactional
 public class LoanApplicationService implements CreateLoanUseCase, ModifyLoanStatusUseCase, RetrieveLoanUseCase {
 
     private final LoanRepositoryPort loanRepository;
+    private final LoanUpdateRetry updateRetry;
+    private final TransactionOperations transactions;
 
-    public LoanApplicationService(LoanRepositoryPort loanRepository) {
+    public LoanApplicationService(LoanRepositoryPort loanRepository, LoanUpdateRetry updateRetry,
+                                  TransactionOperations transactions) {
         this.loanRepository = loanRepository;
+        this.updateRetry = updateRetry;
+        this.transactions = transactions;
     }
 
     @Override
@@ -40,22 +49,38 @@ public class LoanApplicationService implements CreateLoanUseCase, ModifyLoanStat
                 .modifiedAt(Instant.now())
                 .status(LoanStatus.PENDING)
                 .build();
-        return loanRepository.save(loanApplication);
+        return loanRepository.create(loanApplication);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoanApplication approveLoan(UUID id) {
-        return loanRepository.save(getLoanOrThrow(id).approve());
+        return changeStatus(id, LoanApplication::approve);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoanApplication rejectLoan(UUID id) {
-        return loanRepository.save(getLoanOrThrow(id).reject());
+        return changeStatus(id, LoanApplication::reject);
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public LoanApplication cancelLoan(UUID id) {
-        return loanRepository.save(getLoanOrThrow(id).cancel());
+        return changeStatus(id, LoanApplication::cancel);
+    }
+
+    // The loan is usually read from cache; the update only applies if the database still has the version read here.
+    // A lost race re-reads the loan and decides again, so the transition either applies to the current loan or
+    // fails like any invalid transition; only a loan that keeps changing exhausts the retries.
+    // Each attempt commits in its own transaction, so the backoff between attempts holds no connection
+    private LoanApplication changeStatus(UUID id, UnaryOperator<LoanApplication> transition) {
+        return updateRetry.run(id, () -> transactions.execute(status -> {
+            LoanApplication changed = transition.apply(getLoanOrThrow(id)).toBuilder()
+                    .modifiedAt(Instant.now().truncatedTo(ChronoUnit.MICROS))
+                    .build();
+            return loanRepository.updateStatus(changed);
+        }));
     }
 
     @Override
@@ -0,0 +1,107 @@
+package com.caixabanktech.loan.application.service;
+
+import com.caixabanktech.loan.domain.exception.ConcurrentLoanUpdateException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retry of loan updates that lost an optimistic version check to a concurrent update.
+ * <p>
+ * Each attempt re-reads the loan and decides again, so only updates that can be re-applied to whatever the loan
+ * has become (status transitions, which re-check their precondition) belong here. Between attempts it backs off
+ * with full jitter: a random wait up to {@code baseBackoff * 2^(retry - 1)}, capped at {@code maxBackoff}, so
+ * updates that collided once do not collide again in lockstep. Attempts and conflicts are counted for metrics;
+ * conflicts over attempts is the conflict rate.
+ */
+public class LoanUpdateRetry {
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Sleeper sleeper;
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public LoanUpdateRetry(int maxAttempts, Duration baseBackoff, Duration maxBackoff) {
+        this(maxAttempts, baseBackoff, maxBackoff, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    LoanUpdateRetry(int maxAttempts, Duration baseBackoff, Duration maxBackoff, Sleeper sleeper) {
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be at least 1");
+        if (baseBackoff.isNegative() || maxBackoff.isNegative()) throw new IllegalArgumentException("backoff must not be negative");
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffNanos = baseBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.sleeper = sleeper;
+    }
+
+    /** A single attempt: conflicts fail straight away. */
+    public static LoanUpdateRetry disabled() {
+        return new LoanUpdateRetry(1, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * Runs {@code attempt} until it returns a value, at most {@code maxAttempts} times. An empty result is a lost
+     * version check; exceptions are not retried. Fails with {@link ConcurrentLoanUpdateException} once every
+     * attempt has conflicted.
+     */
+    public <T> T run(UUID loanId, Supplier<Optional<T>> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            attempts.increment();
+            Optional<T> result = attempt.get();
+            if (result.isPresent()) {
+                return result.get();
+            }
+            conflicts.increment();
+            if (attemptNumber >= maxAttempts) {
+                exhausted.increment();
+                throw new ConcurrentLoanUpdateException("Loan " + loanId + " was updated concurrently; gave up after "
+                        + maxAttempts + (maxAttempts == 1 ? " attempt" : " attempts"));
+            }
+            retries.increment();
+            backOff(attemptNumber);
+        }
+    }
+
+    private void backOff(int retry) {
+        long nanos = backoffNanos(retry);
+        if (nanos == 0) {
+            return;
+        }
+        try {
+            sleeper.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentLoanUpdateException("Interrupted while waiting to retry a concurrent loan update");
+        }
+    }
+
+    long backoffNanos(int retry) {
+        long ceiling = baseBackoffNanos << Math.min(retry - 1, 20);
+        if (ceiling < 0 || ceiling > maxBackoffNanos) {
+            ceiling = maxBackoffNanos;
+        }
+        return ceiling == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    public long attemptCount() { return attempts.sum(); }
+
+    public long conflictCount() { return conflicts.sum(); }
+
+    public long retryCount() { return retries.sum(); }
+
+    public long exhaustedCount() { return exhausted.sum(); }
+}
@@ -0,0 +1,5 @@
+package com.caixabanktech.loan.domain.exception;
+
+public class ConcurrentLoanUpdateException extends RuntimeException {
+    public ConcurrentLoanUpdateException(String message) { super(message); }
+}
@@ -9,7 +9,7 @@ import lombok.extern.jackson.Jacksonized;
 import java.time.Instant;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @Jacksonized
 public class LoanApplication {
     @NonNull
@@ -26,6 +26,8 @@ public class LoanApplication {
     private Instant modifiedAt;
     @NonNull
     private LoanStatus status;
+    /** Incremented by every stored update; an update only applies to the version it was decided on. */
+    private final long version;
 
     public LoanApplication approve() {
         if (this.status!= LoanStatus.PENDING) throw new InvalidStateTransitionException("Only PENDING -> APPROVED");
@@ -0,0 +1,21 @@
+package com.caixabanktech.loan.domain.port.out;
+
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+
+import java.time.Instant;
+
+/**
+ * Position of a loan in creation order, ties broken by id. The repository method tells which way a keyset page
+ * resumes from it: right after it ({@code …After}), or right before it when reading newest first
+ * ({@code findRecentBefore}).
+ */
+public record LoanCursor(Instant createdAt, LoanId id) {
+    public LoanCursor {
+        if (createdAt == null || id == null) throw new IllegalArgumentException("LoanCursor needs createdAt and id");
+    }
+
+    public static LoanCursor of(LoanApplication loan) {
+        return new LoanCursor(loan.getCreatedAt(), loan.getId());
+    }
+}
@@ -3,17 +3,62 @@ package com.caixabanktech.loan.domain.port.out;
 import com.caixabanktech.loan.domain.model.ApplicantIdentity;
 import com.caixabanktech.loan.domain.model.LoanApplication;
 import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LoanRepositoryPort {
+    /** Fails with an optimistic locking error when the stored loan has a newer version than {@code loan}. */
     LoanApplication save(LoanApplication loan);
+    /** {@link #save} for a loan that does not exist yet, so adapters can insert it without checking first. */
+    LoanApplication create(LoanApplication loan);
+    /**
+     * Writes the status and modification time of {@code loan}, but only if the stored loan still has the version of
+     * {@code loan}: a compare-and-set, so of two concurrent updates of the same version only one succeeds.
+     * Returns the loan as stored, with its new version, or empty when the loan changed or was deleted meanwhile.
+     * The caller must not change any other field of the loan.
+     */
+    Optional<LoanApplication> updateStatus(LoanApplication loan);
+    /**
+     * Saves distinct loans in one transaction, hence one audit revision, and returns them as saved, in order.
+     * Adapters may send them to the database in batches.
+     */
+    List<LoanApplication> saveAll(List<LoanApplication> loans);
     Optional<LoanApplication> findById(LoanId id);
+    /** Status of the loan, for callers that need nothing else; adapters may read it without loading the loan. */
+    default Optional<LoanStatus> findStatusById(LoanId id) {
+        return findById(id).map(LoanApplication::getStatus);
+    }
+    /** Loans found for the given ids, in request order; unknown ids are skipped. */
+    List<LoanApplication> findAllById(Collection<LoanId> ids);
     List<LoanApplication> findAll();
+    /**
+     * Up to {@code size} loans, most recently created first (creation time then id, descending), starting right
+     * before {@code before} (from the newest loan when {@code null}).
+     */
+    List<LoanApplication> findRecentBefore(LoanCursor before, int size);
+    /** {@link #findByCriteriaAfter} for the loans in the given status. */
+    List<LoanApplication> findByStatusAfter(LoanStatus status, LoanCursor after, int size);
     Optional<List<LoanApplication>> findHistory(LoanId id);
     Optional<List<LoanApplication>> findByApplicantIdentity(ApplicantIdentity identity);
     Optional<List<LoanApplication>> findByCriteria(String identity, Instant startDate, Instant endDate);
+    /**
+     * Up to {@code size} loans matching the criteria, ordered by creation time then id, starting right after
+     * {@code after} (from the first loan when {@code null}). Pass the cursor of the last loan to read the next page.
+     */
+    List<LoanApplication> findByCriteriaAfter(String identity, Instant startDate, Instant endDate, LoanCursor after, int size);
+    /** {@link #findByCriteriaAfter} without criteria. */
+    default List<LoanApplication> findAllAfter(LoanCursor after, int size) {
+        return findByCriteriaAfter(null, null, null, after, size);
+    }
+    /**
+     * All loans matching the criteria, in {@link #findByCriteriaAfter} order, read as they are consumed so memory
+     * use does not grow with the number of matches. Consume it inside a transaction and close it.
+     */
+    Stream<LoanApplication> streamByCriteria(String identity, Instant startDate, Instant endDate);
     void deleteById(LoanId id);
 }
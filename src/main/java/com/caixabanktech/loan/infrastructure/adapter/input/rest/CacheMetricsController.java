@@ -0,0 +1,85 @@
+package com.caixabanktech.loan.infrastructure.adapter.input.rest;
+
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.infrastructure.adapter.input.rest.dto.HotKeysResponse;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.HotKeys;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/internal/metrics")
+@Tag(name = "Operations", description = "Operational endpoints for monitoring the service.")
+public class CacheMetricsController {
+
+    static final String PROMETHEUS_CONTENT_TYPE = "text/plain;version=0.0.4;charset=utf-8";
+    private static final String PSEUDONYM_ALGORITHM = "HmacSHA256";
+
+    private final LoanCacheMetrics loanCacheMetrics;
+    private final HotKeys<LoanId> loanHotKeys;
+    private final HotKeys<String> identityHotKeys;
+    // Random per process: identities are personal data and, being short, a plain hash of one is easy to reverse
+    private final SecretKeySpec pseudonymKey;
+
+    public CacheMetricsController(LoanCacheMetrics loanCacheMetrics, HotKeys<LoanId> loanHotKeys,
+                                  HotKeys<String> identityHotKeys) {
+        this.loanCacheMetrics = loanCacheMetrics;
+        this.loanHotKeys = loanHotKeys;
+        this.identityHotKeys = identityHotKeys;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.pseudonymKey = new SecretKeySpec(key, PSEUDONYM_ALGORITHM);
+    }
+
+    @Operation(
+            summary = "Loan cache metrics for Prometheus",
+            description = "Hit/miss/error counters and latencies per key family (loan, identity, history, criteria) and tier (l1, l2, db), plus circuit breaker and near cache gauges, in the Prometheus text format."
+    )
+    @GetMapping(value = "/prometheus", produces = PROMETHEUS_CONTENT_TYPE)
+    public String prometheus() {
+        return loanCacheMetrics.scrape();
+    }
+
+    @Operation(
+            summary = "Hottest loan ids and applicant identities",
+            description = "Top keys by estimated recent access frequency, from the count-min sketches that drive near cache admission. Meant for capacity planning. Identities are returned as pseudonyms: a keyed hash that stays the same until the instance restarts, so a hot identity can be followed between calls but not read."
+    )
+    @GetMapping("/hot-keys")
+    public HotKeysResponse hotKeys(
+            @Parameter(description = "Maximum keys returned per family", example = "20")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return new HotKeysResponse(toResponse(loanHotKeys.top(limit), id -> id.value().toString()),
+                toResponse(identityHotKeys.top(limit), this::pseudonym));
+    }
+
+    private String pseudonym(String identity) {
+        try {
+            Mac mac = Mac.getInstance(PSEUDONYM_ALGORITHM);
+            mac.init(pseudonymKey);
+            byte[] digest = mac.doFinal(identity.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(PSEUDONYM_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static <K> List<HotKeysResponse.HotKey> toResponse(List<HotKeys.HotKey<K>> hotKeys, Function<K, String> key) {
+        return hotKeys.stream().map(hotKey -> new HotKeysResponse.HotKey(key.apply(hotKey.key()), hotKey.frequency())).toList();
+    }
+}
@@ -0,0 +1,34 @@
+package com.caixabanktech.loan.infrastructure.adapter.input.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/internal/health")
+@Tag(name = "Operations", description = "Operational endpoints for monitoring the service.")
+public class ReadinessController {
+
+    private final ApplicationAvailability applicationAvailability;
+
+    public ReadinessController(ApplicationAvailability applicationAvailability) {
+        this.applicationAvailability = applicationAvailability;
+    }
+
+    @Operation(
+            summary = "Readiness probe",
+            description = "200 once the application accepts traffic, 503 before that (for instance while the loan cache is warming up) and while shutting down."
+    )
+    @GetMapping("/readiness")
+    public ResponseEntity<String> readiness() {
+        ReadinessState state = applicationAvailability.getReadinessState();
+        HttpStatus status = state == ReadinessState.ACCEPTING_TRAFFIC ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(state.name());
+    }
+}
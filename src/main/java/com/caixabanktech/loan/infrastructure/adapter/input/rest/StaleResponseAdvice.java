@@ -0,0 +1,35 @@
+package com.caixabanktech.loan.infrastructure.adapter.input.rest;
+
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.StaleResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds {@code X-Cache-Stale: true}, and the copy's age in seconds as {@code X-Cache-Stale-Age} when known, to
+ * responses built from a stale cached copy because the database failed or did not answer within the latency budget.
+ * A custom header rather than {@code Warning: 110}, which RFC 9111 deprecates and many clients and proxies drop.
+ */
+@RestControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (StaleResponse.isMarked()) {
+            response.getHeaders().set(StaleResponse.HEADER, "true");
+            StaleResponse.age().ifPresent(age -> response.getHeaders().set(StaleResponse.AGE_HEADER, Long.toString(age.toSeconds())));
+        }
+        return body;
+    }
+}
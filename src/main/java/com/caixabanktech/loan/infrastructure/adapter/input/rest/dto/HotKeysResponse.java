@@ -0,0 +1,19 @@
+package com.caixabanktech.loan.infrastructure.adapter.input.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record HotKeysResponse(
+        @Schema(description = "Most frequently accessed loan ids, hottest first")
+        List<HotKey> loans,
+        @Schema(description = "Most frequently accessed applicant identities, hottest first, as pseudonyms")
+        List<HotKey> identities) {
+
+    public record HotKey(
+            @Schema(example = "c18b4e1b-6b10-4d6c-9476-5e4764facb30", description = "Loan id, or pseudonym of the applicant identity: a keyed hash, stable until the instance restarts")
+            String key,
+            @Schema(example = "12", description = "Estimated recent accesses, from 0 to 15; halves periodically so it tracks current traffic")
+            int frequency) {
+    }
+}
@@ -1,8 +1,10 @@
 package com.caixabanktech.loan.infrastructure.adapter.input.rest.error;
 
+import com.caixabanktech.loan.domain.exception.ConcurrentLoanUpdateException;
 import com.caixabanktech.loan.domain.exception.InvalidDomainDataException;
 import com.caixabanktech.loan.domain.exception.InvalidStateTransitionException;
 import com.caixabanktech.loan.domain.exception.ResourceNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -76,6 +78,24 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles updates that lost to a concurrent update of the same loan (409 Conflict); the client may retry.
+     */
+    @ExceptionHandler({
+            ConcurrentLoanUpdateException.class,
+            OptimisticLockingFailureException.class
+    })
+    public ResponseEntity<ApiErrorResponse> handleConflict(RuntimeException e) {
+        var error = new ApiErrorResponse(
+                "Concurrent Update",
+                HttpStatus.CONFLICT.value(),
+                e instanceof ConcurrentLoanUpdateException ? e.getMessage() : "The loan was updated concurrently",
+                LocalDateTime.now(),
+                null
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles unexpected system failures (500 Internal Server Error).
      */
@@ -22,6 +22,7 @@ public interface LoanPersistenceMapper {
     @Mapping(target = "amount", source = "domain.loanAmount.amount")
     @Mapping(target = "currency", source = "domain.loanAmount.currency.currencyCode")
     @Mapping(target = "status", expression = "java(domain.getStatus().name())")
+    @Mapping(target = "newEntity", ignore = true)
     LoanJpaEntity toEntity(LoanApplication domain);
 
     @Mapping(target = "id", source = "entity.id", qualifiedByName = "mapToLoanId")
@@ -0,0 +1,140 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent cache misses for the same key so only one caller loads from the database.
+ * <p>
+ * Within a node, callers that miss while a load for the same key is already running wait for its result.
+ * When the distributed lock is enabled, the loading node also holds a short-lived Redis lock and the other
+ * nodes poll the cache until the value appears, the lock is released, or the wait timeout expires.
+ */
+public class CacheLoadCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheLoadCoordinator.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final boolean distributedLock;
+    private final Duration lockTtl;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+
+    public CacheLoadCoordinator(RedisTemplate<String, Object> redisTemplate, boolean distributedLock,
+                                Duration lockTtl, Duration waitTimeout, Duration pollInterval) {
+        this.redisTemplate = redisTemplate;
+        this.distributedLock = distributedLock;
+        this.lockTtl = lockTtl;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Loads the value for {@code key} at most once at a time.
+     *
+     * @param key        cache key being loaded
+     * @param cacheProbe re-reads the cache while waiting for another node; returns {@code null} when still absent
+     * @param loader     loads from the database and populates the cache
+     * @param shareCopy  copies the loaded value for each waiting caller, since domain objects are mutable
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> cacheProbe, Supplier<T> loader, UnaryOperator<T> shareCopy) {
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return shareCopy.apply((T) await(existing));
+        }
+        try {
+            T value = distributedLock ? loadUnderLock(key, cacheProbe, loader) : loader.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    private <T> T loadUnderLock(String key, Supplier<T> cacheProbe, Supplier<T> loader) {
+        String lockKey = lockKey(key);
+        String token = UUID.randomUUID().toString();
+        boolean acquired;
+        try {
+            acquired = Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTtl));
+        } catch (Exception e) {
+            log.warn("Error acquiring load lock {}. Loading without it.", lockKey, e);
+            return loader.get();
+        }
+
+        if (acquired) {
+            try {
+                return loader.get();
+            } finally {
+                release(lockKey, token);
+            }
+        }
+
+        T loadedElsewhere = awaitOtherNode(lockKey, cacheProbe);
+        return loadedElsewhere != null ? loadedElsewhere : loader.get();
+    }
+
+    private <T> T awaitOtherNode(String lockKey, Supplier<T> cacheProbe) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(pollInterval.toMillis());
+                T value = cacheProbe.get();
+                if (value != null) return value;
+                if (!Boolean.TRUE.equals(redisTemplate.hasKey(lockKey))) return cacheProbe.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Error waiting for load lock {}. Loading without it.", lockKey, e);
+        }
+        return null;
+    }
+
+    private void release(String lockKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey), token);
+        } catch (Exception e) {
+            log.warn("Error releasing load lock {}. It will expire on its own.", lockKey, e);
+        }
+    }
+
+    private static String lockKey(String key) {
+        return "lock:" + key;
+    }
+}
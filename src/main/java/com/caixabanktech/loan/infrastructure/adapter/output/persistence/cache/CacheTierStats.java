@@ -0,0 +1,44 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit/miss/eviction counters for a single cache tier (in-process L1 or Redis L2).
+ */
+public class CacheTierStats {
+
+    private final String tier;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CacheTierStats(String tier) {
+        this.tier = tier;
+    }
+
+    public void recordHit() { hits.increment(); }
+
+    public void recordMiss() { misses.increment(); }
+
+    public void recordEviction() { evictions.increment(); }
+
+    public String tier() { return tier; }
+
+    public long hitCount() { return hits.sum(); }
+
+    public long missCount() { return misses.sum(); }
+
+    public long evictionCount() { return evictions.sum(); }
+
+    public double hitRate() {
+        long hitCount = hitCount();
+        long total = hitCount + missCount();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheTierStats[tier=" + tier + ", hits=" + hitCount() + ", misses=" + missCount()
+                + ", evictions=" + evictionCount() + ", hitRate=" + String.format("%.3f", hitRate()) + "]";
+    }
+}
@@ -0,0 +1,16 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+/**
+ * Marker value cached for lookups that found nothing, so repeated misses do not reach the database.
+ */
+public final class CacheTombstone {
+
+    public static final String VALUE = "loan:not-found";
+
+    private CacheTombstone() {
+    }
+
+    public static boolean is(Object cached) {
+        return VALUE.equals(cached);
+    }
+}
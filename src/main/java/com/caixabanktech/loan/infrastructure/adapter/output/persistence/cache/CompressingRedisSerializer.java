@@ -0,0 +1,123 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflates encoded values larger than a threshold before they reach Redis.
+ * <p>
+ * Compressed values are {@link #MARKER}, the uncompressed length as an int, then the deflate stream. The marker
+ * cannot start a value of the wrapped serializer (binary loans start with {@link LoanCacheRedisSerializer#MAGIC},
+ * JSON with an ASCII character), so compressed and plain values can be read side by side during a rollout or
+ * after the threshold changes. Values that do not shrink are stored as they are.
+ */
+public class CompressingRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MARKER = (byte) 0xC1;
+    private static final int HEADER_LENGTH = 5;
+    // Refuse to inflate anything claiming to be bigger than any value this service writes
+    private static final int MAX_UNCOMPRESSED_LENGTH = 64 * 1024 * 1024;
+
+    private final RedisSerializer<Object> delegate;
+    private final int thresholdBytes;
+    private final LongAdder compressedValues = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+
+    public CompressingRedisSerializer(RedisSerializer<Object> delegate, int thresholdBytes) {
+        this.delegate = delegate;
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] plain = delegate.serialize(value);
+        if (plain == null || plain.length < thresholdBytes) {
+            return plain;
+        }
+        byte[] compressed = deflate(plain);
+        if (compressed.length >= plain.length) {
+            return plain;
+        }
+        compressedValues.increment();
+        uncompressedBytes.add(plain.length);
+        compressedBytes.add(compressed.length);
+        return compressed;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != MARKER) {
+            return delegate.deserialize(bytes);
+        }
+        return delegate.deserialize(inflate(bytes));
+    }
+
+    public int thresholdBytes() { return thresholdBytes; }
+
+    public long compressedCount() { return compressedValues.sum(); }
+
+    /**
+     * Uncompressed over compressed size of the values compressed so far; 1 when nothing was compressed.
+     */
+    public double compressionRatio() {
+        long compressed = compressedBytes.sum();
+        return compressed == 0 ? 1.0 : (double) uncompressedBytes.sum() / compressed;
+    }
+
+    private static byte[] deflate(byte[] plain) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(plain);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 2 + HEADER_LENGTH);
+            out.write(MARKER);
+            out.writeBytes(ByteBuffer.allocate(4).putInt(plain.length).array());
+            byte[] buffer = new byte[Math.min(plain.length, 8192)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("Truncated compressed cache value");
+        }
+        int length = ByteBuffer.wrap(bytes, 1, 4).getInt();
+        if (length < 0 || length > MAX_UNCOMPRESSED_LENGTH) {
+            throw new SerializationException("Invalid uncompressed length " + length + " in cached value");
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+            byte[] plain = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(plain, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new SerializationException("Compressed cache value is shorter than its declared length");
+            }
+            return plain;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Could not inflate cached value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
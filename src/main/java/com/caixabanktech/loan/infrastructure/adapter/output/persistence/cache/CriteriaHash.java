@@ -0,0 +1,38 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+
+/**
+ * Stable hash of {@code findByCriteria} arguments, used in search result cache keys.
+ * <p>
+ * Dates are truncated to seconds, as the search itself does, so requests that only differ below the second share
+ * an entry. Missing arguments hash differently from any present value.
+ */
+public final class CriteriaHash {
+
+    private CriteriaHash() {
+    }
+
+    public static String of(String identity, Instant startDate, Instant endDate) {
+        String normalized = String.join("|",
+                identity == null ? "-" : "i:" + identity,
+                normalize(startDate),
+                normalize(endDate));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            // 128 bits are plenty to tell searches apart and keep keys short
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String normalize(Instant instant) {
+        return instant == null ? "-" : Long.toString(instant.truncatedTo(ChronoUnit.SECONDS).getEpochSecond());
+    }
+}
@@ -0,0 +1,101 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+/**
+ * Count-min sketch estimating how often each key was seen recently, in a fixed amount of memory.
+ * <p>
+ * Four rows of 4-bit counters (sixteen per {@code long}) are indexed by independent hashes of the key; a key's
+ * estimate is its smallest counter, which may overcount through collisions but never undercounts. Counters
+ * saturate at 15 and are all halved every {@code 10 * capacity} increments, so old popularity fades and the
+ * estimates follow the current workload. Not thread-safe; callers synchronize.
+ */
+public class FrequencySketch<K> {
+
+    static final int MAX_FREQUENCY = 15;
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    // Clears the bit a right shift carries into the top of each counter
+    private static final long HALF_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int rowMask;
+    private final int sampleSize;
+    private int additions;
+    private long resets;
+
+    /**
+     * @param capacity number of distinct keys the sketch is sized for
+     */
+    public FrequencySketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Sketch capacity must be positive");
+        }
+        int width = Integer.highestOneBit(Math.max(16, Math.min(capacity, 1 << 26)) - 1) << 1;
+        this.table = new long[width * DEPTH / 16];
+        this.rowMask = width - 1;
+        this.sampleSize = 10 * Math.min(capacity, Integer.MAX_VALUE / 10);
+    }
+
+    /**
+     * Counts one occurrence of {@code key} and returns its new estimate.
+     */
+    public int increment(K key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        int estimate = MAX_FREQUENCY;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = indexOf(hash, row);
+            int count = counter(index);
+            if (count < MAX_FREQUENCY) {
+                table[index >>> 4] += 1L << offset(index);
+                count++;
+                added = true;
+            }
+            estimate = Math.min(estimate, count);
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+        return estimate;
+    }
+
+    public int frequency(K key) {
+        int hash = spread(key.hashCode());
+        int estimate = MAX_FREQUENCY;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counter(indexOf(hash, row)));
+        }
+        return estimate;
+    }
+
+    /** Times the counters have been halved; lets callers age values they derived from them. */
+    public long resetCount() { return resets; }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & HALF_MASK;
+        }
+        additions /= 2;
+        resets++;
+    }
+
+    // Counter index across all rows: row * width + column
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * (rowMask + 1) + ((int) h & rowMask);
+    }
+
+    private int counter(int index) {
+        return (int) ((table[index >>> 4] >>> offset(index)) & 0xF);
+    }
+
+    private static int offset(int index) {
+        return (index & 15) << 2;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,77 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access frequencies of one key family: a {@link FrequencySketch} estimating every key, plus the few keys with the
+ * highest estimates so far, for reporting.
+ * <p>
+ * A key joins the tracked set while it has room, or by displacing the tracked key with the lowest estimate once
+ * its own estimate is higher. Tracked estimates age with the sketch. Lookups take one lock, like the near cache.
+ */
+public class HotKeys<K> {
+
+    private final FrequencySketch<K> sketch;
+    private final int trackedKeys;
+    private final Map<K, Integer> tracked = new HashMap<>();
+    private int trackedMinimum;
+    private long agedAt;
+
+    public HotKeys(int capacity, int trackedKeys) {
+        this.sketch = new FrequencySketch<>(capacity);
+        this.trackedKeys = trackedKeys;
+    }
+
+    /**
+     * Records one access to {@code key} and returns its estimated recent frequency.
+     */
+    public synchronized int record(K key) {
+        int frequency = sketch.increment(key);
+        if (sketch.resetCount() != agedAt) {
+            agedAt = sketch.resetCount();
+            tracked.replaceAll((k, count) -> count / 2);
+            trackedMinimum = minimum();
+        }
+        Integer previous = tracked.get(key);
+        if (previous != null) {
+            tracked.put(key, frequency);
+            if (previous <= trackedMinimum) {
+                trackedMinimum = minimum();
+            }
+        } else if (tracked.size() < trackedKeys) {
+            tracked.put(key, frequency);
+            trackedMinimum = tracked.size() == 1 ? frequency : Math.min(trackedMinimum, frequency);
+        } else if (trackedKeys > 0 && frequency > trackedMinimum) {
+            tracked.entrySet().stream().min(Map.Entry.comparingByValue())
+                    .ifPresent(coldest -> tracked.remove(coldest.getKey()));
+            tracked.put(key, frequency);
+            trackedMinimum = minimum();
+        }
+        return frequency;
+    }
+
+    public synchronized int frequency(K key) {
+        return sketch.frequency(key);
+    }
+
+    /**
+     * Up to {@code limit} tracked keys, most frequent first.
+     */
+    public synchronized List<HotKey<K>> top(int limit) {
+        List<HotKey<K>> hottest = new ArrayList<>(tracked.size());
+        tracked.forEach((key, frequency) -> hottest.add(new HotKey<>(key, frequency)));
+        hottest.sort(Comparator.comparingInt((HotKey<K> hotKey) -> hotKey.frequency()).reversed());
+        return hottest.size() > limit ? List.copyOf(hottest.subList(0, limit)) : hottest;
+    }
+
+    private int minimum() {
+        return tracked.values().stream().mapToInt(Integer::intValue).min().orElse(0);
+    }
+
+    public record HotKey<K>(K key, int frequency) {
+    }
+}
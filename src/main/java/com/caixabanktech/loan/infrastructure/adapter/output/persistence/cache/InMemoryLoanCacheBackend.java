@@ -0,0 +1,458 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.LoanApplication;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * {@link LoanCacheBackend} in the heap of a single node, for deployments and test rigs without Redis.
+ * <p>
+ * Keys are spread over lock-striped segments, each holding its share of {@code maximumSize} keys and evicting its
+ * least recently used key when full, so a write evicts at most one key and never scans. An operation locks the
+ * segments of the keys it touches, in segment order, so multi-key updates are atomic as the Redis scripts are while
+ * operations on other segments run in parallel. Criteria generation counters expire and are evicted like any other
+ * key, and the results cached under a counter go with it: a search can never find results from before a write
+ * once the counter has started again from 0. Loans are copied on the way in and out, since domain objects are
+ * mutable.
+ */
+public class InMemoryLoanCacheBackend implements LoanCacheBackend {
+
+    private static final int DEFAULT_CONCURRENCY = 16;
+
+    private final Segment[] segments;
+    private final LongSupplier nanoClock;
+    private final LongAdder evictions = new LongAdder();
+    // Results of dropped generation counters; they live in other segments, so they are removed after unlocking
+    private final Queue<String> orphans = new ConcurrentLinkedQueue<>();
+
+    public InMemoryLoanCacheBackend(int maximumSize) {
+        this(maximumSize, DEFAULT_CONCURRENCY, System::nanoTime);
+    }
+
+    InMemoryLoanCacheBackend(int maximumSize, int concurrency, LongSupplier nanoClock) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be positive");
+        int count = Math.min(concurrency, maximumSize);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Object get(String key) {
+        return locked(List.of(key), () -> {
+            Entry entry = live(key);
+            return entry == null ? null : copy(entry.value);
+        });
+    }
+
+    @Override
+    public void set(String key, Object value, Duration ttl) {
+        locked(List.of(key), () -> put(key, new Entry(copy(value), expiry(ttl))));
+    }
+
+    @Override
+    public void setCriteriaResults(CriteriaResults results) {
+        locked(List.of(results.generationKey(), results.key()), () -> {
+            Entry counter = live(results.generationKey());
+            if ((counter == null ? 0L : (Long) counter.value) != results.generation()) {
+                return;
+            }
+            if (counter == null) {
+                counter = Entry.counter(0L, expiry(results.generationTtl()));
+                put(results.generationKey(), counter);
+            }
+            counter.dependents.add(results.key());
+            put(results.key(), new Entry(copy(results.loans()), expiry(results.ttl())));
+        });
+    }
+
+    @Override
+    public Duration ttl(String key) {
+        return locked(List.of(key), () -> {
+            Entry entry = live(key);
+            if (entry == null || !entry.expires) {
+                return null;
+            }
+            return Duration.ofNanos(entry.expiresAt - nanoClock.getAsLong());
+        });
+    }
+
+    @Override
+    public Object getLoan(String key) {
+        return get(key);
+    }
+
+    @Override
+    public List<Object> getLoans(List<String> keys) {
+        return keys.stream().map(this::get).toList();
+    }
+
+    @Override
+    public Object getLoanStatus(String key) {
+        return locked(List.of(key), () -> {
+            Entry entry = live(key);
+            if (entry == null) {
+                return null;
+            }
+            return entry.value instanceof LoanApplication loan ? loan.getStatus() : entry.value;
+        });
+    }
+
+    @Override
+    public List<Boolean> setLoans(List<LoanEntry> entries) {
+        List<Boolean> written = new ArrayList<>(entries.size());
+        entries.forEach(entry -> written.add(locked(
+                List.of(entry.key(), entry.versionKey(), entry.staleKey(), entry.historyKey()),
+                () -> setIfNotOlder(entry, true))));
+        return written;
+    }
+
+    @Override
+    public void setLoanNotFound(String key, Duration ttl) {
+        locked(List.of(key), () -> {
+            if (live(key) == null) {
+                put(key, new Entry(CacheTombstone.VALUE, expiry(ttl)));
+            }
+        });
+    }
+
+    @Override
+    public void setLoansNotFound(List<String> keys, Duration ttl) {
+        keys.forEach(key -> setLoanNotFound(key, ttl));
+    }
+
+    @Override
+    public boolean saveLoan(SavedLoan saved) {
+        LoanEntry entry = saved.entry();
+        return locked(List.of(entry.key(), entry.versionKey(), entry.staleKey(), entry.historyKey(),
+                saved.identityKey(), saved.identityGenerationKey(), saved.globalGenerationKey()), () -> {
+            long version = LoanCacheScripts.version(entry.loan());
+            Long current = version(entry.versionKey());
+            Entry history = live(entry.historyKey());
+            if (current != null && current + 1 == version) {
+                if (history != null) {
+                    history.list().add(copy(entry.loan()));
+                    history.expireAt(expiry(saved.historyTtl()));
+                }
+            } else {
+                remove(entry.historyKey());
+            }
+            boolean written = setIfNotOlder(entry, false);
+            Entry index = live(saved.identityKey());
+            if (index != null) {
+                index.set().remove(CacheTombstone.VALUE);
+                index.set().add(entry.loan().getId().value().toString());
+            }
+            increment(saved.identityGenerationKey(), saved.generationTtl());
+            increment(saved.globalGenerationKey(), saved.generationTtl());
+            return written;
+        });
+    }
+
+    @Override
+    public void indexSavedLoans(SavedLoans saved) {
+        List<String> keys = Stream.of(saved.historyKeys(), saved.identityIndexes().keySet(), saved.generationKeys())
+                .flatMap(Collection::stream)
+                .toList();
+        locked(keys, () -> {
+            saved.historyKeys().forEach(this::remove);
+            saved.identityIndexes().forEach((key, loanIds) -> {
+                Entry index = live(key);
+                if (index != null) {
+                    index.set().remove(CacheTombstone.VALUE);
+                    index.set().addAll(loanIds);
+                }
+            });
+            saved.generationKeys().forEach(key -> increment(key, saved.generationTtl()));
+        });
+    }
+
+    @Override
+    public void deleteLoan(DeletedLoan deleted) {
+        locked(Arrays.asList(deleted.versionKey(), deleted.key(), deleted.historyKey(), deleted.staleKey(),
+                deleted.globalGenerationKey(), deleted.identityKey(), deleted.identityGenerationKey()), () -> {
+            put(deleted.versionKey(), new Entry(LoanCacheScripts.DELETED_VERSION, expiry(deleted.versionTtl())));
+            remove(deleted.key());
+            remove(deleted.historyKey());
+            remove(deleted.staleKey());
+            increment(deleted.globalGenerationKey(), deleted.generationTtl());
+            if (deleted.identityKey() != null) {
+                removeMembersLocked(deleted.identityKey(), List.of(deleted.loanId()));
+                increment(deleted.identityGenerationKey(), deleted.generationTtl());
+            }
+        });
+    }
+
+    @Override
+    public List<Object> getHistory(String key) {
+        return locked(List.of(key), () -> {
+            Entry entry = live(key);
+            if (entry == null) {
+                return List.of();
+            }
+            return entry.list().stream().map(InMemoryLoanCacheBackend::copy).toList();
+        });
+    }
+
+    @Override
+    public void setHistory(String key, String versionKey, List<LoanApplication> revisions, Duration ttl) {
+        locked(List.of(key, versionKey), () -> {
+            if (live(key) != null) {
+                return;
+            }
+            Long current = version(versionKey);
+            if (current != null && current > LoanCacheScripts.version(revisions.get(revisions.size() - 1))) {
+                return;
+            }
+            List<Object> list = new ArrayList<>(revisions.size());
+            revisions.forEach(revision -> list.add(copy(revision)));
+            put(key, new Entry(list, expiry(ttl)));
+        });
+    }
+
+    @Override
+    public Set<String> getMembers(String key) {
+        return locked(List.of(key), () -> {
+            Entry entry = live(key);
+            return entry == null ? Set.of() : Set.copyOf(entry.set());
+        });
+    }
+
+    @Override
+    public void addMembers(String key, List<String> members, Duration ttl) {
+        locked(List.of(key), () -> {
+            Entry entry = live(key);
+            if (entry == null) {
+                put(key, new Entry(new LinkedHashSet<>(members), expiry(ttl)));
+            } else {
+                entry.set().addAll(members);
+                entry.expireAt(expiry(ttl));
+            }
+        });
+    }
+
+    @Override
+    public void removeMembers(String key, List<String> members) {
+        locked(List.of(key), () -> removeMembersLocked(key, members));
+    }
+
+    @Override
+    public void setMembersNotFound(String key, Duration ttl) {
+        locked(List.of(key), () -> {
+            if (live(key) == null) {
+                put(key, new Entry(new LinkedHashSet<>(List.of(CacheTombstone.VALUE)), expiry(ttl)));
+            }
+        });
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Runs {@code operation} holding the locks of the segments of {@code keys} ({@code null} keys are ignored),
+     * taken in segment order so that two operations never wait on each other.
+     */
+    private <T> T locked(List<String> keys, Supplier<T> operation) {
+        int[] held = keys.stream().filter(Objects::nonNull).mapToInt(this::segmentIndex).distinct().sorted().toArray();
+        for (int index : held) {
+            segments[index].lock.lock();
+        }
+        try {
+            return operation.get();
+        } finally {
+            for (int i = held.length - 1; i >= 0; i--) {
+                segments[held[i]].lock.unlock();
+            }
+            removeOrphans();
+        }
+    }
+
+    private void locked(List<String> keys, Runnable operation) {
+        locked(keys, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    // Called holding no lock, so taking each orphan's segment lock cannot deadlock
+    private void removeOrphans() {
+        for (String key = orphans.poll(); key != null; key = orphans.poll()) {
+            Segment segment = segments[segmentIndex(key)];
+            segment.lock.lock();
+            try {
+                segment.entries.remove(key);
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    private int segmentIndex(String key) {
+        int hash = key.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), segments.length);
+    }
+
+    // Called holding the lock of the key's segment from here on
+
+    private boolean setIfNotOlder(LoanEntry entry, boolean evictHistory) {
+        long version = LoanCacheScripts.version(entry.loan());
+        Long current = version(entry.versionKey());
+        if (current != null && current > version) {
+            return false;
+        }
+        if (evictHistory && (current == null || current < version)) {
+            remove(entry.historyKey());
+        }
+        put(entry.key(), new Entry(copy(entry.loan()), expiry(entry.ttl())));
+        put(entry.versionKey(), new Entry(version, expiry(entry.ttl())));
+        if (entry.staleTtl().isPositive()) {
+            put(entry.staleKey(), new Entry(copy(entry.loan()), expiry(entry.staleTtl())));
+        }
+        return true;
+    }
+
+    // Like SREM, an index left without members no longer exists
+    private void removeMembersLocked(String key, List<String> members) {
+        Entry entry = live(key);
+        if (entry != null) {
+            members.forEach(entry.set()::remove);
+            if (entry.set().isEmpty()) {
+                remove(key);
+            }
+        }
+    }
+
+    private Entry live(String key) {
+        Entry entry = segments[segmentIndex(key)].entries.get(key);
+        if (entry != null && entry.expires && nanoClock.getAsLong() - entry.expiresAt >= 0) {
+            remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private Long version(String versionKey) {
+        Entry entry = live(versionKey);
+        return entry == null ? null : (Long) entry.value;
+    }
+
+    // Like INCR then PEXPIRE; the results cached under the previous generation can no longer be found, so they go
+    private void increment(String key, Duration ttl) {
+        Entry entry = live(key);
+        put(key, Entry.counter(entry == null ? 1L : (Long) entry.value + 1, expiry(ttl)));
+    }
+
+    private void remove(String key) {
+        dropped(segments[segmentIndex(key)].entries.remove(key));
+    }
+
+    private void put(String key, Entry entry) {
+        Segment segment = segments[segmentIndex(key)];
+        dropped(segment.entries.put(key, entry));
+        Iterator<Entry> eldest = segment.entries.values().iterator();
+        while (segment.entries.size() > segment.capacity) {
+            dropped(eldest.next());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void dropped(Entry entry) {
+        if (entry != null && entry.dependents != null) {
+            orphans.addAll(entry.dependents);
+        }
+    }
+
+    private long expiry(Duration ttl) {
+        return ttl == null ? Entry.NEVER : nanoClock.getAsLong() + ttl.toNanos();
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof LoanApplication loan) {
+            return loan.toBuilder().build();
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(InMemoryLoanCacheBackend::copy).toList();
+        }
+        return value;
+    }
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final int capacity;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    private static final class Entry {
+        private static final long NEVER = Long.MIN_VALUE;
+
+        private final Object value;
+        // Keys of the results cached under a generation counter; null for any other entry
+        private Set<String> dependents;
+        private boolean expires;
+        private long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            expireAt(expiresAt);
+        }
+
+        private static Entry counter(long generation, long expiresAt) {
+            Entry entry = new Entry(generation, expiresAt);
+            entry.dependents = new HashSet<>();
+            return entry;
+        }
+
+        private void expireAt(long expiresAt) {
+            this.expires = expiresAt != NEVER;
+            this.expiresAt = expiresAt;
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<Object> list() {
+            return (List<Object>) value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Set<String> set() {
+            return (Set<String>) value;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.LoanApplication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared (L2) store behind the loan cache: plain values, versioned loans with their stale copies, history lists
+ * and identity index sets. Keys are chosen by the caller.
+ * <p>
+ * Multi-key updates are atomic, and loan writes follow the versioning described in {@link LoanCacheScripts}:
+ * a loan never replaces a newer version of itself, and a deleted loan cannot be brought back by a load that read
+ * it before the delete. Reads return the not-found marker ({@link CacheTombstone}) as stored, and {@code null}
+ * for absent or expired keys.
+ */
+public interface LoanCacheBackend {
+
+    Object get(String key);
+
+    void set(String key, Object value, Duration ttl);
+
+    /**
+     * Remaining time to live of {@code key}; {@code null} when it is absent or does not expire.
+     */
+    Duration ttl(String key);
+
+    /**
+     * Caches search results computed under a criteria generation. A store that can lose the generation counter
+     * before its results (evicted under memory pressure) must drop the results with it and skip the write when
+     * the generation has moved on, so that a search never sees results from before a write.
+     */
+    void setCriteriaResults(CriteriaResults results);
+
+    /**
+     * The loan, the not-found marker, or {@code null}.
+     */
+    Object getLoan(String key);
+
+    /**
+     * {@link #getLoan} for several keys at once, in the order of {@code keys}.
+     */
+    List<Object> getLoans(List<String> keys);
+
+    /**
+     * The status of the loan, the not-found marker, or {@code null}; cheaper than {@link #getLoan} where the store
+     * can read a single field.
+     */
+    Object getLoanStatus(String key);
+
+    /**
+     * Versioned writes of loans read from the database, as {@link LoanCacheScripts#VERSIONED_SET} documents them.
+     * Returns one flag per entry: {@code false} when a newer version was already cached and the entry was skipped.
+     */
+    List<Boolean> setLoans(List<LoanEntry> entries);
+
+    /**
+     * Caches the not-found marker under {@code key} if it holds nothing yet, like SET NX: a loan cached by a
+     * concurrent save is never hidden.
+     */
+    void setLoanNotFound(String key, Duration ttl);
+
+    /**
+     * {@link #setLoanNotFound} for several keys at once.
+     */
+    void setLoansNotFound(List<String> keys, Duration ttl);
+
+    /**
+     * All cache maintenance of a saved loan, as {@link LoanCacheScripts#SAVE} documents it. Returns {@code false}
+     * when a newer version was already cached.
+     */
+    boolean saveLoan(SavedLoan saved);
+
+    /**
+     * Cache maintenance of a batch of saved loans, already written with {@link #setLoans}, as
+     * {@link LoanCacheScripts#SAVE_BATCH} documents it.
+     */
+    void indexSavedLoans(SavedLoans saved);
+
+    /**
+     * All cache maintenance of a deleted loan, as {@link LoanCacheScripts#DELETE} documents it.
+     */
+    void deleteLoan(DeletedLoan deleted);
+
+    /**
+     * The cached revisions of a loan, oldest first; empty when not cached.
+     */
+    List<Object> getHistory(String key);
+
+    /**
+     * Caches the full history of a loan unless already cached or the cached loan is newer than its last revision.
+     */
+    void setHistory(String key, String versionKey, List<LoanApplication> revisions, Duration ttl);
+
+    /**
+     * The loan ids of an identity index, possibly just the not-found marker; empty when not cached.
+     */
+    Set<String> getMembers(String key);
+
+    void addMembers(String key, List<String> members, Duration ttl);
+
+    void removeMembers(String key, List<String> members);
+
+    /**
+     * Caches the not-found marker as the only member of the index unless it already exists.
+     */
+    void setMembersNotFound(String key, Duration ttl);
+
+    /**
+     * Search results cached under {@code key}, read while {@code generationKey} held {@code generation} (0 when
+     * absent). A counter created to track them expires {@code generationTtl} later, like a bumped one.
+     */
+    record CriteriaResults(String generationKey, long generation, String key, List<LoanApplication> loans,
+                           Duration ttl, Duration generationTtl) {
+    }
+
+    /**
+     * A loan with its version key, stale copy and history list. A zero {@code staleTtl} skips the stale copy.
+     */
+    record LoanEntry(String key, String versionKey, String staleKey, String historyKey, LoanApplication loan,
+                     Duration ttl, Duration staleTtl) {
+    }
+
+    /**
+     * A saved loan with the keys its save updates. {@code previous} is the version this node last cached, if any,
+     * so a store can send only what changed. Bumped generations expire {@code generationTtl} later.
+     */
+    record SavedLoan(LoanEntry entry, LoanApplication previous, String identityKey, Duration historyTtl,
+                     String identityGenerationKey, String globalGenerationKey, Duration generationTtl) {
+    }
+
+    /**
+     * The keys a batch of saves updates besides the loans themselves: their histories, the loan ids to add to each
+     * identity index, and the criteria generations, each listed once and bumped to expire {@code generationTtl}
+     * later.
+     */
+    record SavedLoans(List<String> historyKeys, Map<String, List<String>> identityIndexes,
+                      List<String> generationKeys, Duration generationTtl) {
+    }
+
+    /**
+     * A deleted loan with the keys its delete updates; the identity keys are {@code null} when the loan's identity
+     * is unknown. The deleted version is kept for {@code versionTtl}, and bumped generations expire
+     * {@code generationTtl} later.
+     */
+    record DeletedLoan(String loanId, String key, String versionKey, String staleKey, String historyKey,
+                       String globalGenerationKey, String identityKey, String identityGenerationKey,
+                       Duration versionTtl, Duration generationTtl) {
+    }
+}
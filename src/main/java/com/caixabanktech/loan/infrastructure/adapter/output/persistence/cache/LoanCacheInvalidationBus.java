@@ -0,0 +1,80 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Propagates near cache invalidations between application nodes over Redis pub/sub.
+ * Messages carry the publishing node id, so a node ignores its own notifications, and one or more loan ids.
+ */
+public class LoanCacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "loan:cache:invalidation";
+    private static final String SEPARATOR = "|";
+    private static final String ID_SEPARATOR = ",";
+
+    private static final Logger log = LoggerFactory.getLogger(LoanCacheInvalidationBus.class);
+    private final String nodeId = UUID.randomUUID().toString();
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final NearCache<LoanId, LoanApplication> nearCache;
+
+    public LoanCacheInvalidationBus(RedisTemplate<String, Object> redisTemplate, NearCache<LoanId, LoanApplication> nearCache) {
+        this.redisTemplate = redisTemplate;
+        this.nearCache = nearCache;
+    }
+
+    /**
+     * A bus for a single node, which has no other node to notify.
+     */
+    public static LoanCacheInvalidationBus disabled() {
+        return new LoanCacheInvalidationBus(null, null);
+    }
+
+    public void publish(LoanId id) {
+        if (redisTemplate == null) return;
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + SEPARATOR + id.value());
+        } catch (Exception e) {
+            log.warn("Error publishing near cache invalidation for loan {}.", id.value(), e);
+        }
+    }
+
+    /**
+     * One message for several loans, such as a batch of saves.
+     */
+    public void publishAll(Collection<LoanId> ids) {
+        if (redisTemplate == null || ids.isEmpty()) return;
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + SEPARATOR
+                    + ids.stream().map(id -> id.value().toString()).collect(Collectors.joining(ID_SEPARATOR)));
+        } catch (Exception e) {
+            log.warn("Error publishing near cache invalidation for {} loans.", ids.size(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Object payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (!(payload instanceof String text)) return;
+            int separator = text.indexOf(SEPARATOR);
+            if (separator < 0 || nodeId.equals(text.substring(0, separator))) return;
+            for (String id : text.substring(separator + 1).split(ID_SEPARATOR)) {
+                nearCache.invalidate(new LoanId(UUID.fromString(id)));
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring malformed near cache invalidation message.", e);
+        }
+    }
+
+    public String nodeId() { return nodeId; }
+}
@@ -0,0 +1,155 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Hit/miss/error counters and latency timers of the loan cache, per key family and tier, rendered in the
+ * Prometheus text exposition format.
+ * <p>
+ * Recording only touches striped adders, so it is cheap enough for every lookup. Gauges (circuit state, near cache
+ * size, ...) and counters kept elsewhere are registered by the components that own the values and sampled at
+ * scrape time.
+ */
+public class LoanCacheMetrics {
+
+    public enum Family { LOAN, IDENTITY, HISTORY, CRITERIA }
+
+    public enum Tier { L1, L2, DB }
+
+    private final Map<Family, Map<Tier, Counters>> counters = new EnumMap<>(Family.class);
+    private final Map<String, Sampled> sampled = new ConcurrentHashMap<>();
+
+    public LoanCacheMetrics() {
+        for (Family family : Family.values()) {
+            Map<Tier, Counters> byTier = new EnumMap<>(Tier.class);
+            for (Tier tier : Tier.values()) {
+                byTier.put(tier, new Counters());
+            }
+            counters.put(family, byTier);
+        }
+    }
+
+    public void recordHit(Family family, Tier tier) {
+        counters(family, tier).hits.increment();
+    }
+
+    public void recordMiss(Family family, Tier tier) {
+        counters(family, tier).misses.increment();
+    }
+
+    public void recordError(Family family, Tier tier) {
+        counters(family, tier).errors.increment();
+    }
+
+    public void recordLatency(Family family, Tier tier, long nanos) {
+        Counters tierCounters = counters(family, tier);
+        tierCounters.calls.increment();
+        tierCounters.totalNanos.add(nanos);
+        tierCounters.maxNanos.accumulate(nanos);
+    }
+
+    public long hitCount(Family family, Tier tier) { return counters(family, tier).hits.sum(); }
+
+    public long missCount(Family family, Tier tier) { return counters(family, tier).misses.sum(); }
+
+    public long errorCount(Family family, Tier tier) { return counters(family, tier).errors.sum(); }
+
+    public long callCount(Family family, Tier tier) { return counters(family, tier).calls.sum(); }
+
+    /**
+     * Registers a value sampled on every scrape. Registering the same name again replaces the previous gauge.
+     */
+    public void gauge(String name, String help, DoubleSupplier value) {
+        sampled.put(name, new Sampled("gauge", help, value));
+    }
+
+    /**
+     * Registers a monotonically increasing total sampled on every scrape, exported with the counter type so rates
+     * survive restarts. The name must carry the {@code _total} suffix.
+     */
+    public void counter(String name, String help, LongSupplier value) {
+        if (!name.endsWith("_total")) throw new IllegalArgumentException("counter name must end with _total: " + name);
+        sampled.put(name, new Sampled("counter", help, value::getAsLong));
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text exposition format (version 0.0.4).
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        header(out, "loan_cache_requests_total", "counter", "Cache lookups by key family, tier and outcome.");
+        forEachSeries((family, tier, c) -> {
+            sample(out, "loan_cache_requests_total", family, tier, "outcome=\"hit\"", c.hits.sum());
+            sample(out, "loan_cache_requests_total", family, tier, "outcome=\"miss\"", c.misses.sum());
+            sample(out, "loan_cache_requests_total", family, tier, "outcome=\"error\"", c.errors.sum());
+        });
+        header(out, "loan_cache_latency_seconds", "summary", "Latency of cache tier reads and database loads.");
+        forEachSeries((family, tier, c) -> {
+            sample(out, "loan_cache_latency_seconds_count", family, tier, null, c.calls.sum());
+            sample(out, "loan_cache_latency_seconds_sum", family, tier, null, seconds(c.totalNanos.sum()));
+        });
+        header(out, "loan_cache_latency_seconds_max", "gauge", "Slowest cache tier read or database load observed.");
+        forEachSeries((family, tier, c) ->
+                sample(out, "loan_cache_latency_seconds_max", family, tier, null, seconds(c.maxNanos.get())));
+        sampled.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            header(out, entry.getKey(), entry.getValue().type(), entry.getValue().help());
+            out.append(entry.getKey()).append(' ').append(format(entry.getValue().value().getAsDouble())).append('\n');
+        });
+        return out.toString();
+    }
+
+    private Counters counters(Family family, Tier tier) {
+        return counters.get(family).get(tier);
+    }
+
+    private void forEachSeries(SeriesConsumer consumer) {
+        counters.forEach((family, byTier) -> byTier.forEach((tier, c) -> consumer.accept(family, tier, c)));
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, Family family, Tier tier, String extraLabel, double value) {
+        out.append(name).append("{family=\"").append(family.name().toLowerCase(Locale.ROOT))
+                .append("\",tier=\"").append(tier.name().toLowerCase(Locale.ROOT)).append('"');
+        if (extraLabel != null) {
+            out.append(',').append(extraLabel);
+        }
+        out.append("} ").append(format(value)).append('\n');
+    }
+
+    private static double seconds(long nanos) {
+        return (double) nanos / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    private record Sampled(String type, String help, DoubleSupplier value) {
+    }
+
+    private static final class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    @FunctionalInterface
+    private interface SeriesConsumer {
+        void accept(Family family, Tier tier, Counters counters);
+    }
+}
@@ -0,0 +1,168 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.ApplicantIdentity;
+import com.caixabanktech.loan.domain.model.LoanAmount;
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact, versioned binary encoding for cached {@link LoanApplication} values and lists of them.
+ * <p>
+ * Layout (big-endian): {@code MAGIC, VERSION, TYPE} followed by one loan, or an int count and that many loans
+ * (empty lists included, which the default-typed JSON cannot read back).
+ * A loan is the id as two longs, name and identity as modified UTF-8, the amount as a long of minor units
+ * (scale 2), the ISO currency code as three ASCII bytes, both timestamps as epoch seconds plus nanos, and the
+ * status as its ordinal ({@link LoanStatus} constants must only ever be appended) and the version as a long.
+ * <p>
+ * Every other value (not-found markers, lock tokens, pub/sub payloads...) and loans whose amount does not fit
+ * in a long are handed to the fallback serializer. Values that do not start with {@link #MAGIC}, such as JSON
+ * written before this codec was rolled out, are also read through the fallback.
+ */
+public class LoanCacheRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xB1;
+    // 2 added the loan version; values of other formats are read as misses, so loans are reloaded with theirs
+    static final byte VERSION = 2;
+    static final byte TYPE_LOAN = 1;
+    static final byte TYPE_LOAN_LIST = 2;
+    private static final int AMOUNT_SCALE = 2;
+    private static final LoanStatus[] STATUSES = LoanStatus.values();
+
+    private final RedisSerializer<Object> fallback;
+
+    public LoanCacheRedisSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        try {
+            if (value instanceof LoanApplication loan && fitsBinary(loan)) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+                DataOutputStream out = header(bytes, TYPE_LOAN);
+                writeLoan(out, loan);
+                return bytes.toByteArray();
+            }
+            if (value instanceof List<?> list && isBinaryLoanList(list)) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(8 + list.size() * 96);
+                DataOutputStream out = header(bytes, TYPE_LOAN_LIST);
+                out.writeInt(list.size());
+                for (Object loan : list) {
+                    writeLoan(out, (LoanApplication) loan);
+                }
+                return bytes.toByteArray();
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode cached loan value", e);
+        }
+        return fallback.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < 3 || bytes[1] != VERSION) {
+            // Written by an older, newer (or corrupt) codec: behave as a cache miss so the value gets reloaded
+            return null;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 3, bytes.length - 3));
+            return switch (bytes[2]) {
+                case TYPE_LOAN -> readLoan(in);
+                case TYPE_LOAN_LIST -> {
+                    int size = in.readInt();
+                    List<LoanApplication> loans = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        loans.add(readLoan(in));
+                    }
+                    yield loans;
+                }
+                default -> null;
+            };
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not decode cached loan value", e);
+        }
+    }
+
+    private static boolean fitsBinary(LoanApplication loan) {
+        return loan.getLoanAmount().amount().unscaledValue().bitLength() < Long.SIZE;
+    }
+
+    private static boolean isBinaryLoanList(List<?> list) {
+        for (Object element : list) {
+            if (!(element instanceof LoanApplication loan) || !fitsBinary(loan)) return false;
+        }
+        return true;
+    }
+
+    private static DataOutputStream header(ByteArrayOutputStream bytes, byte type) throws IOException {
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(type);
+        return out;
+    }
+
+    private static void writeLoan(DataOutputStream out, LoanApplication loan) throws IOException {
+        UUID id = loan.getId().value();
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+        out.writeUTF(loan.getApplicantName());
+        out.writeUTF(loan.getApplicantIdentity().value());
+        out.writeLong(loan.getLoanAmount().amount().setScale(AMOUNT_SCALE).unscaledValue().longValue());
+        out.write(loan.getLoanAmount().currency().getCurrencyCode().getBytes(StandardCharsets.US_ASCII));
+        writeInstant(out, loan.getCreatedAt());
+        writeInstant(out, loan.getModifiedAt());
+        out.writeByte(loan.getStatus().ordinal());
+        out.writeLong(loan.getVersion());
+    }
+
+    private static LoanApplication readLoan(DataInputStream in) throws IOException {
+        LoanId id = new LoanId(new UUID(in.readLong(), in.readLong()));
+        String applicantName = in.readUTF();
+        ApplicantIdentity identity = new ApplicantIdentity(in.readUTF());
+        BigDecimal amount = BigDecimal.valueOf(in.readLong(), AMOUNT_SCALE);
+        byte[] currencyCode = new byte[3];
+        in.readFully(currencyCode);
+        return LoanApplication.builder()
+                .id(id)
+                .applicantName(applicantName)
+                .applicantIdentity(identity)
+                .loanAmount(new LoanAmount(amount, Currency.getInstance(new String(currencyCode, StandardCharsets.US_ASCII))))
+                .createdAt(readInstant(in))
+                .modifiedAt(readInstant(in))
+                .status(STATUSES[in.readUnsignedByte()])
+                .version(in.readLong())
+                .build();
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+}
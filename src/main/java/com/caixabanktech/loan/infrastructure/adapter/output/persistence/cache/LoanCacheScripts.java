@@ -0,0 +1,274 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Lua scripts used by the loan cache to make multi-step updates atomic.
+ * <p>
+ * Each cached loan has a companion version key holding its optimistic locking version, which the database
+ * increments on every update. Unlike {@code modifiedAt}, it does not depend on the clock of the node that saved the
+ * loan, so skew between nodes cannot order two updates the wrong way. Loan writes only succeed when their version
+ * is not older than the cached one, and deletes leave a {@link #DELETED_VERSION} behind so in-flight loads of the old
+ * row cannot bring it back. Loan writes also refresh a stale copy of the loan that outlives it, for
+ * {@link StaleWhileRevalidate}; a stale ttl of 0 skips the copy. Scripts touch several keys, which assumes a standalone Redis rather than a cluster.
+ * <p>
+ * Criteria generations are given a fresh expiry on every bump, longer than any search result lives, so an identity
+ * that is no longer written does not keep its counter forever. A generation that expires can only start again
+ * below results that have already expired.
+ */
+public final class LoanCacheScripts {
+
+    public static final long DELETED_VERSION = Long.MAX_VALUE;
+
+    /**
+     * KEYS: value, version, stale copy key and history list of each loan. ARGV: value, version, ttl and stale ttl in
+     * millis of each loan. Returns one flag per loan: 1 when written, 0 when a newer version was already cached.
+     * A write that moves the version on, or finds none cached, evicts the history, which it does not extend: a
+     * later {@link #SAVE} would otherwise append to a list missing the revisions in between.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static final RedisScript<List<Long>> VERSIONED_SET = new DefaultRedisScript<>(
+            "local written = {} "
+                    + "for i = 1, #KEYS, 4 do "
+                    + "  local current = redis.call('get', KEYS[i + 1]) "
+                    + "  if not current or tonumber(current) <= tonumber(ARGV[i + 1]) then "
+                    + "    if not current or tonumber(current) < tonumber(ARGV[i + 1]) then redis.call('del', KEYS[i + 3]) end "
+                    + "    redis.call('set', KEYS[i], ARGV[i], 'PX', ARGV[i + 2]) "
+                    + "    redis.call('set', KEYS[i + 1], ARGV[i + 1], 'PX', ARGV[i + 2]) "
+                    + "    if tonumber(ARGV[i + 3]) > 0 then "
+                    + "      redis.call('set', KEYS[i + 2], ARGV[i], 'PX', ARGV[i + 3]) "
+                    + "    end "
+                    + "    written[#written + 1] = 1 "
+                    + "  else "
+                    + "    written[#written + 1] = 0 "
+                    + "  end "
+                    + "end "
+                    + "return written",
+            (Class) List.class);
+
+    /**
+     * All cache maintenance of a saved loan in one round trip: the versioned write, adding the id to the identity
+     * index when it is cached, appending the loan to its cached history and bumping both criteria generations.
+     * <p>
+     * History only grows, so the new revision is appended when it directly follows the cached loan (its version is
+     * the cached one plus one). In every other case the history is evicted, so the next read rebuilds it from the
+     * audit tables: with no cached version or a re-save of the same version the order of its entries would be
+     * unknown, a lost race would append an older revision, and a gap means an earlier save never reached the cache
+     * (circuit open, Redis error, node lost after commit, or a read-through moved the version on) and the list is
+     * missing that revision.
+     * <p>
+     * KEYS: value, version, identity index, history list, identity generation, global generation, stale copy.
+     * ARGV: ttl in millis, loan, version, loan id, not-found marker, history ttl in millis (the history's expiry
+     * follows the status of its latest revision), stale ttl in millis, generation ttl in millis. Returns 1 when the
+     * loan was written.
+     */
+    public static final RedisScript<Long> SAVE = new DefaultRedisScript<>(
+            "local written = 0 "
+                    + "local current = redis.call('get', KEYS[2]) "
+                    + "if current and tonumber(current) + 1 == tonumber(ARGV[3]) then "
+                    + "  if redis.call('rpushx', KEYS[4], ARGV[2]) > 0 then redis.call('pexpire', KEYS[4], ARGV[6]) end "
+                    + "else "
+                    + "  redis.call('del', KEYS[4]) "
+                    + "end "
+                    + "if not current or tonumber(current) <= tonumber(ARGV[3]) then "
+                    + "  redis.call('set', KEYS[1], ARGV[2], 'PX', ARGV[1]) "
+                    + "  redis.call('set', KEYS[2], ARGV[3], 'PX', ARGV[1]) "
+                    + "  if tonumber(ARGV[7]) > 0 then redis.call('set', KEYS[7], ARGV[2], 'PX', ARGV[7]) end "
+                    + "  written = 1 "
+                    + "end "
+                    + "if redis.call('exists', KEYS[3]) == 1 then "
+                    + "  redis.call('srem', KEYS[3], ARGV[5]) "
+                    + "  redis.call('sadd', KEYS[3], ARGV[4]) "
+                    + "end "
+                    + "redis.call('incr', KEYS[5]) "
+                    + "redis.call('pexpire', KEYS[5], ARGV[8]) "
+                    + "redis.call('incr', KEYS[6]) "
+                    + "redis.call('pexpire', KEYS[6], ARGV[8]) "
+                    + "return written",
+            Long.class);
+
+    /**
+     * The maintenance of a batch of saved loans that {@link #SAVE} does per loan, once their values are written with
+     * {@link #VERSIONED_SET}: evicts their histories (whether each save was strictly newer than the cached loan is
+     * no longer known), adds the ids to the identity indexes that are cached and bumps each criteria generation once.
+     * <p>
+     * KEYS: history lists, identity indexes, generations. ARGV: number of history lists, number of identity indexes,
+     * not-found marker, generation ttl in millis, then for each identity index the number of its ids followed by the
+     * ids.
+     */
+    public static final RedisScript<Long> SAVE_BATCH = new DefaultRedisScript<>(
+            "local histories = tonumber(ARGV[1]) "
+                    + "local indexes = tonumber(ARGV[2]) "
+                    + "for i = 1, histories do redis.call('del', KEYS[i]) end "
+                    + "local a = 5 "
+                    + "for i = histories + 1, histories + indexes do "
+                    + "  local count = tonumber(ARGV[a]) "
+                    + "  if redis.call('exists', KEYS[i]) == 1 then "
+                    + "    redis.call('srem', KEYS[i], ARGV[3]) "
+                    + "    for m = a + 1, a + count do redis.call('sadd', KEYS[i], ARGV[m]) end "
+                    + "  end "
+                    + "  a = a + count + 1 "
+                    + "end "
+                    + "for i = histories + indexes + 1, #KEYS do "
+                    + "  redis.call('incr', KEYS[i]) "
+                    + "  redis.call('pexpire', KEYS[i], ARGV[4]) "
+                    + "end "
+                    + "return 1",
+            Long.class);
+
+    /**
+     * All cache maintenance of a deleted loan in one round trip: leaves {@link #DELETED_VERSION} behind, evicts the
+     * loan, its stale copy and its history, drops the id from the identity index and bumps the criteria generations.
+     * <p>
+     * KEYS: value, version, history list, global generation, stale copy and, when the loan's identity is known,
+     * identity index and identity generation. ARGV: deleted version, ttl in millis, loan id, generation ttl in
+     * millis.
+     */
+    public static final RedisScript<Long> DELETE = new DefaultRedisScript<>(
+            "redis.call('set', KEYS[2], ARGV[1], 'PX', ARGV[2]) "
+                    + "local deleted = redis.call('del', KEYS[1], KEYS[3], KEYS[5]) "
+                    + "redis.call('incr', KEYS[4]) "
+                    + "redis.call('pexpire', KEYS[4], ARGV[4]) "
+                    + "if #KEYS == 7 then "
+                    + "  redis.call('srem', KEYS[6], ARGV[3]) "
+                    + "  redis.call('incr', KEYS[7]) "
+                    + "  redis.call('pexpire', KEYS[7], ARGV[4]) "
+                    + "end "
+                    + "return deleted",
+            Long.class);
+
+    /**
+     * Caches the full history of a loan after a cold miss, unless it is already cached (saves append to it) or the
+     * cached loan is newer than the last revision read, meaning a save committed after the history was queried.
+     * <p>
+     * KEYS: history list, version. ARGV: ttl in millis, version of the last revision, then the revisions in order.
+     * Returns 1 when cached.
+     */
+    public static final RedisScript<Long> HISTORY_LOAD = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then return 0 end "
+                    + "local current = redis.call('get', KEYS[2]) "
+                    + "if current and tonumber(current) > tonumber(ARGV[2]) then return 0 end "
+                    + "for i = 3, #ARGV do redis.call('rpush', KEYS[1], ARGV[i]) end "
+                    + "redis.call('pexpire', KEYS[1], ARGV[1]) "
+                    + "return 1",
+            Long.class);
+
+    /**
+     * {@link #VERSIONED_SET} for the hash layout: each written hash is replaced as a whole.
+     * <p>
+     * KEYS: hash, version, stale copy key and history list of each loan. ARGV: for each loan its version, ttl in
+     * millis, stale ttl in millis, number of fields and the field/value pairs. Returns one flag per loan: 1 when
+     * written, 0 when a newer version was cached.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static final RedisScript<List<Long>> HASH_VERSIONED_SET = new DefaultRedisScript<>(
+            "local written = {} "
+                    + "local a = 1 "
+                    + "for i = 1, #KEYS, 4 do "
+                    + "  local n = tonumber(ARGV[a + 3]) "
+                    + "  local current = redis.call('get', KEYS[i + 1]) "
+                    + "  if not current or tonumber(current) <= tonumber(ARGV[a]) then "
+                    + "    if not current or tonumber(current) < tonumber(ARGV[a]) then redis.call('del', KEYS[i + 3]) end "
+                    + "    redis.call('del', KEYS[i]) "
+                    + "    redis.call('hset', KEYS[i], unpack(ARGV, a + 4, a + 3 + 2 * n)) "
+                    + "    redis.call('pexpire', KEYS[i], ARGV[a + 1]) "
+                    + "    redis.call('set', KEYS[i + 1], ARGV[a], 'PX', ARGV[a + 1]) "
+                    + "    if tonumber(ARGV[a + 2]) > 0 then "
+                    + "      redis.call('copy', KEYS[i], KEYS[i + 2], 'REPLACE') "
+                    + "      redis.call('pexpire', KEYS[i + 2], ARGV[a + 2]) "
+                    + "    end "
+                    + "    written[#written + 1] = 1 "
+                    + "  else "
+                    + "    written[#written + 1] = 0 "
+                    + "  end "
+                    + "  a = a + 4 + 2 * n "
+                    + "end "
+                    + "return written",
+            (Class) List.class);
+
+    /**
+     * {@link #SAVE} for the hash layout. When a previous version is given, only the changed fields are sent and they
+     * are applied with a single HSET, provided the cached hash is still at that version; otherwise nothing is
+     * written and -1 is returned so the caller can send every field. A previous version of -1 means every field
+     * was sent and the hash is replaced.
+     * <p>
+     * KEYS: hash, version, identity index, history list, identity generation, global generation, stale copy.
+     * ARGV: ttl in millis, encoded loan (for the history), version, encoded loan id, encoded not-found marker,
+     * previous version, history ttl in millis, stale ttl in millis, generation ttl in millis, then field/value
+     * pairs. The stale copy is a COPY of the whole hash, so it stays complete after a partial write. Returns 1 when
+     * written, 0 when a newer version was cached.
+     */
+    public static final RedisScript<Long> HASH_SAVE = new DefaultRedisScript<>(
+            "local current = redis.call('get', KEYS[2]) "
+                    + "local partial = tonumber(ARGV[6]) >= 0 "
+                    + "if partial and (not current or tonumber(current) ~= tonumber(ARGV[6]) "
+                    + "    or redis.call('exists', KEYS[1]) == 0) then "
+                    + "  return -1 "
+                    + "end "
+                    + "local written = 0 "
+                    + "if current and tonumber(current) + 1 == tonumber(ARGV[3]) then "
+                    + "  if redis.call('rpushx', KEYS[4], ARGV[2]) > 0 then redis.call('pexpire', KEYS[4], ARGV[7]) end "
+                    + "else "
+                    + "  redis.call('del', KEYS[4]) "
+                    + "end "
+                    + "if not current or tonumber(current) <= tonumber(ARGV[3]) then "
+                    + "  if not partial then redis.call('del', KEYS[1]) end "
+                    + "  redis.call('hset', KEYS[1], unpack(ARGV, 10)) "
+                    + "  redis.call('pexpire', KEYS[1], ARGV[1]) "
+                    + "  redis.call('set', KEYS[2], ARGV[3], 'PX', ARGV[1]) "
+                    + "  if tonumber(ARGV[8]) > 0 then "
+                    + "    redis.call('copy', KEYS[1], KEYS[7], 'REPLACE') "
+                    + "    redis.call('pexpire', KEYS[7], ARGV[8]) "
+                    + "  end "
+                    + "  written = 1 "
+                    + "end "
+                    + "if redis.call('exists', KEYS[3]) == 1 then "
+                    + "  redis.call('srem', KEYS[3], ARGV[5]) "
+                    + "  redis.call('sadd', KEYS[3], ARGV[4]) "
+                    + "end "
+                    + "redis.call('incr', KEYS[5]) "
+                    + "redis.call('pexpire', KEYS[5], ARGV[9]) "
+                    + "redis.call('incr', KEYS[6]) "
+                    + "redis.call('pexpire', KEYS[6], ARGV[9]) "
+                    + "return written",
+            Long.class);
+
+    /**
+     * Not-found markers for the hash layout, like SET NX: hashes that already exist are left alone.
+     * <p>
+     * KEYS: loan hashes. ARGV: marker field, marker value, ttl in millis. Returns the number of markers written.
+     */
+    public static final RedisScript<Long> HASH_NOT_FOUND = new DefaultRedisScript<>(
+            "local marked = 0 "
+                    + "for i = 1, #KEYS do "
+                    + "  if redis.call('exists', KEYS[i]) == 0 then "
+                    + "    redis.call('hset', KEYS[i], ARGV[1], ARGV[2]) "
+                    + "    redis.call('pexpire', KEYS[i], ARGV[3]) "
+                    + "    marked = marked + 1 "
+                    + "  end "
+                    + "end "
+                    + "return marked",
+            Long.class);
+
+    /**
+     * KEYS: identity index. ARGV: not-found marker, ttl in millis. Like SET NX for a set.
+     */
+    public static final RedisScript<Long> INDEX_NOT_FOUND = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then return 0 end "
+                    + "redis.call('sadd', KEYS[1], ARGV[1]) return redis.call('pexpire', KEYS[1], ARGV[2])",
+            Long.class);
+
+    private LoanCacheScripts() {
+    }
+
+    /**
+     * Cache version of a loan: its optimistic locking version.
+     */
+    public static long version(LoanApplication loan) {
+        return loan.getVersion();
+    }
+}
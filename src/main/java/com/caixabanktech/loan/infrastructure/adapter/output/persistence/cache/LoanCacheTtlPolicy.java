@@ -0,0 +1,91 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics.Family;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Time-to-live of cache entries per key family and, for loans and their history, per loan status.
+ * <p>
+ * Rejected and cancelled loans never change again, so they can stay cached far longer than pending ones. Every
+ * TTL handed out is moved up or down by a random fraction of up to {@code jitter}, so entries written together
+ * (a batch load, a warm-up) do not all expire in the same instant.
+ */
+public class LoanCacheTtlPolicy {
+
+    private final Map<Family, Duration> ttls = new EnumMap<>(Family.class);
+    private final Map<Family, Map<LoanStatus, Duration>> ttlsByStatus = new EnumMap<>(Family.class);
+    private final double jitter;
+    private final DoubleSupplier random;
+
+    /**
+     * @param ttls         TTL of each family; every family must have one
+     * @param ttlsByStatus overrides by loan status, for the families whose entries have one
+     * @param jitter       maximum random deviation, as a fraction of the TTL (0 to disable)
+     */
+    public LoanCacheTtlPolicy(Map<Family, Duration> ttls, Map<Family, Map<LoanStatus, Duration>> ttlsByStatus, double jitter) {
+        this(ttls, ttlsByStatus, jitter, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    LoanCacheTtlPolicy(Map<Family, Duration> ttls, Map<Family, Map<LoanStatus, Duration>> ttlsByStatus, double jitter,
+                       DoubleSupplier random) {
+        for (Family family : Family.values()) {
+            Duration ttl = ttls.get(family);
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("A positive cache TTL is required for " + family);
+            }
+            this.ttls.put(family, ttl);
+        }
+        ttlsByStatus.forEach((family, byStatus) -> {
+            Map<LoanStatus, Duration> copy = new EnumMap<>(LoanStatus.class);
+            copy.putAll(byStatus);
+            this.ttlsByStatus.put(family, copy);
+        });
+        if (jitter < 0 || jitter >= 1) {
+            throw new IllegalArgumentException("Cache TTL jitter must be in [0, 1)");
+        }
+        this.jitter = jitter;
+        this.random = random;
+    }
+
+    public Duration ttl(Family family) {
+        return jittered(baseTtl(family));
+    }
+
+    public Duration ttl(Family family, LoanStatus status) {
+        return jittered(baseTtl(family, status));
+    }
+
+    /** TTL of the family before jitter; the longest an entry without a status override is cached. */
+    public Duration baseTtl(Family family) {
+        return ttls.get(family);
+    }
+
+    public Duration baseTtl(Family family, LoanStatus status) {
+        Map<LoanStatus, Duration> byStatus = ttlsByStatus.get(family);
+        Duration ttl = byStatus == null || status == null ? null : byStatus.get(status);
+        return ttl != null ? ttl : ttls.get(family);
+    }
+
+    /**
+     * TTL of the criteria generation counters, refreshed on every bump: twice the criteria TTL, so a counter outlives
+     * every result cached under it, whatever their jitter.
+     */
+    public Duration generationTtl() {
+        return ttls.get(Family.CRITERIA).multipliedBy(2);
+    }
+
+    private Duration jittered(Duration ttl) {
+        if (jitter == 0) {
+            return ttl;
+        }
+        long millis = ttl.toMillis();
+        long deviation = Math.round(millis * jitter * (2 * random.getAsDouble() - 1));
+        return Duration.ofMillis(Math.max(1, millis + deviation));
+    }
+}
@@ -0,0 +1,108 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.ApplicantIdentity;
+import com.caixabanktech.loan.domain.model.LoanAmount;
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Maps a loan to the fields of a Redis hash and back, for the hash cache layout.
+ * <p>
+ * Field values are plain UTF-8 strings, so a status transition can be written as an HSET of the fields that
+ * changed and a single field can be read with HGET. A hash holding only {@link #NOT_FOUND} is the not-found marker.
+ */
+public final class LoanHashCodec {
+
+    public static final String STATUS = "status";
+    public static final String NOT_FOUND = "notFound";
+    static final String ID = "id";
+    static final String APPLICANT_NAME = "applicantName";
+    static final String APPLICANT_IDENTITY = "applicantIdentity";
+    static final String AMOUNT = "amount";
+    static final String CURRENCY = "currency";
+    static final String CREATED_AT = "createdAt";
+    static final String MODIFIED_AT = "modifiedAt";
+    static final String VERSION = "version";
+    private static final Set<String> FIELDS =
+            Set.of(ID, APPLICANT_NAME, APPLICANT_IDENTITY, AMOUNT, CURRENCY, CREATED_AT, MODIFIED_AT, STATUS, VERSION);
+
+    /**
+     * Script argument serializer for hash writes: strings and numbers as UTF-8 text, byte arrays (values already
+     * encoded with the template's value serializer) as they are.
+     */
+    public static final RedisSerializer<Object> SCRIPT_ARGS = new RedisSerializer<>() {
+        @Override
+        public byte[] serialize(Object value) {
+            return value instanceof byte[] bytes ? bytes : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return bytes;
+        }
+    };
+
+    private LoanHashCodec() {
+    }
+
+    public static Map<String, String> encode(LoanApplication loan) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(ID, loan.getId().value().toString());
+        fields.put(APPLICANT_NAME, loan.getApplicantName());
+        fields.put(APPLICANT_IDENTITY, loan.getApplicantIdentity().value());
+        fields.put(AMOUNT, loan.getLoanAmount().amount().toPlainString());
+        fields.put(CURRENCY, loan.getLoanAmount().currency().getCurrencyCode());
+        fields.put(CREATED_AT, loan.getCreatedAt().toString());
+        fields.put(MODIFIED_AT, loan.getModifiedAt().toString());
+        fields.put(STATUS, loan.getStatus().name());
+        fields.put(VERSION, Long.toString(loan.getVersion()));
+        return fields;
+    }
+
+    /**
+     * Fields of {@code current} that differ from {@code previous}; typically status, modification time and version.
+     */
+    public static Map<String, String> changedFields(LoanApplication previous, LoanApplication current) {
+        Map<String, String> before = encode(previous);
+        Map<String, String> changed = encode(current);
+        changed.entrySet().removeIf(field -> field.getValue().equals(before.get(field.getKey())));
+        return changed;
+    }
+
+    /**
+     * Returns the loan, {@link CacheTombstone#VALUE} for the not-found marker, or {@code null} when the hash is
+     * missing or incomplete (as are hashes cached before loans had a version, so those get reloaded).
+     */
+    public static Object decode(Map<String, String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        if (fields.containsKey(NOT_FOUND)) {
+            return CacheTombstone.VALUE;
+        }
+        if (!fields.keySet().containsAll(FIELDS)) {
+            return null;
+        }
+        return LoanApplication.builder()
+                .id(new LoanId(UUID.fromString(fields.get(ID))))
+                .applicantName(fields.get(APPLICANT_NAME))
+                .applicantIdentity(new ApplicantIdentity(fields.get(APPLICANT_IDENTITY)))
+                .loanAmount(new LoanAmount(new BigDecimal(fields.get(AMOUNT)), Currency.getInstance(fields.get(CURRENCY))))
+                .createdAt(Instant.parse(fields.get(CREATED_AT)))
+                .modifiedAt(Instant.parse(fields.get(MODIFIED_AT)))
+                .status(LoanStatus.valueOf(fields.get(STATUS)))
+                .version(Long.parseLong(fields.get(VERSION)))
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded in-process (L1) cache placed in front of Redis.
+ * Entries are evicted in LRU order once {@code maximumSize} is reached and expire {@code ttl} after being written.
+ * A {@code maximumSize} of zero disables the cache: every lookup is a miss and nothing is stored.
+ * <p>
+ * With an admission policy, read-through values are only stored through {@link #offer} when their key is
+ * frequently accessed, so one-off lookups do not push out entries that are read again and again.
+ */
+public class NearCache<K, V> {
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final CacheTierStats stats = new CacheTierStats("l1");
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final ToIntFunction<? super K> frequency;
+    private final int admissionThreshold;
+    private final LongAdder rejections = new LongAdder();
+
+    public NearCache(int maximumSize, Duration ttl) {
+        this(maximumSize, ttl, null, 0, System::nanoTime);
+    }
+
+    /**
+     * @param frequency          recent access frequency of a key, typically {@link HotKeys#frequency}
+     * @param admissionThreshold accesses a key needs before {@link #offer} stores it
+     */
+    public NearCache(int maximumSize, Duration ttl, ToIntFunction<? super K> frequency, int admissionThreshold) {
+        this(maximumSize, ttl, frequency, admissionThreshold, System::nanoTime);
+    }
+
+    NearCache(int maximumSize, Duration ttl, LongSupplier nanoClock) {
+        this(maximumSize, ttl, null, 0, nanoClock);
+    }
+
+    NearCache(int maximumSize, Duration ttl, ToIntFunction<? super K> frequency, int admissionThreshold,
+              LongSupplier nanoClock) {
+        if (maximumSize < 0) throw new IllegalArgumentException("maximumSize cannot be negative");
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.frequency = frequency;
+        this.admissionThreshold = admissionThreshold;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > NearCache.this.maximumSize) {
+                    stats.recordEviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<V> get(K key) {
+        if (maximumSize == 0) {
+            stats.recordMiss();
+            return Optional.empty();
+        }
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                stats.recordMiss();
+                return Optional.empty();
+            }
+            if (nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+                entries.remove(key);
+                stats.recordEviction();
+                stats.recordMiss();
+                return Optional.empty();
+            }
+            stats.recordHit();
+            return Optional.of(entry.value());
+        }
+    }
+
+    /**
+     * Like {@link #get} but not counted as a lookup in the stats, for callers inspecting what is cached.
+     */
+    public Optional<V> peek(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null || nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+                return Optional.empty();
+            }
+            return Optional.of(entry.value());
+        }
+    }
+
+    public void put(K key, V value) {
+        if (maximumSize == 0) return;
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttlNanos));
+        }
+    }
+
+    /**
+     * Stores a value read through from a lower tier, subject to admission: a key that is not cached yet must have
+     * been accessed at least {@code admissionThreshold} times recently and, when the cache is full, more often
+     * than the least recently used entry it would evict. Returns whether the value was stored.
+     */
+    public boolean offer(K key, V value) {
+        if (maximumSize == 0) return false;
+        synchronized (entries) {
+            if (frequency != null && !entries.containsKey(key) && !admit(key)) {
+                rejections.increment();
+                return false;
+            }
+            entries.put(key, new Entry<>(value, nanoClock.getAsLong() + ttlNanos));
+            return true;
+        }
+    }
+
+    // Called holding the entries lock
+    private boolean admit(K key) {
+        int candidate = frequency.applyAsInt(key);
+        if (candidate < admissionThreshold) {
+            return false;
+        }
+        if (entries.size() < maximumSize) {
+            return true;
+        }
+        Map.Entry<K, Entry<V>> eldest = entries.entrySet().iterator().next();
+        return nanoClock.getAsLong() - eldest.getValue().expiresAt() >= 0
+                || candidate > frequency.applyAsInt(eldest.getKey());
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int maximumSize() { return maximumSize; }
+
+    public CacheTierStats stats() { return stats; }
+
+    /** Values {@link #offer}ed but not admitted. */
+    public long rejectedCount() { return rejections.sum(); }
+
+    private record Entry<V>(V value, long expiresAt) {}
+}
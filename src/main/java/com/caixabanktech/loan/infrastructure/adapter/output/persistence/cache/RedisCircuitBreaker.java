@@ -0,0 +1,161 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling Redis after repeated failures, so an outage costs callers nothing instead of a client timeout each.
+ * <p>
+ * The circuit opens when {@code failureThreshold} failures are recorded within {@code failureWindow}. While open,
+ * {@link #allowRequest()} returns {@code false} and callers go straight to the database. Once {@code openDuration}
+ * has elapsed the next request starts a single background probe (half-open); the circuit closes when the probe
+ * succeeds and stays open for another period otherwise. Requests never wait for the probe.
+ */
+public class RedisCircuitBreaker implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final BooleanSupplier probe;
+    private final Executor probeExecutor;
+    private final int failureThreshold;
+    private final long failureWindowNanos;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private final boolean enabled;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicLong trips = new AtomicLong();
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private volatile long openedAt;
+    private int failures;
+    private long windowStart;
+
+    public RedisCircuitBreaker(BooleanSupplier probe, Executor probeExecutor, int failureThreshold,
+                               Duration failureWindow, Duration openDuration) {
+        this(probe, probeExecutor, failureThreshold, failureWindow, openDuration, System::nanoTime, true);
+    }
+
+    RedisCircuitBreaker(BooleanSupplier probe, Executor probeExecutor, int failureThreshold,
+                        Duration failureWindow, Duration openDuration, LongSupplier nanoClock) {
+        this(probe, probeExecutor, failureThreshold, failureWindow, openDuration, nanoClock, true);
+    }
+
+    private RedisCircuitBreaker(BooleanSupplier probe, Executor probeExecutor, int failureThreshold,
+                                Duration failureWindow, Duration openDuration, LongSupplier nanoClock, boolean enabled) {
+        this.probe = probe;
+        this.probeExecutor = probeExecutor;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.failureWindowNanos = failureWindow.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+        this.enabled = enabled;
+    }
+
+    /**
+     * A breaker that never opens, for when the feature is switched off.
+     */
+    public static RedisCircuitBreaker disabled() {
+        return new RedisCircuitBreaker(() -> true, Runnable::run, Integer.MAX_VALUE, Duration.ZERO, Duration.ZERO,
+                System::nanoTime, false);
+    }
+
+    /**
+     * Whether Redis may be called now. Starts the background probe when an open circuit is due for one.
+     */
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        shortCircuited.incrementAndGet();
+        if (current == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            startProbe();
+        }
+        return false;
+    }
+
+    public void recordFailure() {
+        if (!enabled || state.get() != State.CLOSED) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        synchronized (this) {
+            if (failures == 0 || now - windowStart > failureWindowNanos) {
+                failures = 0;
+                windowStart = now;
+            }
+            if (++failures < failureThreshold) {
+                return;
+            }
+            failures = 0;
+        }
+        if (state.compareAndSet(State.CLOSED, State.OPEN)) {
+            openedAt = now;
+            trips.incrementAndGet();
+            log.warn("Redis circuit opened after {} failures; serving from the database for at least {} ms.",
+                    failureThreshold, Duration.ofNanos(openNanos).toMillis());
+        }
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    /** Number of times the circuit has opened. */
+    public long tripCount() {
+        return trips.get();
+    }
+
+    /** Number of requests that skipped Redis because the circuit was not closed. */
+    public long shortCircuitedCount() {
+        return shortCircuited.get();
+    }
+
+    private void startProbe() {
+        try {
+            probeExecutor.execute(this::probe);
+        } catch (RejectedExecutionException e) {
+            reopen();
+        }
+    }
+
+    private void probe() {
+        boolean healthy;
+        try {
+            healthy = probe.getAsBoolean();
+        } catch (Exception e) {
+            log.debug("Redis circuit probe failed.", e);
+            healthy = false;
+        }
+        if (healthy) {
+            state.set(State.CLOSED);
+            log.info("Redis circuit closed; cache enabled again.");
+        } else {
+            reopen();
+        }
+    }
+
+    private void reopen() {
+        openedAt = nanoClock.getAsLong();
+        state.set(State.OPEN);
+    }
+
+    @Override
+    public void close() {
+        if (probeExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LoanCacheBackend} on Redis, shared by every node. Multi-key updates run as {@link LoanCacheScripts}, so
+ * each costs a single round trip.
+ * <p>
+ * Loans are stored as values or, with the hash layout, as one hash field per attribute ({@link LoanHashCodec}),
+ * which lets status reads and status transitions touch a single field.
+ */
+public class RedisLoanCacheBackend implements LoanCacheBackend {
+
+    private static final StringRedisSerializer HASH_STRINGS = StringRedisSerializer.UTF_8;
+    // Hash layout scripts only return integers, which are never handed to a result serializer
+    @SuppressWarnings("rawtypes")
+    private static final RedisSerializer INTEGER_REPLY = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final boolean hashLayout;
+
+    public RedisLoanCacheBackend(RedisTemplate<String, Object> redisTemplate, boolean hashLayout) {
+        this.redisTemplate = redisTemplate;
+        this.hashLayout = hashLayout;
+    }
+
+    @Override
+    public Object get(String key) {
+        return redisTemplate.opsForValue().get(key);
+    }
+
+    @Override
+    public void set(String key, Object value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+
+    // Counters live for the generation TTL, past any result cached under them, so results are stored as they are
+    @Override
+    public void setCriteriaResults(CriteriaResults results) {
+        redisTemplate.opsForValue().set(results.key(), results.loans(), results.ttl());
+    }
+
+    @Override
+    public Duration ttl(String key) {
+        Long millis = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+        return millis != null && millis > 0 ? Duration.ofMillis(millis) : null;
+    }
+
+    @Override
+    public Object getLoan(String key) {
+        return hashLayout ? getLoans(List.of(key)).get(0) : redisTemplate.opsForValue().get(key);
+    }
+
+    @Override
+    public List<Object> getLoans(List<String> keys) {
+        if (!hashLayout) {
+            return redisTemplate.opsForValue().multiGet(keys);
+        }
+        // Pipelined by hand: executePipelined would decode hash replies with the template's value serializer
+        List<Object> hashes = redisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            keys.forEach(key -> connection.hashCommands().hGetAll(HASH_STRINGS.serialize(key)));
+            return connection.closePipeline();
+        });
+        if (hashes == null) {
+            return Collections.nCopies(keys.size(), null);
+        }
+        return hashes.stream().map(fields -> LoanHashCodec.decode(decodeFields(fields))).toList();
+    }
+
+    /**
+     * With the hash layout, reads only the status field and the not-found marker.
+     */
+    @Override
+    public Object getLoanStatus(String key) {
+        if (!hashLayout) {
+            Object cached = getLoan(key);
+            return cached instanceof LoanApplication loan ? loan.getStatus() : cached;
+        }
+        List<byte[]> cached = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.hashCommands().hMGet(HASH_STRINGS.serialize(key),
+                        HASH_STRINGS.serialize(LoanHashCodec.STATUS), HASH_STRINGS.serialize(LoanHashCodec.NOT_FOUND)));
+        if (cached == null || (cached.get(0) == null && cached.get(1) == null)) {
+            return null;
+        }
+        return cached.get(0) == null ? CacheTombstone.VALUE : LoanStatus.valueOf(HASH_STRINGS.deserialize(cached.get(0)));
+    }
+
+    // All entries in one script call; every entry counts as written when Redis does not report per-key outcomes
+    @Override
+    public List<Boolean> setLoans(List<LoanEntry> entries) {
+        List<Long> outcomes = hashLayout ? setLoanHashes(entries) : setLoanValues(entries);
+        List<Boolean> written = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            written.add(outcomes == null || i >= outcomes.size() || outcomes.get(i) != 0L);
+        }
+        return written;
+    }
+
+    private List<Long> setLoanValues(List<LoanEntry> entries) {
+        List<String> keys = new ArrayList<>(entries.size() * 4);
+        Object[] args = new Object[entries.size() * 4];
+        for (int i = 0; i < entries.size(); i++) {
+            LoanEntry entry = entries.get(i);
+            keys.add(entry.key());
+            keys.add(entry.versionKey());
+            keys.add(entry.staleKey());
+            keys.add(entry.historyKey());
+            args[4 * i] = entry.loan();
+            args[4 * i + 1] = LoanCacheScripts.version(entry.loan());
+            args[4 * i + 2] = entry.ttl().toMillis();
+            args[4 * i + 3] = entry.staleTtl().toMillis();
+        }
+        return redisTemplate.execute(LoanCacheScripts.VERSIONED_SET, keys, args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> setLoanHashes(List<LoanEntry> entries) {
+        List<String> keys = new ArrayList<>(entries.size() * 4);
+        List<Object> args = new ArrayList<>();
+        for (LoanEntry entry : entries) {
+            keys.add(entry.key());
+            keys.add(entry.versionKey());
+            keys.add(entry.staleKey());
+            keys.add(entry.historyKey());
+            Map<String, String> fields = LoanHashCodec.encode(entry.loan());
+            args.add(LoanCacheScripts.version(entry.loan()));
+            args.add(entry.ttl().toMillis());
+            args.add(entry.staleTtl().toMillis());
+            args.add(fields.size());
+            addFields(args, fields);
+        }
+        return redisTemplate.execute(LoanCacheScripts.HASH_VERSIONED_SET, LoanHashCodec.SCRIPT_ARGS, INTEGER_REPLY,
+                keys, args.toArray());
+    }
+
+    /**
+     * SET NX, or a single script call for the hash layout.
+     */
+    @Override
+    public void setLoanNotFound(String key, Duration ttl) {
+        if (hashLayout) {
+            setHashesNotFound(List.of(key), ttl);
+        } else {
+            redisTemplate.opsForValue().setIfAbsent(key, CacheTombstone.VALUE, ttl);
+        }
+    }
+
+    /**
+     * One pipeline of SET NX, or a single script call for the hash layout.
+     */
+    @Override
+    public void setLoansNotFound(List<String> keys, Duration ttl) {
+        if (hashLayout) {
+            setHashesNotFound(keys, ttl);
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                ValueOperations<String, Object> ops = (ValueOperations<String, Object>) operations.opsForValue();
+                keys.forEach(key -> ops.setIfAbsent(key, CacheTombstone.VALUE, ttl));
+                return null;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setHashesNotFound(List<String> keys, Duration ttl) {
+        redisTemplate.execute(LoanCacheScripts.HASH_NOT_FOUND, LoanHashCodec.SCRIPT_ARGS, INTEGER_REPLY, keys,
+                LoanHashCodec.NOT_FOUND, 1, ttl.toMillis());
+    }
+
+    @Override
+    public boolean saveLoan(SavedLoan saved) {
+        LoanEntry entry = saved.entry();
+        LoanApplication loan = entry.loan();
+        Long written = hashLayout ? saveLoanHash(saved)
+                : redisTemplate.execute(LoanCacheScripts.SAVE, saveKeys(saved),
+                entry.ttl().toMillis(), loan, LoanCacheScripts.version(loan),
+                loan.getId().value().toString(), CacheTombstone.VALUE, saved.historyTtl().toMillis(),
+                entry.staleTtl().toMillis(), saved.generationTtl().toMillis());
+        return written == null || written != 0L;
+    }
+
+    private static List<String> saveKeys(SavedLoan saved) {
+        LoanEntry entry = saved.entry();
+        return List.of(entry.key(), entry.versionKey(), saved.identityKey(), entry.historyKey(),
+                saved.identityGenerationKey(), saved.globalGenerationKey(), entry.staleKey());
+    }
+
+    // A status transition is an HSET of the changed fields; every field is sent when the cached hash is not the
+    // version this node last saw
+    private Long saveLoanHash(SavedLoan saved) {
+        LoanApplication previous = saved.previous();
+        LoanApplication loan = saved.entry().loan();
+        if (previous != null) {
+            Map<String, String> changed = LoanHashCodec.changedFields(previous, loan);
+            if (!changed.isEmpty()) {
+                Long written = executeHashSave(saved, LoanCacheScripts.version(previous), changed);
+                if (written == null || written != -1L) {
+                    return written;
+                }
+            }
+        }
+        return executeHashSave(saved, -1L, LoanHashCodec.encode(loan));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Long executeHashSave(SavedLoan saved, long previousVersion, Map<String, String> fields) {
+        LoanEntry entry = saved.entry();
+        LoanApplication loan = entry.loan();
+        // The history list and identity index hold values in the template's encoding, not hash fields
+        RedisSerializer<Object> values = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        List<Object> args = new ArrayList<>(List.of(entry.ttl().toMillis(), values.serialize(loan),
+                LoanCacheScripts.version(loan), values.serialize(loan.getId().value().toString()),
+                values.serialize(CacheTombstone.VALUE), previousVersion, saved.historyTtl().toMillis(),
+                entry.staleTtl().toMillis(), saved.generationTtl().toMillis()));
+        addFields(args, fields);
+        return (Long) redisTemplate.execute(LoanCacheScripts.HASH_SAVE, LoanHashCodec.SCRIPT_ARGS, INTEGER_REPLY,
+                saveKeys(saved), args.toArray());
+    }
+
+    @Override
+    public void indexSavedLoans(SavedLoans saved) {
+        List<String> keys = new ArrayList<>(saved.historyKeys());
+        List<Object> args = new ArrayList<>(List.of(saved.historyKeys().size(), saved.identityIndexes().size(),
+                CacheTombstone.VALUE, saved.generationTtl().toMillis()));
+        saved.identityIndexes().forEach((key, loanIds) -> {
+            keys.add(key);
+            args.add(loanIds.size());
+            args.addAll(loanIds);
+        });
+        keys.addAll(saved.generationKeys());
+        redisTemplate.execute(LoanCacheScripts.SAVE_BATCH, keys, args.toArray());
+    }
+
+    @Override
+    public void deleteLoan(DeletedLoan deleted) {
+        List<String> keys = new ArrayList<>(List.of(deleted.key(), deleted.versionKey(), deleted.historyKey(),
+                deleted.globalGenerationKey(), deleted.staleKey()));
+        if (deleted.identityKey() != null) {
+            keys.add(deleted.identityKey());
+            keys.add(deleted.identityGenerationKey());
+        }
+        redisTemplate.execute(LoanCacheScripts.DELETE, keys,
+                LoanCacheScripts.DELETED_VERSION, deleted.versionTtl().toMillis(), deleted.loanId(),
+                deleted.generationTtl().toMillis());
+    }
+
+    @Override
+    public List<Object> getHistory(String key) {
+        List<Object> revisions = redisTemplate.opsForList().range(key, 0, -1);
+        return revisions == null ? List.of() : revisions;
+    }
+
+    @Override
+    public void setHistory(String key, String versionKey, List<LoanApplication> revisions, Duration ttl) {
+        Object[] args = new Object[2 + revisions.size()];
+        args[0] = ttl.toMillis();
+        args[1] = LoanCacheScripts.version(revisions.get(revisions.size() - 1));
+        for (int i = 0; i < revisions.size(); i++) {
+            args[2 + i] = revisions.get(i);
+        }
+        redisTemplate.execute(LoanCacheScripts.HISTORY_LOAD, List.of(key, versionKey), args);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<String> getMembers(String key) {
+        Set<Object> members = redisTemplate.opsForSet().members(key);
+        return members == null ? Set.of() : (Set<String>) (Set<?>) members;
+    }
+
+    // SADD and EXPIRE in one pipeline
+    @Override
+    public void addMembers(String key, List<String> members, Duration ttl) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForSet().add(key, members.toArray());
+                ops.expire(key, ttl);
+                return null;
+            }
+        });
+    }
+
+    @Override
+    public void removeMembers(String key, List<String> members) {
+        redisTemplate.opsForSet().remove(key, members.toArray());
+    }
+
+    @Override
+    public void setMembersNotFound(String key, Duration ttl) {
+        redisTemplate.execute(LoanCacheScripts.INDEX_NOT_FOUND, List.of(key), CacheTombstone.VALUE, ttl.toMillis());
+    }
+
+    private static void addFields(List<Object> args, Map<String, String> fields) {
+        fields.forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> decodeFields(Object fields) {
+        Map<String, String> decoded = new HashMap<>();
+        ((Map<byte[], byte[]>) fields).forEach((field, value) ->
+                decoded.put(HASH_STRINGS.deserialize(field), HASH_STRINGS.deserialize(value)));
+        return decoded;
+    }
+}
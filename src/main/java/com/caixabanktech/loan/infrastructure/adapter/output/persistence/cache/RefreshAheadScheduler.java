@@ -0,0 +1,150 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Reloads hot Redis entries in the background shortly before they expire.
+ * <p>
+ * A key is hot when it is read again within {@code hotAccessWindow} of its previous read. When a hot key has
+ * less than {@code refreshWindow} left to live, the reload is handed to a bounded executor and the caller keeps
+ * the cached value. Expiry is known for entries written through {@link #recordWrite}; for entries written by
+ * other nodes it is looked up once, also in the background. Tasks rejected by a saturated executor are dropped.
+ */
+public class RefreshAheadScheduler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshAheadScheduler.class);
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final long refreshWindowNanos;
+    private final long hotAccessWindowNanos;
+    private final int maxTrackedKeys;
+    private final LongSupplier nanoClock;
+
+    public RefreshAheadScheduler(Executor executor, Duration refreshWindow, Duration hotAccessWindow, int maxTrackedKeys) {
+        this(executor, refreshWindow, hotAccessWindow, maxTrackedKeys, System::nanoTime);
+    }
+
+    RefreshAheadScheduler(Executor executor, Duration refreshWindow, Duration hotAccessWindow, int maxTrackedKeys,
+                          LongSupplier nanoClock) {
+        this.executor = executor;
+        this.refreshWindowNanos = refreshWindow.toNanos();
+        this.hotAccessWindowNanos = hotAccessWindow.toNanos();
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Scheduler that never refreshes anything.
+     */
+    public static RefreshAheadScheduler disabled() {
+        return new RefreshAheadScheduler(Runnable::run, Duration.ZERO, Duration.ZERO, 0);
+    }
+
+    /**
+     * Records that {@code key} was just written with the given time-to-live.
+     */
+    public void recordWrite(String key, Duration ttl) {
+        Entry entry = entryFor(key);
+        if (entry != null) {
+            entry.expiresAt = nanoClock.getAsLong() + ttl.toNanos();
+        }
+    }
+
+    public void forget(String key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Records a cache hit for {@code key} and, if it is hot and about to expire, schedules {@code reload}.
+     *
+     * @param ttlLookup returns the remaining time-to-live in Redis, or {@code null} if the key has none
+     * @param reload    reloads the value from the database and writes it back through {@link #recordWrite}
+     */
+    public void onHit(String key, Supplier<Duration> ttlLookup, Runnable reload) {
+        Entry entry = entryFor(key);
+        if (entry == null) return;
+
+        long now = nanoClock.getAsLong();
+        long previousAccess = entry.lastAccess;
+        entry.lastAccess = now;
+        if (previousAccess == UNKNOWN || now - previousAccess > hotAccessWindowNanos) return;
+
+        long expiresAt = entry.expiresAt;
+        if (expiresAt == UNKNOWN) {
+            submit(key, entry, () -> {
+                Duration remaining = ttlLookup.get();
+                if (remaining != null && !remaining.isNegative()) {
+                    entry.expiresAt = now + remaining.toNanos();
+                }
+            });
+        } else if (expiresAt - now <= refreshWindowNanos) {
+            submit(key, entry, reload);
+        }
+    }
+
+    public int trackedKeys() {
+        return entries.size();
+    }
+
+    /**
+     * Stops the executor, if it is an {@link ExecutorService}. Pending refreshes are discarded.
+     */
+    @Override
+    public void close() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void submit(String key, Entry entry, Runnable task) {
+        if (!entry.busy.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.warn("Refresh-ahead failed for key {}. It will be reloaded on expiry.", key, e);
+                } finally {
+                    entry.busy.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.busy.set(false);
+            log.debug("Refresh-ahead queue full, skipping key {}", key);
+        }
+    }
+
+    private Entry entryFor(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null || maxTrackedKeys <= 0) return entry;
+        if (entries.size() >= maxTrackedKeys) {
+            evictCold();
+            if (entries.size() >= maxTrackedKeys) return null;
+        }
+        return entries.computeIfAbsent(key, k -> new Entry());
+    }
+
+    // Keys not read within the hot window cannot trigger a refresh, so they are the first to go
+    private void evictCold() {
+        long now = nanoClock.getAsLong();
+        entries.values().removeIf(entry -> entry.lastAccess == UNKNOWN || now - entry.lastAccess > hotAccessWindowNanos);
+    }
+
+    private static final class Entry {
+        private volatile long expiresAt = UNKNOWN;
+        private volatile long lastAccess = UNKNOWN;
+        private final AtomicBoolean busy = new AtomicBoolean();
+    }
+}
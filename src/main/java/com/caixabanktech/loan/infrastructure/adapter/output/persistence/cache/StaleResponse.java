@@ -0,0 +1,50 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Flags the current HTTP request as answered with stale cache data, so the web layer can tell the client.
+ * <p>
+ * The flag is a request attribute: it is dropped with the request and never leaks to the next one handled by the
+ * same thread. Outside a request (scheduled jobs, tests) marking does nothing.
+ */
+public final class StaleResponse {
+
+    /** Set to {@code true} on responses built from a stale copy. */
+    public static final String HEADER = "X-Cache-Stale";
+    /** Approximate age of the stale copy in seconds, when known. */
+    public static final String AGE_HEADER = "X-Cache-Stale-Age";
+    static final String ATTRIBUTE = StaleResponse.class.getName();
+    static final String AGE_ATTRIBUTE = ATTRIBUTE + ".age";
+
+    private StaleResponse() {
+    }
+
+    /**
+     * @param age how long ago the stale copy was cached, or {@code null} when unknown
+     */
+    public static void mark(Duration age) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            if (age != null) {
+                request.setAttribute(AGE_ATTRIBUTE, age, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+    }
+
+    public static boolean isMarked() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request != null && Boolean.TRUE.equals(request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    public static Optional<Duration> age() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request != null && request.getAttribute(AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Duration age
+                ? Optional.of(age) : Optional.empty();
+    }
+}
@@ -0,0 +1,183 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Serves a stale copy of an entry when loading it from the database fails or takes longer than a latency budget.
+ * <p>
+ * The load runs on a bounded executor while the caller waits for at most the budget. When it times out the load
+ * keeps running and re-caches the entry once it completes, so the next reader gets a fresh value: the stale copy
+ * is revalidated in the background. When it fails, the stale copy is served and the next miss tries the database
+ * again. Without a stale copy the caller gets the load's outcome, however long it takes.
+ * <p>
+ * Concurrent loads of one key share a single executor task: later callers wait on its result on their own thread,
+ * with the same budget, so a burst of misses on a hot key takes one pool thread rather than one per caller.
+ * <p>
+ * Loads inside a read-write transaction always run inline: a stale read there could feed a state transition.
+ */
+public class StaleWhileRevalidate {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleWhileRevalidate.class);
+
+    /**
+     * A stale copy and how long ago it was cached ({@code null} when unknown).
+     */
+    public record StaleCopy<T>(T value, Duration age) {
+    }
+
+    private final Executor executor;
+    private final long latencyBudgetNanos;
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public StaleWhileRevalidate(Executor executor, Duration latencyBudget) {
+        this.executor = executor;
+        this.latencyBudgetNanos = latencyBudget.toNanos();
+    }
+
+    /**
+     * Always loads inline and never serves stale copies.
+     */
+    public static StaleWhileRevalidate disabled() {
+        return new StaleWhileRevalidate(null, Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * @param key       cache key being loaded; concurrent loads of the same key share one load
+     * @param load      loads the entry from the database and caches it
+     * @param stale     reads the stale copy; returns {@code null} when there is none
+     * @param shareCopy copies a shared load's result for each caller that joined it, since domain objects are mutable
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<T> load, Supplier<StaleCopy<T>> stale, UnaryOperator<T> shareCopy) {
+        if (!isEnabled() || inReadWriteTransaction()) {
+            return load.get();
+        }
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return shareCopy.apply(await((CompletableFuture<T>) (CompletableFuture<?>) existing, stale));
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    created.complete(load.get());
+                } catch (Throwable e) {
+                    created.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Saturated pool: the database is already struggling, so prefer the stale copy to queueing up
+            StaleCopy<T> fallback = readStale(stale);
+            if (fallback != null) {
+                inFlight.remove(key, created);
+                created.completeExceptionally(e);
+                return served(fallback, "load pool saturated");
+            }
+            try {
+                T value = load.get();
+                created.complete(value);
+                return value;
+            } catch (RuntimeException | Error failure) {
+                created.completeExceptionally(failure);
+                throw failure;
+            } finally {
+                inFlight.remove(key, created);
+            }
+        }
+        return await((CompletableFuture<T>) (CompletableFuture<?>) created, stale);
+    }
+
+    private <T> T await(CompletableFuture<T> pending, Supplier<StaleCopy<T>> stale) {
+        try {
+            return pending.get(latencyBudgetNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            StaleCopy<T> fallback = readStale(stale);
+            return fallback != null ? served(fallback, "load exceeded latency budget") : join(pending);
+        } catch (ExecutionException e) {
+            StaleCopy<T> fallback = readStale(stale);
+            if (fallback != null) {
+                log.warn("Database load failed; serving stale cached copy.", e.getCause());
+                return served(fallback, "load failed");
+            }
+            throw unchecked(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            StaleCopy<T> fallback = readStale(stale);
+            if (fallback != null) {
+                return served(fallback, "interrupted");
+            }
+            throw new IllegalStateException("Interrupted while loading from the database", e);
+        }
+    }
+
+    public long staleServedCount() { return staleServed.sum(); }
+
+    public long timeoutCount() { return timeouts.sum(); }
+
+    public long coalescedCount() { return coalesced.sum(); }
+
+    private <T> T served(StaleCopy<T> fallback, String reason) {
+        staleServed.increment();
+        StaleResponse.mark(fallback.age());
+        log.debug("Serving stale cached copy: {}", reason);
+        return fallback.value();
+    }
+
+    private static boolean inReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static <T> StaleCopy<T> readStale(Supplier<StaleCopy<T>> stale) {
+        try {
+            return stale.get();
+        } catch (Exception e) {
+            log.warn("Could not read stale cached copy.", e);
+            return null;
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            throw unchecked(e.getCause());
+        }
+    }
+
+    private static RuntimeException unchecked(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Database load failed", cause);
+    }
+}
@@ -3,18 +3,48 @@ package com.caixabanktech.loan.infrastructure.adapter.output.persistence.jpa;
 import com.caixabanktech.loan.domain.model.ApplicantIdentity;
 import com.caixabanktech.loan.domain.model.LoanApplication;
 import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.domain.port.out.LoanCursor;
 import com.caixabanktech.loan.domain.port.out.LoanRepositoryPort;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.AfterCommit;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CacheLoadCoordinator;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CacheTombstone;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CacheTierStats;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CriteriaHash;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.HotKeys;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheBackend;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheInvalidationBus;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics.Family;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics.Tier;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheTtlPolicy;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.NearCache;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.RedisCircuitBreaker;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.RefreshAheadScheduler;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.StaleWhileRevalidate;
+import com.caixabanktech.loan.infrastructure.config.LoanCacheProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Primary;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Component
 @Primary
@@ -22,83 +52,564 @@ public class CachingLoanRepositoryAdapter implements LoanRepositoryPort {
 
     private static final Logger log = LoggerFactory.getLogger(CachingLoanRepositoryAdapter.class);
     private final LoanRepositoryPort delegate;
-    private final RedisTemplate<String, Object> redisTemplate;
-    private static final long CACHE_TTL = 10; // Time-to-live for cache entries in minutes
-    private static final TimeUnit CACHE_TTLUNIT = TimeUnit.MINUTES;
+    private final LoanCacheBackend cacheBackend;
+    private final NearCache<LoanId, LoanApplication> nearCache;
+    private final LoanCacheInvalidationBus invalidationBus;
+    private final CacheLoadCoordinator loadCoordinator;
+    private final RefreshAheadScheduler refreshAhead;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final LoanCacheMetrics metrics;
+    private final HotKeys<LoanId> loanHotKeys;
+    private final HotKeys<String> identityHotKeys;
+    private final LoanCacheTtlPolicy ttlPolicy;
+    private final StaleWhileRevalidate staleWhileRevalidate;
+    private final Duration staleWindow;
+    private final Duration negativeTtl;
+    private final boolean hashLayout;
+    private final CacheTierStats redisStats = new CacheTierStats("l2");
+    private static final Comparator<LoanApplication> IDENTITY_ORDER = Comparator
+            .comparing(LoanApplication::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(loan -> loan.getId().value());
 
-    public CachingLoanRepositoryAdapter(@Qualifier("loanPersistenceAdapter") LoanRepositoryPort delegate, RedisTemplate<String, Object> redisTemplate) {
+    public CachingLoanRepositoryAdapter(@Qualifier("loanPersistenceAdapter") LoanRepositoryPort delegate,
+                                        LoanCacheBackend cacheBackend,
+                                        NearCache<LoanId, LoanApplication> nearCache,
+                                        LoanCacheInvalidationBus invalidationBus,
+                                        CacheLoadCoordinator loadCoordinator,
+                                        RefreshAheadScheduler refreshAhead,
+                                        RedisCircuitBreaker circuitBreaker,
+                                        LoanCacheMetrics metrics,
+                                        HotKeys<LoanId> loanHotKeys,
+                                        HotKeys<String> identityHotKeys,
+                                        LoanCacheTtlPolicy ttlPolicy,
+                                        StaleWhileRevalidate staleWhileRevalidate,
+                                        LoanCacheProperties properties) {
         this.delegate = delegate;
-        this.redisTemplate = redisTemplate;
+        this.cacheBackend = cacheBackend;
+        this.nearCache = nearCache;
+        this.invalidationBus = invalidationBus;
+        this.loadCoordinator = loadCoordinator;
+        this.refreshAhead = refreshAhead;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+        this.loanHotKeys = loanHotKeys;
+        this.identityHotKeys = identityHotKeys;
+        this.ttlPolicy = ttlPolicy;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.staleWindow = staleWhileRevalidate.isEnabled() ? properties.getStale().getWindow() : Duration.ZERO;
+        this.negativeTtl = properties.getNegativeTtl();
+        this.hashLayout = properties.getLayout() == LoanCacheProperties.Layout.HASH;
     }
 
+    public CacheTierStats nearCacheStats() {
+        return nearCache.stats();
+    }
+
+    public CacheTierStats redisCacheStats() {
+        return redisStats;
+    }
+
+    public RedisCircuitBreaker.State redisCircuitState() {
+        return circuitBreaker.state();
+    }
+
+    private void redisFailed(Family family) {
+        circuitBreaker.recordFailure();
+        metrics.recordError(family, Tier.L2);
+    }
+
+    private <T> T timed(Family family, Tier tier, Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            metrics.recordLatency(family, tier, System.nanoTime() - start);
+        }
+    }
+
+    // The hash layout uses its own keys so both layouts can coexist during rollout
     private String getCacheKey(LoanId id) {
-        return "loan:" + id.value();
+        return (hashLayout ? "loan:hash:" : "loan:") + id.value();
     }
 
+    // Set of loan ids; a different key from the former cached lists so both layouts can coexist during rollout
     private String getIdentityCacheKey(String identity) {
-        return "loan:identity:" + identity;
+        return "loan:identity:ids:" + identity;
     }
 
+    // Outlives the loan's entry by the stale window; only read when the database cannot answer in time
+    private String getStaleKey(LoanId id) {
+        return (hashLayout ? "loan:hash:stale:" : "loan:stale:") + id.value();
+    }
+
+    // Optimistic locking version; a different key from the former modifiedAt-based versions, which would outrank
+    // every version number until they expire
+    private String getVersionKey(LoanId id) {
+        return "loan:ver:" + id.value();
+    }
+
+    // Redis list of revisions; a different key from the former cached lists so both layouts can coexist during rollout
     private String getHistoryCacheKey(LoanId id) {
-        return "loan:history:" + id.value();
+        return "loan:history:list:" + id.value();
+    }
+
+    private String getCriteriaGenerationKey(String identity) {
+        return identity == null ? "loan:criteria:gen" : "loan:criteria:gen:" + identity;
+    }
+
+    private String getCriteriaCacheKey(String identity, long generation, Instant startDate, Instant endDate) {
+        return "loan:criteria:" + (identity == null ? "all" : identity) + ":" + generation + ":"
+                + CriteriaHash.of(identity, startDate, endDate);
+    }
+
+    // Domain objects are mutable (status transitions), so the near cache only ever hands out copies
+    private static LoanApplication detach(LoanApplication loan) {
+        return loan.toBuilder().build();
+    }
+
+    private static Optional<LoanApplication> detach(Optional<LoanApplication> loan) {
+        return loan.map(CachingLoanRepositoryAdapter::detach);
+    }
+
+    private static Optional<List<LoanApplication>> detachAll(Optional<List<LoanApplication>> loans) {
+        return loans.map(list -> list.stream().map(CachingLoanRepositoryAdapter::detach).toList());
     }
 
     @Override
     public Optional<LoanApplication> findById(LoanId id) {
+        loanHotKeys.record(id);
+        if (!circuitBreaker.allowRequest()) {
+            return delegate.findById(id);
+        }
         String key = getCacheKey(id);
+        Optional<LoanApplication> local = nearCache.get(id);
+        if (local.isPresent()) {
+            metrics.recordHit(Family.LOAN, Tier.L1);
+            scheduleRefreshAhead(id, key);
+            return detach(local);
+        }
+        metrics.recordMiss(Family.LOAN, Tier.L1);
+
         try {
-            Object cached = redisTemplate.opsForValue().get(key);
+            Object cached = timed(Family.LOAN, Tier.L2, () -> cacheBackend.getLoan(key));
             if (cached instanceof LoanApplication cachedLoan) {
-                log.info("Cache hit for key: {}", key);
+                log.debug("Cache hit for key: {}", key);
+                redisStats.recordHit();
+                metrics.recordHit(Family.LOAN, Tier.L2);
+                nearCache.offer(id, detach(cachedLoan));
+                scheduleRefreshAhead(id, key);
                 return Optional.of(cachedLoan);
             }
-            log.info("Cache miss for key: {}", key);
+            if (CacheTombstone.is(cached)) {
+                log.debug("Negative cache hit for key: {}", key);
+                redisStats.recordHit();
+                metrics.recordHit(Family.LOAN, Tier.L2);
+                return Optional.empty();
+            }
+            log.debug("Cache miss for key: {}", key);
+            redisStats.recordMiss();
+            metrics.recordMiss(Family.LOAN, Tier.L2);
         } catch (Exception e) {
+            redisFailed(Family.LOAN);
             log.warn("Error reading from Redis cache for key {}. Proceeding to database.", key, e);
         }
 
-        Optional<LoanApplication> loanFromDb = delegate.findById(id);
-        loanFromDb.ifPresent(loan -> {
-            try {
-                redisTemplate.opsForValue().set(key, loan, CACHE_TTL, CACHE_TTLUNIT);
-            } catch (Exception e) {
-                log.warn("Error writing to Redis cache for key {}.", key, e);
+        return loadServingStale(id, key);
+    }
+
+    // While the database is failing or slow, a recently expired copy is served and the load re-caches it behind
+    private Optional<LoanApplication> loadServingStale(LoanId id, String key) {
+        return staleWhileRevalidate.load(key,
+                () -> loadCoordinator.load(key, () -> probeLoan(key), () -> loadLoan(id, key), CachingLoanRepositoryAdapter::detach),
+                () -> readStaleLoan(id), CachingLoanRepositoryAdapter::detach);
+    }
+
+    private StaleWhileRevalidate.StaleCopy<Optional<LoanApplication>> readStaleLoan(LoanId id) {
+        String staleKey = getStaleKey(id);
+        if (!(cacheBackend.getLoan(staleKey) instanceof LoanApplication loan)) {
+            return null;
+        }
+        // The copy was written to live the loan's TTL plus the stale window, so what is left of that tells its age
+        // (to within the TTL jitter)
+        Duration remaining = cacheBackend.ttl(staleKey);
+        Duration age = remaining == null ? null : staleTtl(ttlPolicy.baseTtl(Family.LOAN, loan.getStatus())).minus(remaining);
+        return new StaleWhileRevalidate.StaleCopy<>(Optional.of(loan), age == null || age.isNegative() ? null : age);
+    }
+
+    private Optional<LoanApplication> probeLoan(String key) {
+        Object cached = cacheBackend.getLoan(key);
+        if (cached instanceof LoanApplication loan) return Optional.of(loan);
+        return CacheTombstone.is(cached) ? Optional.empty() : null;
+    }
+
+    /**
+     * With the hash layout, reads only the status field (and the not-found marker) unless the loan is in the near
+     * cache; a miss loads and caches the whole loan as {@link #findById} does.
+     */
+    @Override
+    public Optional<LoanStatus> findStatusById(LoanId id) {
+        if (!hashLayout) {
+            return findById(id).map(LoanApplication::getStatus);
+        }
+        loanHotKeys.record(id);
+        if (!circuitBreaker.allowRequest()) {
+            return delegate.findById(id).map(LoanApplication::getStatus);
+        }
+        String key = getCacheKey(id);
+        Optional<LoanApplication> local = nearCache.get(id);
+        if (local.isPresent()) {
+            metrics.recordHit(Family.LOAN, Tier.L1);
+            return local.map(LoanApplication::getStatus);
+        }
+        metrics.recordMiss(Family.LOAN, Tier.L1);
+
+        try {
+            Object cached = timed(Family.LOAN, Tier.L2, () -> cacheBackend.getLoanStatus(key));
+            if (cached != null) {
+                log.debug("Cache hit for status of key: {}", key);
+                redisStats.recordHit();
+                metrics.recordHit(Family.LOAN, Tier.L2);
+                return cached instanceof LoanStatus status ? Optional.of(status) : Optional.empty();
             }
-        });
+            log.debug("Cache miss for status of key: {}", key);
+            redisStats.recordMiss();
+            metrics.recordMiss(Family.LOAN, Tier.L2);
+        } catch (Exception e) {
+            redisFailed(Family.LOAN);
+            log.warn("Error reading status from Redis cache for key {}. Proceeding to database.", key, e);
+        }
+
+        return loadServingStale(id, key).map(LoanApplication::getStatus);
+    }
+
+    private Optional<LoanApplication> loadLoan(LoanId id, String key) {
+        // A load for this key may have completed between our cache miss and acquiring the load slot
+        Optional<LoanApplication> local = nearCache.get(id);
+        if (local.isPresent()) {
+            return detach(local);
+        }
+
+        Optional<LoanApplication> loanFromDb = timed(Family.LOAN, Tier.DB, () -> delegate.findById(id));
+        loanFromDb.ifPresentOrElse(loan -> cacheLoan(key, loan), () -> cacheNotFound(key));
         return loanFromDb;
     }
 
+    private void cacheLoan(String key, LoanApplication loan) {
+        try {
+            if (writeLoans(List.of(loan)).isEmpty()) {
+                // A newer version is already cached; do not keep this snapshot in the near cache either
+                return;
+            }
+        } catch (Exception e) {
+            redisFailed(Family.LOAN);
+            log.warn("Error writing to Redis cache for key {}.", key, e);
+        }
+        nearCache.offer(loan.getId(), detach(loan));
+    }
+
+    /**
+     * Writes loans with a compare-and-set on their version, so an older snapshot (a slow load, a
+     * delayed update) never replaces a newer one. Returns the loans that were written; all of them when Redis
+     * does not report per-key outcomes.
+     */
+    private List<LoanApplication> writeLoans(List<LoanApplication> loans) {
+        List<LoanCacheBackend.LoanEntry> entries = loans.stream().map(this::loanEntry).toList();
+        List<Boolean> outcomes = cacheBackend.setLoans(entries);
+
+        List<LoanApplication> written = new ArrayList<>(loans.size());
+        for (int i = 0; i < loans.size(); i++) {
+            LoanApplication loan = loans.get(i);
+            if (!outcomes.get(i)) {
+                log.debug("Skipped stale cache write for loan {}", loan.getId().value());
+                continue;
+            }
+            refreshAhead.recordWrite(getCacheKey(loan.getId()), entries.get(i).ttl());
+            written.add(loan);
+        }
+        return written;
+    }
+
+    private LoanCacheBackend.LoanEntry loanEntry(LoanApplication loan) {
+        LoanId id = loan.getId();
+        Duration ttl = loanTtl(loan);
+        return new LoanCacheBackend.LoanEntry(getCacheKey(id), getVersionKey(id), getStaleKey(id), getHistoryCacheKey(id),
+                loan, ttl, staleTtl(ttl));
+    }
+
+    private Duration loanTtl(LoanApplication loan) {
+        return ttlPolicy.ttl(Family.LOAN, loan.getStatus());
+    }
+
+    private Duration historyTtl(LoanApplication latest) {
+        return ttlPolicy.ttl(Family.HISTORY, latest.getStatus());
+    }
+
+    // Zero tells the backend not to keep a stale copy
+    private Duration staleTtl(Duration ttl) {
+        return staleWindow.isZero() ? Duration.ZERO : ttl.plus(staleWindow);
+    }
+
+    // Near cache hits count too: a loan served from L1 still expires in Redis
+    private void scheduleRefreshAhead(LoanId id, String key) {
+        refreshAhead.onHit(key, () -> cacheBackend.ttl(key), () -> refreshLoan(id, key));
+    }
+
+    // Runs on the refresh executor; the caller has already been served the cached value
+    private void refreshLoan(LoanId id, String key) {
+        if (!circuitBreaker.allowRequest()) {
+            return;
+        }
+        log.debug("Refreshing cache ahead of expiry for key: {}", key);
+        delegate.findById(id).ifPresentOrElse(loan -> cacheLoan(key, loan), () -> refreshAhead.forget(key));
+    }
+
+    // SET NX: a loan cached by a concurrent save must never be hidden behind a late tombstone
+    private void cacheNotFound(String key) {
+        try {
+            cacheBackend.setLoanNotFound(key, negativeTtl);
+        } catch (Exception e) {
+            redisFailed(Family.LOAN);
+            log.warn("Error writing not-found marker to Redis cache for key {}.", key, e);
+        }
+    }
+
+    /**
+     * Serves the near-cache hits locally, the rest with a single MGET, and loads only the remaining misses
+     * from the database in one batch, back-filling Redis (loans and not-found markers) in one pipeline.
+     */
     @Override
-    public LoanApplication save(LoanApplication loan) {
-        LoanApplication savedLoan = delegate.save(loan);
+    public List<LoanApplication> findAllById(Collection<LoanId> ids) {
+        if (!circuitBreaker.allowRequest()) {
+            return delegate.findAllById(ids);
+        }
+        Map<LoanId, LoanApplication> found = new HashMap<>();
+        List<LoanId> remote = new ArrayList<>();
+        Set<LoanId> requested = new LinkedHashSet<>(ids);
+        for (LoanId id : requested) {
+            loanHotKeys.record(id);
+            nearCache.get(id).ifPresentOrElse(loan -> {
+                metrics.recordHit(Family.LOAN, Tier.L1);
+                found.put(id, detach(loan));
+            }, () -> {
+                metrics.recordMiss(Family.LOAN, Tier.L1);
+                remote.add(id);
+            });
+        }
+
+        List<LoanId> misses = remote.isEmpty() ? remote : readBatchFromRedis(remote, found);
+        if (!misses.isEmpty()) {
+            List<LoanApplication> loaded = timed(Family.LOAN, Tier.DB, () -> delegate.findAllById(misses));
+            loaded.forEach(loan -> found.put(loan.getId(), loan));
+            backfillBatch(misses, loaded);
+        }
+
+        List<LoanApplication> result = new ArrayList<>(found.size());
+        for (LoanId id : requested) {
+            LoanApplication loan = found.get(id);
+            if (loan != null) result.add(loan);
+        }
+        return result;
+    }
+
+    // Returns the ids that still have to be loaded from the database
+    private List<LoanId> readBatchFromRedis(List<LoanId> ids, Map<LoanId, LoanApplication> found) {
+        List<Object> cached;
         try {
-            // Update individual cache
-            String key = getCacheKey(savedLoan.getId());
-            redisTemplate.opsForValue().set(key, savedLoan, CACHE_TTL, CACHE_TTLUNIT);
+            List<String> keys = ids.stream().map(this::getCacheKey).toList();
+            cached = timed(Family.LOAN, Tier.L2, () -> cacheBackend.getLoans(keys));
+        } catch (Exception e) {
+            redisFailed(Family.LOAN);
+            log.warn("Error reading {} keys from Redis cache. Proceeding to database.", ids.size(), e);
+            return ids;
+        }
+        if (cached == null) {
+            return ids;
+        }
 
-            // Invalidate identity list cache to ensure consistency
-            String identityKey = getIdentityCacheKey(savedLoan.getApplicantIdentity().value());
-            redisTemplate.delete(identityKey);
+        List<LoanId> misses = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            LoanId id = ids.get(i);
+            Object value = cached.get(i);
+            if (value instanceof LoanApplication loan) {
+                redisStats.recordHit();
+                metrics.recordHit(Family.LOAN, Tier.L2);
+                found.put(id, loan);
+                nearCache.offer(id, detach(loan));
+            } else if (CacheTombstone.is(value)) {
+                redisStats.recordHit();
+                metrics.recordHit(Family.LOAN, Tier.L2);
+            } else {
+                redisStats.recordMiss();
+                metrics.recordMiss(Family.LOAN, Tier.L2);
+                misses.add(id);
+            }
+        }
+        return misses;
+    }
 
-            // Invalidate history cache
-            redisTemplate.delete(getHistoryCacheKey(savedLoan.getId()));
+    // One backend call for the loans, one for the not-found markers
+    private void backfillBatch(List<LoanId> misses, List<LoanApplication> loaded) {
+        Set<LoanId> loadedIds = new HashSet<>();
+        loaded.forEach(loan -> loadedIds.add(loan.getId()));
+        List<LoanId> notFound = misses.stream().filter(id -> !loadedIds.contains(id)).toList();
+        try {
+            List<LoanApplication> written = loaded.isEmpty() ? loaded : writeLoans(loaded);
+            written.forEach(loan -> nearCache.offer(loan.getId(), detach(loan)));
+            if (!notFound.isEmpty()) {
+                cacheBackend.setLoansNotFound(notFound.stream().map(this::getCacheKey).toList(), negativeTtl);
+            }
         } catch (Exception e) {
-            log.warn("Error updating cache for loan {}.", savedLoan.getId().value(), e);
+            redisFailed(Family.LOAN);
+            log.warn("Error back-filling {} keys into Redis cache.", misses.size(), e);
+        }
+    }
+
+    /**
+     * Saves through the delegate and updates the caches only once the surrounding transaction commits.
+     */
+    @Override
+    public LoanApplication save(LoanApplication loan) {
+        return cacheAfterCommit(delegate.save(loan));
+    }
+
+    @Override
+    public LoanApplication create(LoanApplication loan) {
+        return cacheAfterCommit(delegate.create(loan));
+    }
+
+    @Override
+    public Optional<LoanApplication> updateStatus(LoanApplication loan) {
+        Optional<LoanApplication> updated = delegate.updateStatus(loan);
+        if (updated.isPresent()) {
+            cacheAfterCommit(updated.get());
+            return updated;
         }
+        // The caller decided on a copy that no longer matches the database. The winner caches its update only once
+        // it commits, so the stored loan is cached now: a retry reads it instead of the same outdated copy
+        LoanId id = loan.getId();
+        nearCache.invalidate(id);
+        if (circuitBreaker.allowRequest()) {
+            loadLoan(id, getCacheKey(id));
+        }
+        return updated;
+    }
+
+    private LoanApplication cacheAfterCommit(LoanApplication savedLoan) {
+        // Snapshot now: the caller may keep mutating the returned instance before the transaction commits
+        LoanApplication snapshot = detach(savedLoan);
+        AfterCommit.run(() -> cacheSaved(snapshot));
         return savedLoan;
     }
 
+    @Override
+    public List<LoanApplication> saveAll(List<LoanApplication> loans) {
+        List<LoanApplication> savedLoans = delegate.saveAll(loans);
+        List<LoanApplication> snapshots = savedLoans.stream().map(CachingLoanRepositoryAdapter::detach).toList();
+        AfterCommit.run(() -> cacheSavedBatch(snapshots));
+        return savedLoans;
+    }
+
+    // The batch costs one versioned write of all loans, one script for the indexes, histories and generations, and
+    // one invalidation message, however many loans it holds
+    private void cacheSavedBatch(List<LoanApplication> savedLoans) {
+        List<LoanId> ids = savedLoans.stream().map(LoanApplication::getId).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (!circuitBreaker.allowRequest()) {
+            ids.forEach(nearCache::invalidate);
+            return;
+        }
+        savedLoans.forEach(loan -> nearCache.put(loan.getId(), detach(loan)));
+        try {
+            Set<LoanId> written = new HashSet<>();
+            writeLoans(savedLoans).forEach(loan -> written.add(loan.getId()));
+            // Newer versions got there first
+            ids.stream().filter(id -> !written.contains(id)).forEach(nearCache::invalidate);
+            cacheBackend.indexSavedLoans(savedLoansKeys(savedLoans));
+        } catch (Exception e) {
+            redisFailed(Family.LOAN);
+            log.warn("Error updating cache for {} saved loans. Cached searches may be stale for up to {}.",
+                    ids.size(), ttlPolicy.baseTtl(Family.CRITERIA), e);
+        }
+        invalidationBus.publishAll(ids);
+    }
+
+    private LoanCacheBackend.SavedLoans savedLoansKeys(List<LoanApplication> savedLoans) {
+        List<String> historyKeys = new ArrayList<>(savedLoans.size());
+        Map<String, List<String>> identityIndexes = new LinkedHashMap<>();
+        List<String> generationKeys = new ArrayList<>();
+        generationKeys.add(getCriteriaGenerationKey(null));
+        for (LoanApplication loan : savedLoans) {
+            historyKeys.add(getHistoryCacheKey(loan.getId()));
+            String identity = loan.getApplicantIdentity().value();
+            identityIndexes.computeIfAbsent(getIdentityCacheKey(identity), key -> {
+                generationKeys.add(getCriteriaGenerationKey(identity));
+                return new ArrayList<>();
+            }).add(loan.getId().value().toString());
+        }
+        return new LoanCacheBackend.SavedLoans(historyKeys, identityIndexes, generationKeys, ttlPolicy.generationTtl());
+    }
+
+    // One backend call does all cache maintenance, so a save costs a single round trip and has no partial states
+    private void cacheSaved(LoanApplication savedLoan) {
+        LoanId id = savedLoan.getId();
+        if (!circuitBreaker.allowRequest()) {
+            // Other nodes cannot be told either; their entries expire by TTL as with any failed cache write
+            nearCache.invalidate(id);
+            return;
+        }
+        // What this node cached before the save; with the hash layout only the fields that differ are sent
+        Optional<LoanApplication> previous = nearCache.peek(id);
+        nearCache.put(id, detach(savedLoan));
+        LoanCacheBackend.LoanEntry entry = loanEntry(savedLoan);
+        String identity = savedLoan.getApplicantIdentity().value();
+        try {
+            boolean written = cacheBackend.saveLoan(new LoanCacheBackend.SavedLoan(entry, previous.orElse(null),
+                    getIdentityCacheKey(identity), historyTtl(savedLoan),
+                    getCriteriaGenerationKey(identity), getCriteriaGenerationKey(null), ttlPolicy.generationTtl()));
+            if (!written) {
+                // A newer version got there first
+                nearCache.invalidate(id);
+            } else {
+                refreshAhead.recordWrite(getCacheKey(id), entry.ttl());
+            }
+        } catch (Exception e) {
+            redisFailed(Family.LOAN);
+            log.warn("Error updating cache for loan {}. Cached searches may be stale for up to {}.",
+                    id.value(), ttlPolicy.baseTtl(Family.CRITERIA), e);
+        }
+        // Published after the Redis write so other nodes cannot reload the previous value into their near cache
+        invalidationBus.publish(id);
+    }
+
     @Override
     public void deleteById(LoanId id) {
+        // Usually a near cache hit; the identity tells which index and search generation to update
         Optional<LoanApplication> loan = findById(id);
         delegate.deleteById(id);
+        AfterCommit.run(() -> evictDeleted(id, loan.map(l -> l.getApplicantIdentity().value())));
+    }
+
+    private void evictDeleted(LoanId id, Optional<String> identity) {
+        nearCache.invalidate(id);
+        refreshAhead.forget(getCacheKey(id));
+        if (!circuitBreaker.allowRequest()) {
+            return;
+        }
         try {
-            redisTemplate.delete(getCacheKey(id));
-            redisTemplate.delete(getHistoryCacheKey(id));
-            loan.ifPresent(l -> redisTemplate.delete(getIdentityCacheKey(l.getApplicantIdentity().value())));
+            // Leaves a version no load can beat, so a load that read the row before the delete cannot re-cache it
+            cacheBackend.deleteLoan(new LoanCacheBackend.DeletedLoan(id.value().toString(), getCacheKey(id),
+                    getVersionKey(id), getStaleKey(id), getHistoryCacheKey(id), getCriteriaGenerationKey(null),
+                    identity.map(this::getIdentityCacheKey).orElse(null),
+                    identity.map(this::getCriteriaGenerationKey).orElse(null), ttlPolicy.baseTtl(Family.LOAN),
+                    ttlPolicy.generationTtl()));
         } catch (Exception e) {
-            log.warn("Error deleting from cache for key {}.", getCacheKey(id), e);
+            redisFailed(Family.LOAN);
+            log.warn("Error deleting from cache for key {}. Cached searches may be stale for up to {}.",
+                    getCacheKey(id), ttlPolicy.baseTtl(Family.CRITERIA), e);
         }
+        invalidationBus.publish(id);
     }
 
     @Override
@@ -106,60 +617,302 @@ public class CachingLoanRepositoryAdapter implements LoanRepositoryPort {
         return delegate.findAll();
     }
 
+    // Pages and streams are read once by batch callers, so they go straight to the database
+    @Override
+    public List<LoanApplication> findRecentBefore(LoanCursor before, int size) {
+        return delegate.findRecentBefore(before, size);
+    }
+
+    @Override
+    public List<LoanApplication> findByStatusAfter(LoanStatus status, LoanCursor after, int size) {
+        return delegate.findByStatusAfter(status, after, size);
+    }
+
+    @Override
+    public List<LoanApplication> findByCriteriaAfter(String identity, Instant startDate, Instant endDate, LoanCursor after, int size) {
+        return delegate.findByCriteriaAfter(identity, startDate, endDate, after, size);
+    }
+
+    @Override
+    public Stream<LoanApplication> streamByCriteria(String identity, Instant startDate, Instant endDate) {
+        return delegate.streamByCriteria(identity, startDate, endDate);
+    }
+
+    /**
+     * Writes loans read from the database into the cache backend (in one call) and the near cache, bypassing near cache
+     * admission. Versioned writes, so a warm-up never replaces a loan saved since it was read. Returns the number
+     * of loans cached.
+     */
+    public int warm(List<LoanApplication> loans) {
+        if (loans.isEmpty()) {
+            return 0;
+        }
+        List<LoanApplication> written = loans;
+        if (circuitBreaker.allowRequest()) {
+            try {
+                written = writeLoans(loans);
+            } catch (Exception e) {
+                redisFailed(Family.LOAN);
+                log.warn("Error warming {} loans into Redis cache.", loans.size(), e);
+            }
+        }
+        written.forEach(loan -> nearCache.put(loan.getId(), detach(loan)));
+        return written.size();
+    }
+
+    /**
+     * History is cached as a list that saves append to, so the Envers query only runs on a cold miss.
+     */
     @Override
-    @SuppressWarnings("unchecked")
     public Optional<List<LoanApplication>> findHistory(LoanId id) {
+        if (!circuitBreaker.allowRequest()) {
+            return delegate.findHistory(id);
+        }
         String key = getHistoryCacheKey(id);
         try {
-            Object cached = redisTemplate.opsForValue().get(key);
-            if (cached instanceof List) {
-                log.info("Cache hit for history: {}", id.value());
-                return Optional.of((List<LoanApplication>) cached);
+            Optional<List<LoanApplication>> cached = timed(Family.HISTORY, Tier.L2, () -> readHistory(key));
+            if (cached != null) {
+                log.debug("Cache hit for history: {}", id.value());
+                metrics.recordHit(Family.HISTORY, Tier.L2);
+                return cached;
             }
-            log.info("Cache miss for history: {}", id.value());
+            log.debug("Cache miss for history: {}", id.value());
+            metrics.recordMiss(Family.HISTORY, Tier.L2);
         } catch (Exception e) {
+            redisFailed(Family.HISTORY);
             log.warn("Error reading history from Redis cache for loan {}. Proceeding to database.", id.value(), e);
         }
 
-        Optional<List<LoanApplication>> results = delegate.findHistory(id);
-        results.ifPresent(list -> {
-            try {
-                redisTemplate.opsForValue().set(key, list, CACHE_TTL, CACHE_TTLUNIT);
-            } catch (Exception e) {
-                log.warn("Error writing history to Redis cache for loan {}.", id.value(), e);
-            }
-        });
+        return loadCoordinator.load(key, () -> readHistory(key), () -> loadHistory(id, key), CachingLoanRepositoryAdapter::detachAll);
+    }
+
+    // Returns null when the history is not cached; an empty history is never cached
+    private Optional<List<LoanApplication>> readHistory(String key) {
+        List<Object> revisions = cacheBackend.getHistory(key);
+        return revisions.isEmpty() ? null : Optional.of(castLoans(revisions));
+    }
+
+    private Optional<List<LoanApplication>> loadHistory(LoanId id, String key) {
+        Optional<List<LoanApplication>> results = timed(Family.HISTORY, Tier.DB, () -> delegate.findHistory(id));
+        if (results.isEmpty() || results.get().isEmpty()) {
+            return results;
+        }
+        List<LoanApplication> revisions = results.get();
+        try {
+            cacheBackend.setHistory(key, getVersionKey(id), revisions, historyTtl(revisions.get(revisions.size() - 1)));
+        } catch (Exception e) {
+            redisFailed(Family.HISTORY);
+            log.warn("Error writing history to Redis cache for loan {}.", id.value(), e);
+        }
         return results;
     }
 
-    @Override
     @SuppressWarnings("unchecked")
+    private Optional<List<LoanApplication>> probeList(String key) {
+        return cacheBackend.get(key) instanceof List<?> list ? Optional.of((List<LoanApplication>) list) : null;
+    }
+
+    /**
+     * Reads the identity's set of loan ids and assembles the loans from their own keys (near cache, then one multi-get),
+     * so each loan is stored once and a status change never invalidates the index.
+     */
+    @Override
     public Optional<List<LoanApplication>> findByApplicantIdentity(ApplicantIdentity identity) {
+        identityHotKeys.record(identity.value());
+        if (!circuitBreaker.allowRequest()) {
+            return delegate.findByApplicantIdentity(identity);
+        }
         String key = getIdentityCacheKey(identity.value());
+        IndexedLoans indexed = null;
         try {
-            Object cached = redisTemplate.opsForValue().get(key);
-            if (cached instanceof List) {
-                log.info("Cache hit for identity: {}", identity.value());
-                return Optional.of((List<LoanApplication>) cached);
+            indexed = timed(Family.IDENTITY, Tier.L2, () -> readIdentityIndex(key));
+            if (indexed == null) {
+                log.debug("Cache miss for identity: {}", identity.value());
+                metrics.recordMiss(Family.IDENTITY, Tier.L2);
             }
-            log.info("Cache miss for identity: {}", identity.value());
         } catch (Exception e) {
+            redisFailed(Family.IDENTITY);
             log.warn("Error reading from Redis cache for identity {}. Proceeding to database.", identity.value(), e);
         }
+        if (indexed != null) {
+            log.debug("Cache hit for identity: {}", identity.value());
+            metrics.recordHit(Family.IDENTITY, Tier.L2);
+            // Outside the Redis try block: a database failure here is not a Redis failure, and is not retried
+            return Optional.of(assembleIdentityIndex(key, indexed));
+        }
+
+        return loadCoordinator.load(key, () -> probeIdentityIndex(key), () -> loadIdentity(identity, key), CachingLoanRepositoryAdapter::detachAll);
+    }
+
+    /**
+     * Loans of a cached identity index found in the near cache or Redis, and the indexed ids found in neither.
+     */
+    private record IndexedLoans(List<LoanApplication> cached, List<LoanId> misses) {
+    }
+
+    // Only reads the cache: the set, then one MGET of the loans the near cache does not hold. Returns null when the
+    // index is not cached
+    private IndexedLoans readIdentityIndex(String key) {
+        Set<String> members = cacheBackend.getMembers(key);
+        if (members.isEmpty()) return null;
+        if (members.contains(CacheTombstone.VALUE)) return new IndexedLoans(List.of(), List.of());
+
+        List<LoanApplication> cached = new ArrayList<>(members.size());
+        List<LoanId> remote = new ArrayList<>();
+        for (String member : members) {
+            LoanId id = new LoanId(UUID.fromString(member));
+            nearCache.get(id).ifPresentOrElse(loan -> {
+                metrics.recordHit(Family.LOAN, Tier.L1);
+                cached.add(detach(loan));
+            }, () -> {
+                metrics.recordMiss(Family.LOAN, Tier.L1);
+                remote.add(id);
+            });
+        }
+        if (remote.isEmpty()) {
+            return new IndexedLoans(cached, List.of());
+        }
+
+        List<Object> values = cacheBackend.getLoans(remote.stream().map(this::getCacheKey).toList());
+        List<LoanId> misses = new ArrayList<>();
+        for (int i = 0; i < remote.size(); i++) {
+            LoanId id = remote.get(i);
+            Object value = values == null ? null : values.get(i);
+            if (value instanceof LoanApplication loan) {
+                redisStats.recordHit();
+                metrics.recordHit(Family.LOAN, Tier.L2);
+                cached.add(loan);
+                nearCache.offer(id, detach(loan));
+            } else {
+                // A not-found marker is a miss too: only the database may confirm that an indexed loan is gone
+                redisStats.recordMiss();
+                metrics.recordMiss(Family.LOAN, Tier.L2);
+                misses.add(id);
+            }
+        }
+        return new IndexedLoans(cached, misses);
+    }
+
+    // Loads the indexed loans the cache did not have in one query, and drops from the index only the ids that
+    // query confirms are gone (loans deleted without going through this adapter)
+    private List<LoanApplication> assembleIdentityIndex(String key, IndexedLoans indexed) {
+        List<LoanApplication> loans = new ArrayList<>(indexed.cached());
+        List<LoanId> misses = indexed.misses();
+        if (!misses.isEmpty()) {
+            List<LoanApplication> loaded = timed(Family.LOAN, Tier.DB, () -> delegate.findAllById(misses));
+            loans.addAll(loaded);
+            backfillBatch(misses, loaded);
+            Set<LoanId> loadedIds = new HashSet<>();
+            loaded.forEach(loan -> loadedIds.add(loan.getId()));
+            List<String> gone = misses.stream().filter(id -> !loadedIds.contains(id)).map(id -> id.value().toString()).toList();
+            if (!gone.isEmpty()) {
+                try {
+                    cacheBackend.removeMembers(key, gone);
+                } catch (Exception e) {
+                    redisFailed(Family.IDENTITY);
+                    log.warn("Error removing {} deleted loans from identity index {}.", gone.size(), key, e);
+                }
+            }
+        }
+        loans.sort(IDENTITY_ORDER);
+        return loans;
+    }
+
+    private Optional<List<LoanApplication>> probeIdentityIndex(String key) {
+        IndexedLoans indexed = readIdentityIndex(key);
+        return indexed == null ? null : Optional.of(assembleIdentityIndex(key, indexed));
+    }
+
+    private Optional<List<LoanApplication>> loadIdentity(ApplicantIdentity identity, String key) {
+        Optional<List<LoanApplication>> results = timed(Family.IDENTITY, Tier.DB, () -> delegate.findByApplicantIdentity(identity));
+        if (results.isEmpty() || results.get().isEmpty()) {
+            cacheIdentityNotFound(key);
+            return results;
+        }
+        List<LoanApplication> loans = results.get();
+        try {
+            writeLoans(loans).forEach(loan -> nearCache.offer(loan.getId(), detach(loan)));
+            cacheBackend.addMembers(key, loans.stream().map(loan -> loan.getId().value().toString()).toList(),
+                    ttlPolicy.ttl(Family.IDENTITY));
+        } catch (Exception e) {
+            redisFailed(Family.IDENTITY);
+            log.warn("Error writing to Redis cache for identity {}.", identity.value(), e);
+        }
+        return results;
+    }
+
+    // Like SET NX: never turn an index that a concurrent save just populated into a not-found marker
+    private void cacheIdentityNotFound(String key) {
+        try {
+            cacheBackend.setMembersNotFound(key, negativeTtl);
+        } catch (Exception e) {
+            redisFailed(Family.IDENTITY);
+            log.warn("Error writing not-found marker to Redis cache for key {}.", key, e);
+        }
+    }
+
+    /**
+     * Caches search results under a key made of the current generation of the search scope (the identity, or all
+     * loans when no identity is given) and a hash of the normalized criteria. Writes bump the generations instead
+     * of deleting results, so stale entries simply become unreachable and expire.
+     */
+    @Override
+    public Optional<List<LoanApplication>> findByCriteria(String identity, Instant startDate, Instant endDate) {
+        if (identity != null) {
+            identityHotKeys.record(identity);
+        }
+        if (!circuitBreaker.allowRequest()) {
+            return delegate.findByCriteria(identity, startDate, endDate);
+        }
+        String generationKey = getCriteriaGenerationKey(identity);
+        long generation;
+        String key;
+        try {
+            long start = System.nanoTime();
+            generation = readGeneration(generationKey);
+            key = getCriteriaCacheKey(identity, generation, startDate, endDate);
+            Object cached = cacheBackend.get(key);
+            metrics.recordLatency(Family.CRITERIA, Tier.L2, System.nanoTime() - start);
+            if (cached instanceof List<?> list) {
+                log.debug("Cache hit for criteria: {}", key);
+                metrics.recordHit(Family.CRITERIA, Tier.L2);
+                return Optional.of(castLoans(list));
+            }
+            log.debug("Cache miss for criteria: {}", key);
+            metrics.recordMiss(Family.CRITERIA, Tier.L2);
+        } catch (Exception e) {
+            redisFailed(Family.CRITERIA);
+            log.warn("Error reading criteria results from Redis cache. Proceeding to database.", e);
+            return delegate.findByCriteria(identity, startDate, endDate);
+        }
+
+        return loadCoordinator.load(key, () -> probeList(key),
+                () -> loadCriteria(identity, startDate, endDate, generationKey, generation, key),
+                CachingLoanRepositoryAdapter::detachAll);
+    }
 
-        Optional<List<LoanApplication>> results = delegate.findByApplicantIdentity(identity);
+    private Optional<List<LoanApplication>> loadCriteria(String identity, Instant startDate, Instant endDate,
+                                                         String generationKey, long generation, String key) {
+        Optional<List<LoanApplication>> results = timed(Family.CRITERIA, Tier.DB, () -> delegate.findByCriteria(identity, startDate, endDate));
         results.ifPresent(list -> {
             try {
-                redisTemplate.opsForValue().set(key, list, CACHE_TTL, CACHE_TTLUNIT);
+                cacheBackend.setCriteriaResults(new LoanCacheBackend.CriteriaResults(generationKey, generation, key,
+                        list, ttlPolicy.ttl(Family.CRITERIA), ttlPolicy.generationTtl()));
             } catch (Exception e) {
-                log.warn("Error writing to Redis cache for identity {}.", identity.value(), e);
+                redisFailed(Family.CRITERIA);
+                log.warn("Error writing criteria results to Redis cache for key {}.", key, e);
             }
         });
         return results;
     }
 
-    @Override
-    public Optional<List<LoanApplication>> findByCriteria(String identity, Instant startDate, Instant endDate) {
-        return delegate.findByCriteria(identity, startDate, endDate);
+    private long readGeneration(String generationKey) {
+        return cacheBackend.get(generationKey) instanceof Number generation ? generation.longValue() : 0L;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private static List<LoanApplication> castLoans(List<?> list) {
+        return (List<LoanApplication>) list;
     }
 }
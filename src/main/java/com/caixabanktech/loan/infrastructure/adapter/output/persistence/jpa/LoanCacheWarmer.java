@@ -0,0 +1,123 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.jpa;
+
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.domain.port.out.LoanCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the loans most likely to be read after a deploy or a Redis flush: the most recently created ones and
+ * every pending one, page by page.
+ * <p>
+ * Runs as an application runner, so Spring Boot only reports the application as ready to accept traffic once the
+ * warm-up has completed or timed out. On timeout the warm-up stops after the page in progress; a failure only
+ * leaves the cache colder, it never fails startup.
+ */
+public class LoanCacheWarmer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanCacheWarmer.class);
+
+    private final CachingLoanRepositoryAdapter cache;
+    private final int recentLoans;
+    private final int pageSize;
+    private final Duration timeout;
+
+    public LoanCacheWarmer(CachingLoanRepositoryAdapter cache, int recentLoans, int pageSize, Duration timeout) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Warm-up page size must be positive");
+        }
+        this.cache = cache;
+        this.recentLoans = recentLoans;
+        this.pageSize = pageSize;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Returns the number of loans cached before the warm-up completed or timed out.
+     */
+    public int warmUp() {
+        long start = System.nanoTime();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicInteger cached = new AtomicInteger();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        // Own thread, so a query stuck in the database cannot hold readiness past the timeout
+        Thread worker = new Thread(() -> {
+            try {
+                warmUp(cancelled, cached);
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+        }, "loan-cache-warm-up");
+        worker.setDaemon(true);
+        worker.start();
+        try {
+            done.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            log.info("Cache warm-up cached {} loans in {} ms.", cached.get(), elapsedMillis(start));
+        } catch (TimeoutException e) {
+            cancelled.set(true);
+            log.warn("Cache warm-up timed out after {} with {} loans cached; accepting traffic with a partly cold cache.",
+                    timeout, cached.get());
+        } catch (ExecutionException e) {
+            log.warn("Cache warm-up failed after caching {} loans; accepting traffic with a partly cold cache.",
+                    cached.get(), e.getCause());
+        } catch (InterruptedException e) {
+            cancelled.set(true);
+            Thread.currentThread().interrupt();
+        }
+        return cached.get();
+    }
+
+    private void warmUp(AtomicBoolean cancelled, AtomicInteger cached) {
+        // Pending loans are often among the recent ones; each loan is written once
+        Set<LoanId> warmed = new HashSet<>();
+        // Both reads page by keyset, so each page costs the same however deep the warm-up has got
+        LoanCursor before = null;
+        for (int remaining = recentLoans; remaining > 0 && !cancelled.get(); ) {
+            List<LoanApplication> loans = cache.findRecentBefore(before, Math.min(pageSize, remaining));
+            cached.addAndGet(warm(loans, warmed));
+            remaining -= loans.size();
+            if (loans.size() < pageSize) {
+                break;
+            }
+            before = LoanCursor.of(loans.get(loans.size() - 1));
+        }
+        LoanCursor after = null;
+        while (!cancelled.get()) {
+            List<LoanApplication> loans = cache.findByStatusAfter(LoanStatus.PENDING, after, pageSize);
+            cached.addAndGet(warm(loans, warmed));
+            if (loans.size() < pageSize) {
+                break;
+            }
+            after = LoanCursor.of(loans.get(loans.size() - 1));
+        }
+    }
+
+    private int warm(List<LoanApplication> loans, Set<LoanId> warmed) {
+        return cache.warm(loans.stream().filter(loan -> warmed.add(loan.getId())).toList());
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
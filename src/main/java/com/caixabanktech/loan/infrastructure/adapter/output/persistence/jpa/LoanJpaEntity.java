@@ -4,11 +4,17 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.envers.Audited;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.domain.Persistable;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.math.BigDecimal;
@@ -16,11 +22,14 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "LOAN_APPLICATIONS")
+@Table(name = "LOAN_APPLICATIONS", indexes = {
+        @Index(name = "IDX_LOAN_CREATED_AT_ID", columnList = "CREATED_AT, ID"),
+        @Index(name = "IDX_LOAN_STATUS_CREATED_AT_ID", columnList = "STATUS, CREATED_AT, ID")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Audited
 @Data
-public class LoanJpaEntity {
+public class LoanJpaEntity implements Persistable<UUID> {
     @Id
     @Column(name = "ID", columnDefinition = "RAW(16)")
     private UUID id;
@@ -38,4 +47,27 @@ public class LoanJpaEntity {
     @LastModifiedDate
     @Column(name = "MODIFIED_AT")
     private Instant modifiedAt;
+
+    // Checked and incremented by every update, so a save based on an outdated copy fails instead of overwriting.
+    // Audited (see org.hibernate.envers.do_not_audit_optimistic_locking_field) so each revision carries the version
+    // the cache orders it by; revisions written before it was audited read as 0
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "VERSION", nullable = false)
+    private long version;
+
+    // Ids are assigned by the application, so Spring Data cannot tell a new loan by its id. Creates set this flag and
+    // save then persists the loan (one INSERT) instead of merging it (a SELECT by id first)
+    private transient boolean newEntity;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
 }
@@ -2,11 +2,23 @@ package com.caixabanktech.loan.infrastructure.adapter.output.persistence.jpa;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 public interface LoanJpaRepository extends JpaRepository<LoanJpaEntity, UUID>, JpaSpecificationExecutor<LoanJpaEntity> {
 
     List<LoanJpaEntity> findByApplicantIdentity(String applicantIdentity);
+
+    // Bulk update: skips the persistence context and Envers, so stale managed copies are cleared afterwards.
+    // Bulk updates do not check @Version either, hence the explicit version condition and increment
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update LoanJpaEntity l set l.status = :status, l.modifiedAt = :modifiedAt, l.version = l.version + 1"
+            + " where l.id = :id and l.version = :version")
+    int updateStatus(@Param("id") UUID id, @Param("version") long version, @Param("status") String status,
+                     @Param("modifiedAt") Instant modifiedAt);
 }
@@ -3,23 +3,58 @@ package com.caixabanktech.loan.infrastructure.adapter.output.persistence.jpa;
 import com.caixabanktech.loan.domain.model.ApplicantIdentity;
 import com.caixabanktech.loan.domain.model.LoanApplication;
 import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.domain.port.out.LoanCursor;
 import com.caixabanktech.loan.domain.port.out.LoanRepositoryPort;
 import com.caixabanktech.loan.infrastructure.adapter.input.rest.mapper.LoanPersistenceMapper;
 import com.caixabanktech.loan.infrastructure.adapter.output.persistence.jpa.spec.LoanSpecifications;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
 import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.RevisionType;
 import org.hibernate.envers.query.AuditEntity;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component("loanPersistenceAdapter")
 public class LoanPersistenceAdapter implements LoanRepositoryPort {
 
+    // The id breaks ties between loans created in the same instant, so pages neither repeat nor skip loans
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Order.asc("createdAt"), Sort.Order.asc("id"));
+
+    // Oracle rejects IN lists with more than 1000 expressions (ORA-01795)
+    static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private static final String AUDIT_UPDATE = "INSERT INTO LOAN_APPLICATIONS_AUD"
+            + " (ID, REV, REVTYPE, APPLICANT_NAME, APPLICANT_IDENTITY, AMOUNT, CURRENCY, STATUS, CREATED_AT, MODIFIED_AT,"
+            + " VERSION)"
+            + " SELECT ID, ?, ?, APPLICANT_NAME, APPLICANT_IDENTITY, AMOUNT, CURRENCY, STATUS, CREATED_AT, MODIFIED_AT,"
+            + " VERSION"
+            + " FROM LOAN_APPLICATIONS WHERE ID = ?";
+
+    // Rows per round trip of a streamed search; the Oracle driver fetches only 10 by default
+    static final int STREAM_FETCH_SIZE = 500;
+
     private final LoanJpaRepository jpaRepository;
     private final EntityManager entityManager;
     private final LoanPersistenceMapper mapper;
@@ -33,16 +68,95 @@ public class LoanPersistenceAdapter implements LoanRepositoryPort {
     @Override
     public LoanApplication save(LoanApplication loan) {
         LoanJpaEntity entity = mapper.toEntity(loan);
-        // jpaRepository.save(entity) will enable AuditingEntityListener to set createdAt/modifiedAt
-        LoanJpaEntity savedEntity = jpaRepository.save(entity);
+        // Flushing runs AuditingEntityListener and the version check now, so the returned loan is the one committed
+        LoanJpaEntity savedEntity = jpaRepository.saveAndFlush(entity);
         return mapper.toDomain(savedEntity);
     }
 
+    @Override
+    public LoanApplication create(LoanApplication loan) {
+        LoanJpaEntity entity = mapper.toEntity(loan);
+        entity.setNewEntity(true);
+        return mapper.toDomain(jpaRepository.saveAndFlush(entity));
+    }
+
+    @Override
+    @Transactional
+    public Optional<LoanApplication> updateStatus(LoanApplication loan) {
+        int updated = jpaRepository.updateStatus(loan.getId().value(), loan.getVersion(), loan.getStatus().name(),
+                loan.getModifiedAt());
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        auditUpdate(loan.getId());
+        return Optional.of(loan.toBuilder().version(loan.getVersion() + 1).build());
+    }
+
+    // Envers does not see bulk updates, so the audit row it would have written is copied from the updated row,
+    // under the revision of the current transaction
+    private void auditUpdate(LoanId id) {
+        AuditRevisionEntity revision = AuditReaderFactory.get(entityManager)
+                .getCurrentRevision(AuditRevisionEntity.class, true);
+        entityManager.flush();
+        entityManager.createNativeQuery(AUDIT_UPDATE)
+                .setParameter(1, revision.getId())
+                .setParameter(2, RevisionType.MOD.getRepresentation())
+                .setParameter(3, id.value())
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public List<LoanApplication> saveAll(List<LoanApplication> loans) {
+        List<LoanApplication> saved = new ArrayList<>(loans.size());
+        for (int from = 0; from < loans.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<LoanJpaEntity> chunk = loans.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, loans.size())).stream()
+                    .map(mapper::toEntity)
+                    .toList();
+            // One query loads the loans that already exist; merge then copies onto them, and new loans are persisted
+            // instead of merged, so no loan costs a SELECT of its own
+            Set<UUID> existing = new HashSet<>();
+            jpaRepository.findAllById(chunk.stream().map(LoanJpaEntity::getId).toList())
+                    .forEach(entity -> existing.add(entity.getId()));
+            List<LoanJpaEntity> managed = new ArrayList<>(chunk.size());
+            for (LoanJpaEntity entity : chunk) {
+                if (existing.contains(entity.getId())) {
+                    managed.add(entityManager.merge(entity));
+                } else {
+                    entityManager.persist(entity);
+                    managed.add(entity);
+                }
+            }
+            // The flush sends the chunk in JDBC batches (hibernate.jdbc.batch_size); clearing keeps memory flat
+            entityManager.flush();
+            managed.forEach(entity -> saved.add(mapper.toDomain(entity)));
+            entityManager.clear();
+        }
+        return saved;
+    }
+
     @Override
     public Optional<LoanApplication> findById(LoanId id) {
         return jpaRepository.findById(id.value()).map(mapper::toDomain);
     }
 
+    @Override
+    public List<LoanApplication> findAllById(Collection<LoanId> ids) {
+        List<UUID> uuids = ids.stream().map(LoanId::value).distinct().toList();
+        Map<UUID, LoanApplication> found = new HashMap<>();
+        for (int from = 0; from < uuids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<UUID> chunk = uuids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, uuids.size()));
+            jpaRepository.findAllById(chunk).forEach(entity -> found.put(entity.getId(), mapper.toDomain(entity)));
+        }
+
+        List<LoanApplication> result = new ArrayList<>(found.size());
+        for (UUID uuid : uuids) {
+            LoanApplication loan = found.get(uuid);
+            if (loan != null) result.add(loan);
+        }
+        return result;
+    }
+
     @Override
     public List<LoanApplication> findAll() {
         return jpaRepository.findAll().stream()
@@ -50,6 +164,24 @@ public class LoanPersistenceAdapter implements LoanRepositoryPort {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<LoanApplication> findRecentBefore(LoanCursor before, int size) {
+        Specification<LoanJpaEntity> spec = Specification.where(null);
+        if (before != null) {
+            spec = spec.and(LoanSpecifications.before(before.createdAt(), before.id().value()));
+        }
+        return page(spec, NEWEST_FIRST, size);
+    }
+
+    @Override
+    public List<LoanApplication> findByStatusAfter(LoanStatus status, LoanCursor after, int size) {
+        Specification<LoanJpaEntity> spec = Specification.where(LoanSpecifications.hasStatus(status.name()));
+        if (after != null) {
+            spec = spec.and(LoanSpecifications.after(after.createdAt(), after.id().value()));
+        }
+        return page(spec, OLDEST_FIRST, size);
+    }
+
     @Override
     public Optional<List<LoanApplication>> findHistory(LoanId id) {
         List<LoanJpaEntity> revisions = AuditReaderFactory.get(entityManager).createQuery()
@@ -73,15 +205,55 @@ public class LoanPersistenceAdapter implements LoanRepositoryPort {
 
     @Override
     public Optional<List<LoanApplication>> findByCriteria(String identity, Instant startDate, Instant endDate) {
-        Specification<LoanJpaEntity> spec = Specification
-                .where(LoanSpecifications.hasIdentity(identity))
-                .and(LoanSpecifications.createdBetween(startDate, endDate));
-
-        return jpaRepository.findAll(spec).stream()
+        return jpaRepository.findAll(criteria(identity, startDate, endDate)).stream()
                 .map(mapper::toDomain)
                 .collect(Collectors.collectingAndThen(Collectors.toList(), Optional::of));
     }
 
+    @Override
+    public List<LoanApplication> findByCriteriaAfter(String identity, Instant startDate, Instant endDate, LoanCursor after, int size) {
+        Specification<LoanJpaEntity> spec = criteria(identity, startDate, endDate);
+        if (after != null) {
+            spec = spec.and(LoanSpecifications.after(after.createdAt(), after.id().value()));
+        }
+        return page(spec, OLDEST_FIRST, size);
+    }
+
+    private List<LoanApplication> page(Specification<LoanJpaEntity> spec, Sort sort, int size) {
+        return jpaRepository.findBy(spec, query -> query.sortBy(sort).limit(size).all()).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Stream<LoanApplication> streamByCriteria(String identity, Instant startDate, Instant endDate) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LoanJpaEntity> query = cb.createQuery(LoanJpaEntity.class);
+        Root<LoanJpaEntity> root = query.from(LoanJpaEntity.class);
+        Predicate predicate = criteria(identity, startDate, endDate).toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("createdAt")), cb.asc(root.get("id")));
+
+        // Hibernate streams over a forward-only cursor; detaching each row keeps the persistence context empty
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(entity -> {
+                    LoanApplication loan = mapper.toDomain(entity);
+                    entityManager.detach(entity);
+                    return loan;
+                });
+    }
+
+    private static Specification<LoanJpaEntity> criteria(String identity, Instant startDate, Instant endDate) {
+        return Specification
+                .where(LoanSpecifications.hasIdentity(identity))
+                .and(LoanSpecifications.createdBetween(startDate, endDate));
+    }
+
     @Override
     public void deleteById(LoanId id) {
         jpaRepository.deleteById(id.value());
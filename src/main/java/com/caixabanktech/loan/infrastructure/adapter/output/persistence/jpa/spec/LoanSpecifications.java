@@ -4,6 +4,7 @@ import com.caixabanktech.loan.infrastructure.adapter.output.persistence.jpa.Loan
 import org.springframework.data.jpa.domain.Specification;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 public class LoanSpecifications {
 
@@ -11,6 +12,10 @@ public class LoanSpecifications {
         return (root, query, cb) -> identity == null? null : cb.equal(root.get("applicantIdentity"), identity);
     }
 
+    public static Specification<LoanJpaEntity> hasStatus(String status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
     public static Specification<LoanJpaEntity> createdBetween(Instant start, Instant end) {
         return (root, query, cb) -> {
             Instant startTruncated = (start != null) ? start.truncatedTo(ChronoUnit.SECONDS) : null;
@@ -34,4 +39,36 @@ public class LoanSpecifications {
             return cb.lessThan(root.get("createdAt"), endNextSecond);
         };
     }
+
+    // Keyset condition (createdAt, id) > (cursor): served by IDX_LOAN_CREATED_AT_ID instead of an ever growing OFFSET
+    public static Specification<LoanJpaEntity> after(Instant createdAt, UUID id) {
+        return (root, query, cb) -> {
+            if (createdAt == null) {
+                return null;
+            }
+            return cb.or(
+                    cb.greaterThan(root.get("createdAt"), createdAt),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), createdAt),
+                            cb.greaterThan(root.get("id"), id)
+                    )
+            );
+        };
+    }
+
+    // Keyset condition (createdAt, id) < (cursor), for reading newest first
+    public static Specification<LoanJpaEntity> before(Instant createdAt, UUID id) {
+        return (root, query, cb) -> {
+            if (createdAt == null) {
+                return null;
+            }
+            return cb.or(
+                    cb.lessThan(root.get("createdAt"), createdAt),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), createdAt),
+                            cb.lessThan(root.get("id"), id)
+                    )
+            );
+        };
+    }
 }
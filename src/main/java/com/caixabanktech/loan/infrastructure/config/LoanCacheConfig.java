@@ -0,0 +1,254 @@
+package com.caixabanktech.loan.infrastructure.config;
+
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CacheLoadCoordinator;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CompressingRedisSerializer;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.HotKeys;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.InMemoryLoanCacheBackend;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheBackend;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheInvalidationBus;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics.Family;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheTtlPolicy;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.NearCache;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.RedisLoanCacheBackend;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.RedisCircuitBreaker;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.RefreshAheadScheduler;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.StaleWhileRevalidate;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.jpa.CachingLoanRepositoryAdapter;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.jpa.LoanCacheWarmer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableConfigurationProperties(LoanCacheProperties.class)
+public class LoanCacheConfig {
+
+    /**
+     * Profile that replaces Redis with an in-process store, for deployments running a single node.
+     */
+    public static final String SINGLE_NODE_PROFILE = "single-node";
+
+    private static final Logger log = LoggerFactory.getLogger(LoanCacheConfig.class);
+
+    @Bean
+    @Profile("!" + SINGLE_NODE_PROFILE)
+    public LoanCacheBackend redisLoanCacheBackend(RedisTemplate<String, Object> redisTemplate, LoanCacheProperties properties) {
+        return new RedisLoanCacheBackend(redisTemplate, properties.getLayout() == LoanCacheProperties.Layout.HASH);
+    }
+
+    @Bean
+    @Profile(SINGLE_NODE_PROFILE)
+    public LoanCacheBackend inMemoryLoanCacheBackend(LoanCacheProperties properties) {
+        return new InMemoryLoanCacheBackend(properties.getInMemory().getMaximumSize());
+    }
+
+    @Bean
+    public HotKeys<LoanId> loanHotKeys(LoanCacheProperties properties) {
+        LoanCacheProperties.HotKeyTracking hotKeys = properties.getHotKeys();
+        return new HotKeys<>(hotKeys.getSketchCapacity(), hotKeys.getTrackedKeys());
+    }
+
+    @Bean
+    public HotKeys<String> identityHotKeys(LoanCacheProperties properties) {
+        LoanCacheProperties.HotKeyTracking hotKeys = properties.getHotKeys();
+        return new HotKeys<>(hotKeys.getSketchCapacity(), hotKeys.getTrackedKeys());
+    }
+
+    @Bean
+    public NearCache<LoanId, LoanApplication> loanNearCache(LoanCacheProperties properties, HotKeys<LoanId> loanHotKeys) {
+        LoanCacheProperties.Near near = properties.getNear();
+        LoanCacheProperties.HotKeyTracking hotKeys = properties.getHotKeys();
+        int maximumSize = near.isEnabled() ? near.getMaximumSize() : 0;
+        if (!hotKeys.isAdmission()) {
+            return new NearCache<>(maximumSize, near.getTtl());
+        }
+        return new NearCache<>(maximumSize, near.getTtl(), loanHotKeys::frequency, hotKeys.getAdmissionThreshold());
+    }
+
+    @Bean
+    public CacheLoadCoordinator cacheLoadCoordinator(RedisTemplate<String, Object> redisTemplate, LoanCacheProperties properties) {
+        LoanCacheProperties.Coalescing coalescing = properties.getCoalescing();
+        return new CacheLoadCoordinator(redisTemplate, coalescing.isDistributedLock(), coalescing.getLockTtl(),
+                coalescing.getWaitTimeout(), coalescing.getPollInterval());
+    }
+
+    @Bean
+    public RefreshAheadScheduler refreshAheadScheduler(LoanCacheProperties properties) {
+        LoanCacheProperties.RefreshAhead refreshAhead = properties.getRefreshAhead();
+        if (!refreshAhead.isEnabled()) {
+            return RefreshAheadScheduler.disabled();
+        }
+        // Not exposed as a bean: an Executor bean would replace Spring Boot's default task executor
+        return new RefreshAheadScheduler(refreshExecutor(refreshAhead), refreshAhead.getWindow(),
+                refreshAhead.getHotAccessWindow(), refreshAhead.getMaxTrackedKeys());
+    }
+
+    // Bounded queue with AbortPolicy: RefreshAheadScheduler drops refreshes when the pool is saturated
+    private static ExecutorService refreshExecutor(LoanCacheProperties.RefreshAhead refreshAhead) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(refreshAhead.getThreads(), refreshAhead.getThreads(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(refreshAhead.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "loan-cache-refresh-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean
+    public RedisCircuitBreaker redisCircuitBreaker(RedisTemplate<String, Object> redisTemplate, LoanCacheProperties properties) {
+        LoanCacheProperties.CircuitBreaker circuitBreaker = properties.getCircuitBreaker();
+        if (!circuitBreaker.isEnabled()) {
+            return RedisCircuitBreaker.disabled();
+        }
+        return new RedisCircuitBreaker(() -> "PONG".equalsIgnoreCase(redisTemplate.execute(RedisConnection::ping)),
+                probeExecutor(), circuitBreaker.getFailureThreshold(), circuitBreaker.getFailureWindow(),
+                circuitBreaker.getOpenDuration());
+    }
+
+    // At most one probe runs at a time, so a single thread is enough
+    private static ExecutorService probeExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loan-cache-circuit-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    public LoanCacheTtlPolicy loanCacheTtlPolicy(LoanCacheProperties properties) {
+        LoanCacheProperties.Ttl ttl = properties.getTtl();
+        return new LoanCacheTtlPolicy(
+                Map.of(Family.LOAN, ttl.getLoan().getTtl(), Family.HISTORY, ttl.getHistory().getTtl(),
+                        Family.IDENTITY, ttl.getIdentity().getTtl(), Family.CRITERIA, ttl.getCriteria().getTtl()),
+                Map.of(Family.LOAN, ttl.getLoan().getByStatus(), Family.HISTORY, ttl.getHistory().getByStatus()),
+                ttl.getJitter());
+    }
+
+    @Bean
+    public StaleWhileRevalidate staleWhileRevalidate(LoanCacheProperties properties) {
+        LoanCacheProperties.Stale stale = properties.getStale();
+        if (!stale.isEnabled()) {
+            return StaleWhileRevalidate.disabled();
+        }
+        return new StaleWhileRevalidate(loadExecutor(stale), stale.getLatencyBudget());
+    }
+
+    // Bounded queue with AbortPolicy: StaleWhileRevalidate serves the stale copy when the pool is saturated
+    private static ExecutorService loadExecutor(LoanCacheProperties.Stale stale) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(stale.getThreads(), stale.getThreads(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(stale.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "loan-cache-load-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean
+    public LoanCacheMetrics loanCacheMetrics(NearCache<LoanId, LoanApplication> loanNearCache,
+                                             RedisCircuitBreaker redisCircuitBreaker,
+                                             RefreshAheadScheduler refreshAheadScheduler,
+                                             CacheLoadCoordinator cacheLoadCoordinator,
+                                             CompressingRedisSerializer loanCacheValueSerializer,
+                                             StaleWhileRevalidate staleWhileRevalidate) {
+        LoanCacheMetrics metrics = new LoanCacheMetrics();
+        metrics.gauge("loan_cache_circuit_state", "Redis circuit state: 0 closed, 1 open, 2 half-open.",
+                () -> redisCircuitBreaker.state().ordinal());
+        metrics.counter("loan_cache_circuit_trips_total", "Times the Redis circuit has opened.", redisCircuitBreaker::tripCount);
+        metrics.counter("loan_cache_circuit_short_circuited_total", "Requests served without calling Redis because the circuit was open.",
+                redisCircuitBreaker::shortCircuitedCount);
+        metrics.gauge("loan_cache_near_size", "Entries in the in-process near cache.", loanNearCache::size);
+        metrics.counter("loan_cache_near_evictions_total", "Entries evicted from the near cache.", () -> loanNearCache.stats().evictionCount());
+        metrics.counter("loan_cache_near_rejections_total", "Read-through loans not admitted to the near cache for being infrequent.",
+                loanNearCache::rejectedCount);
+        metrics.gauge("loan_cache_refresh_tracked_keys", "Keys tracked for refresh-ahead.", refreshAheadScheduler::trackedKeys);
+        metrics.gauge("loan_cache_loads_in_flight", "Coalesced database loads currently running.", cacheLoadCoordinator::inFlightCount);
+        metrics.counter("loan_cache_compressed_values_total", "Cache values written compressed.", loanCacheValueSerializer::compressedCount);
+        metrics.gauge("loan_cache_compression_ratio", "Uncompressed over compressed size of the values written compressed.",
+                loanCacheValueSerializer::compressionRatio);
+        metrics.counter("loan_cache_stale_served_total", "Loans served from a stale copy because the database failed or was too slow.",
+                staleWhileRevalidate::staleServedCount);
+        metrics.counter("loan_cache_load_timeouts_total", "Database loads that exceeded the stale latency budget.",
+                staleWhileRevalidate::timeoutCount);
+        metrics.counter("loan_cache_load_coalesced_total", "Loads that waited on another caller's load of the same key instead of taking a load thread.",
+                staleWhileRevalidate::coalescedCount);
+        return metrics;
+    }
+
+    // An application runner: Spring Boot publishes readiness only after it returns
+    @Bean
+    @ConditionalOnProperty(prefix = "loan.cache.warm-up", name = "enabled", matchIfMissing = true)
+    public LoanCacheWarmer loanCacheWarmer(CachingLoanRepositoryAdapter cachingLoanRepositoryAdapter,
+                                           LoanCacheProperties properties) {
+        LoanCacheProperties.WarmUp warmUp = properties.getWarmUp();
+        return new LoanCacheWarmer(cachingLoanRepositoryAdapter, warmUp.getRecentLoans(), warmUp.getPageSize(),
+                warmUp.getTimeout());
+    }
+
+    @Bean
+    @Profile("!" + SINGLE_NODE_PROFILE)
+    public LoanCacheInvalidationBus loanCacheInvalidationBus(RedisTemplate<String, Object> redisTemplate,
+                                                             NearCache<LoanId, LoanApplication> loanNearCache) {
+        return new LoanCacheInvalidationBus(redisTemplate, loanNearCache);
+    }
+
+    @Bean
+    @Profile(SINGLE_NODE_PROFILE)
+    public LoanCacheInvalidationBus singleNodeInvalidationBus() {
+        return LoanCacheInvalidationBus.disabled();
+    }
+
+    @Bean
+    @Profile("!" + SINGLE_NODE_PROFILE)
+    public RedisMessageListenerContainer loanCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                    LoanCacheInvalidationBus loanCacheInvalidationBus) {
+        // Started once the application is ready so a Redis outage at boot does not prevent startup
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public boolean isAutoStartup() {
+                return false;
+            }
+        };
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(loanCacheInvalidationBus, new ChannelTopic(LoanCacheInvalidationBus.CHANNEL));
+        return container;
+    }
+
+    @Bean
+    @Profile("!" + SINGLE_NODE_PROFILE)
+    public ApplicationListener<ApplicationReadyEvent> loanCacheListenerStarter(RedisMessageListenerContainer loanCacheListenerContainer) {
+        return event -> {
+            try {
+                loanCacheListenerContainer.start();
+            } catch (Exception e) {
+                log.warn("Could not subscribe to near cache invalidations. Entries will expire by TTL only until Redis recovers.", e);
+            }
+        };
+    }
+}
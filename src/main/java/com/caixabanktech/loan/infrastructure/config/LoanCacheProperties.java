@@ -0,0 +1,177 @@
+package com.caixabanktech.loan.infrastructure.config;
+
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "loan.cache")
+public class LoanCacheProperties {
+
+    /**
+     * Time-to-live of "not found" markers for unknown loan ids and identities.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+    /**
+     * Redis representation of each loan: one encoded value, or a hash with one field per attribute so status
+     * transitions only rewrite the fields that changed.
+     */
+    private Layout layout = Layout.STRING;
+    private Near near = new Near();
+    private Coalescing coalescing = new Coalescing();
+    private RefreshAhead refreshAhead = new RefreshAhead();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Compression compression = new Compression();
+    private Ttl ttl = new Ttl();
+    private Stale stale = new Stale();
+    private WarmUp warmUp = new WarmUp();
+    private HotKeyTracking hotKeys = new HotKeyTracking();
+    private InMemory inMemory = new InMemory();
+
+    public enum Layout { STRING, HASH }
+
+    /**
+     * Heap store used instead of Redis under the {@code single-node} profile.
+     */
+    @Data
+    public static class InMemory {
+        private int maximumSize = 100_000;
+    }
+
+    /**
+     * In-process (L1) cache in front of Redis.
+     */
+    @Data
+    public static class Near {
+        private boolean enabled = true;
+        private int maximumSize = 10_000;
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Miss coalescing: one loader per key on each node, optionally one per key across nodes through a Redis lock.
+     */
+    @Data
+    public static class Coalescing {
+        private boolean distributedLock = false;
+        private Duration lockTtl = Duration.ofSeconds(3);
+        private Duration waitTimeout = Duration.ofSeconds(1);
+        private Duration pollInterval = Duration.ofMillis(25);
+    }
+
+    /**
+     * Background reload of hot Redis entries that are about to expire.
+     */
+    @Data
+    public static class RefreshAhead {
+        private boolean enabled = true;
+        /** Remaining time-to-live below which a hot entry is reloaded. */
+        private Duration window = Duration.ofMinutes(2);
+        /** A key is hot when read again within this window. */
+        private Duration hotAccessWindow = Duration.ofMinutes(1);
+        private int maxTrackedKeys = 10_000;
+        private int threads = 2;
+        private int queueCapacity = 100;
+    }
+
+    /**
+     * Bypasses Redis after repeated failures and probes it in the background until it recovers.
+     */
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        /** Failures within the failure window that open the circuit. */
+        private int failureThreshold = 5;
+        private Duration failureWindow = Duration.ofSeconds(10);
+        /** Time the circuit stays open before Redis is probed again. */
+        private Duration openDuration = Duration.ofSeconds(15);
+    }
+
+    /**
+     * Deflate compression of cached values; values below the threshold are stored as they are.
+     */
+    @Data
+    public static class Compression {
+        private boolean enabled = true;
+        /** Encoded size in bytes from which a value is compressed. */
+        private int thresholdBytes = 1024;
+    }
+
+    /**
+     * Redis time-to-live per key family. Loans and histories can override it per status: terminal loans never
+     * change again and can stay cached much longer than pending ones.
+     */
+    @Data
+    public static class Ttl {
+        /** Maximum random deviation applied to every TTL, as a fraction of it, so expirations do not line up. */
+        private double jitter = 0.1;
+        private FamilyTtl loan = FamilyTtl.byStatus(Duration.ofMinutes(10));
+        private FamilyTtl history = FamilyTtl.byStatus(Duration.ofMinutes(10));
+        private FamilyTtl identity = new FamilyTtl();
+        private FamilyTtl criteria = new FamilyTtl();
+    }
+
+    /**
+     * Stale-while-revalidate for loans: a copy of each cached loan outlives it by {@code window} and is served,
+     * flagged as stale, when the database fails or is slower than the latency budget.
+     */
+    @Data
+    public static class Stale {
+        private boolean enabled = true;
+        /** How long a loan can still be served stale after its cache entry expired. */
+        private Duration window = Duration.ofHours(1);
+        /** Time a database load may take before a stale copy is served instead. */
+        private Duration latencyBudget = Duration.ofMillis(500);
+        private int threads = 4;
+        private int queueCapacity = 100;
+    }
+
+    /**
+     * Preloads the most recent loans and every pending loan into Redis and the near cache at startup. The
+     * application reports itself ready only once the warm-up completes or times out.
+     */
+    @Data
+    public static class WarmUp {
+        private boolean enabled = true;
+        /** Most recently created loans to preload. */
+        private int recentLoans = 1_000;
+        private int pageSize = 200;
+        /** Longest readiness is held; the warm-up stops at the next page once it elapses. */
+        private Duration timeout = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Access frequency tracking of loan ids and identities, used for near cache admission and hot key reporting.
+     */
+    @Data
+    public static class HotKeyTracking {
+        /** Distinct keys each frequency sketch is sized for; frequencies halve every ten times as many accesses. */
+        private int sketchCapacity = 10_000;
+        /** Hottest keys kept per family for reporting. */
+        private int trackedKeys = 100;
+        /** Only store read-through loans in the near cache once they are frequently accessed. */
+        private boolean admission = true;
+        /** Recent accesses a loan needs before it is admitted to the near cache. */
+        private int admissionThreshold = 2;
+    }
+
+    @Data
+    public static class FamilyTtl {
+        private Duration ttl = Duration.ofMinutes(10);
+        /** Overrides by loan status; only applies to loans and their history. */
+        private Map<LoanStatus, Duration> byStatus = new EnumMap<>(LoanStatus.class);
+
+        static FamilyTtl byStatus(Duration ttl) {
+            FamilyTtl familyTtl = new FamilyTtl();
+            familyTtl.setTtl(ttl);
+            familyTtl.getByStatus().put(LoanStatus.PENDING, Duration.ofMinutes(5));
+            familyTtl.getByStatus().put(LoanStatus.REJECTED, Duration.ofHours(24));
+            familyTtl.getByStatus().put(LoanStatus.CANCELLED, Duration.ofHours(24));
+            return familyTtl;
+        }
+    }
+}
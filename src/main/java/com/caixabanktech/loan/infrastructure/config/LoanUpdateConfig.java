@@ -0,0 +1,27 @@
+package com.caixabanktech.loan.infrastructure.config;
+
+import com.caixabanktech.loan.application.service.LoanUpdateRetry;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LoanUpdateProperties.class)
+public class LoanUpdateConfig {
+
+    @Bean
+    public LoanUpdateRetry loanUpdateRetry(LoanUpdateProperties properties, LoanCacheMetrics loanCacheMetrics) {
+        LoanUpdateProperties.Retry retry = properties.getRetry();
+        LoanUpdateRetry updateRetry = new LoanUpdateRetry(retry.getMaxAttempts(), retry.getBaseBackoff(), retry.getMaxBackoff());
+        loanCacheMetrics.counter("loan_update_attempts_total", "Status transition attempts, retries included.",
+                updateRetry::attemptCount);
+        loanCacheMetrics.counter("loan_update_conflicts_total", "Status transition attempts that lost the version check to a concurrent update.",
+                updateRetry::conflictCount);
+        loanCacheMetrics.counter("loan_update_retries_total", "Status transitions retried after a version conflict.",
+                updateRetry::retryCount);
+        loanCacheMetrics.counter("loan_update_retries_exhausted_total", "Status transitions that failed after conflicting on every attempt.",
+                updateRetry::exhaustedCount);
+        return updateRetry;
+    }
+}
@@ -0,0 +1,29 @@
+package com.caixabanktech.loan.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "loan.updates")
+public class LoanUpdateProperties {
+
+    private Retry retry = new Retry();
+
+    /**
+     * Retry of status transitions that lost an optimistic version check to a concurrent update.
+     */
+    @Data
+    public static class Retry {
+        /**
+         * Attempts per transition, the first included; 1 disables retrying.
+         */
+        private int maxAttempts = 3;
+        /**
+         * Upper bound of the jittered wait before the first retry; doubled for each further retry.
+         */
+        private Duration baseBackoff = Duration.ofMillis(10);
+        private Duration maxBackoff = Duration.ofMillis(100);
+    }
+}
@@ -1,5 +1,7 @@
 package com.caixabanktech.loan.infrastructure.config;
 
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CompressingRedisSerializer;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheRedisSerializer;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
@@ -15,10 +17,20 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       CompressingRedisSerializer loanCacheValueSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
-        
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(loanCacheValueSerializer);
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(loanCacheValueSerializer);
+
+        return template;
+    }
+
+    @Bean
+    public CompressingRedisSerializer loanCacheValueSerializer(LoanCacheProperties properties) {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
 
@@ -28,13 +40,12 @@ public class RedisConfig {
                 JsonTypeInfo.As.PROPERTY
         );
 
-        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(objectMapper);
+        // Loans and loan lists use a compact binary codec; everything else is still JSON
+        LoanCacheRedisSerializer serializer = new LoanCacheRedisSerializer(new GenericJackson2JsonRedisSerializer(objectMapper));
 
-        template.setKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(serializer);
-        template.setHashKeySerializer(new StringRedisSerializer());
-        template.setHashValueSerializer(serializer);
-
-        return template;
+        // Readers always understand compressed values, so switching compression off only stops writing them
+        LoanCacheProperties.Compression compression = properties.getCompression();
+        return new CompressingRedisSerializer(serializer,
+                compression.isEnabled() ? compression.getThresholdBytes() : Integer.MAX_VALUE);
     }
 }
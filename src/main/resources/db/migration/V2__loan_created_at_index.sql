@@ -0,0 +1,2 @@
+-- Keyset pagination and streamed searches read loans in (CREATED_AT, ID) order
+CREATE INDEX IDX_LOAN_CREATED_AT_ID ON LOAN_APPLICATIONS (CREATED_AT, ID);
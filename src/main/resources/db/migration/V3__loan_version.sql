@@ -0,0 +1,2 @@
+-- Optimistic locking: every update of a loan checks and increments its version
+ALTER TABLE LOAN_APPLICATIONS ADD VERSION NUMBER(19) DEFAULT 0 NOT NULL;
@@ -0,0 +1,2 @@
+-- The cache warm-up reads the loans in one status by keyset, in (CREATED_AT, ID) order
+CREATE INDEX IDX_LOAN_STATUS_CREATED_AT_ID ON LOAN_APPLICATIONS (STATUS, CREATED_AT, ID);
@@ -0,0 +1,2 @@
+-- Revisions carry the version of the loan they record; NULL for revisions written before, and for deletions
+ALTER TABLE LOAN_APPLICATIONS_AUD ADD VERSION NUMBER(19);
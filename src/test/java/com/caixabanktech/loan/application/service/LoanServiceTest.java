@@ -1,5 +1,6 @@
 package com.caixabanktech.loan.application.service;
 
+import com.caixabanktech.loan.domain.exception.ConcurrentLoanUpdateException;
 import com.caixabanktech.loan.domain.exception.InvalidStateTransitionException;
 import com.caixabanktech.loan.domain.exception.ResourceNotFoundException;
 import com.caixabanktech.loan.domain.model.ApplicantIdentity;
@@ -17,9 +18,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Currency;
 import java.util.List;
 import java.util.Optional;
@@ -28,7 +33,10 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,7 +51,8 @@ class LoanServiceTest {
 
     @BeforeEach
     void setUp() {
-        loanApplicationService = new LoanApplicationService(repositoryPort);
+        loanApplicationService = new LoanApplicationService(repositoryPort, new LoanUpdateRetry(3, Duration.ZERO, Duration.ZERO),
+                TransactionOperations.withoutTransaction());
     }
 
     @Test
@@ -51,10 +60,11 @@ class LoanServiceTest {
     void shouldCreateLoanSuccessfully() {
         CreateLoanCommand command = new CreateLoanCommand("Alvaro de la Flor Bonilla", BigDecimal.valueOf(1998.03), "EUR", "12345678Z");
         var loanApplication = createLoanApplication(LoanStatus.PENDING).build();
-        when(repositoryPort.save(any(LoanApplication.class))).thenReturn(loanApplication);
+        when(repositoryPort.create(any(LoanApplication.class))).thenReturn(loanApplication);
         LoanApplication result = loanApplicationService.createLoan(command);
 
         assertThat(result.getApplicantName()).isEqualTo(command.applicantName());
+        verify(repositoryPort, never()).save(any());
     }
 
     @Test
@@ -68,48 +78,132 @@ class LoanServiceTest {
     }
 
     @Test
-    @DisplayName("approveLoan should update status to APPROVED and save")
+    @DisplayName("approveLoan should update status to APPROVED only if the loan is still PENDING")
     void shouldApproveStatusSuccessfully() {
         LoanId id = new LoanId(UUID.randomUUID());
         LoanApplication loan = createLoanApplication(LoanStatus.PENDING).build();
 
         when(repositoryPort.findById(id)).thenReturn(Optional.of(loan));
-        when(repositoryPort.save(loan)).thenReturn(loan);
+        when(repositoryPort.updateStatus(any(LoanApplication.class))).thenAnswer(invocation -> stored(invocation.getArgument(0)));
 
         LoanApplication result = loanApplicationService.approveLoan(id.value());
 
         assertThat(result.getStatus()).isEqualTo(LoanStatus.APPROVED);
-        verify(repositoryPort).save(loan);
+        assertThat(result.getVersion()).isEqualTo(1);
+        verify(repositoryPort).updateStatus(argThat(update -> update.getVersion() == 0 && update.getStatus() == LoanStatus.APPROVED));
+        verify(repositoryPort, never()).save(any());
     }
 
     @Test
-    @DisplayName("rejectLoan should update status to REJECTED and save")
+    @DisplayName("rejectLoan should update status to REJECTED only if the loan is still PENDING")
     void shouldRejectStatusSuccessfully() {
         LoanId id = new LoanId(UUID.randomUUID());
         LoanApplication loan = createLoanApplication(LoanStatus.PENDING).build();
 
         when(repositoryPort.findById(id)).thenReturn(Optional.of(loan));
-        when(repositoryPort.save(loan)).thenReturn(loan);
+        when(repositoryPort.updateStatus(any(LoanApplication.class))).thenAnswer(invocation -> stored(invocation.getArgument(0)));
 
         LoanApplication result = loanApplicationService.rejectLoan(id.value());
 
         assertThat(result.getStatus()).isEqualTo(LoanStatus.REJECTED);
-        verify(repositoryPort).save(loan);
+        assertThat(result.getVersion()).isEqualTo(1);
+        verify(repositoryPort).updateStatus(argThat(update -> update.getVersion() == 0 && update.getStatus() == LoanStatus.REJECTED));
+        verify(repositoryPort, never()).save(any());
     }
 
     @Test
-    @DisplayName("cancelLoan should update status to CANCELLED from APPROVED and save")
+    @DisplayName("cancelLoan should update status to CANCELLED only if the loan is still APPROVED")
     void shouldCancelStatusSuccessfully() {
         LoanId id = new LoanId(UUID.randomUUID());
         LoanApplication loan = createLoanApplication(LoanStatus.APPROVED).build();
 
         when(repositoryPort.findById(id)).thenReturn(Optional.of(loan));
-        when(repositoryPort.save(loan)).thenReturn(loan);
+        when(repositoryPort.updateStatus(any(LoanApplication.class))).thenAnswer(invocation -> stored(invocation.getArgument(0)));
 
         LoanApplication result = loanApplicationService.cancelLoan(id.value());
 
         assertThat(result.getStatus()).isEqualTo(LoanStatus.CANCELLED);
-        verify(repositoryPort).save(loan);
+        assertThat(result.getVersion()).isEqualTo(1);
+        verify(repositoryPort).updateStatus(argThat(update -> update.getVersion() == 0 && update.getStatus() == LoanStatus.CANCELLED));
+        verify(repositoryPort, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("approveLoan should re-read the loan and retry when a concurrent update changed its version first")
+    void shouldRetryWhenLoanChangedConcurrently() {
+        LoanId id = new LoanId(UUID.randomUUID());
+        LoanApplication read = createLoanApplication(LoanStatus.PENDING).build();
+        LoanApplication reread = createLoanApplication(LoanStatus.PENDING).version(1).build();
+
+        when(repositoryPort.findById(id)).thenReturn(Optional.of(read), Optional.of(reread));
+        when(repositoryPort.updateStatus(any(LoanApplication.class)))
+                .thenReturn(Optional.empty())
+                .thenAnswer(invocation -> stored(invocation.getArgument(0)));
+
+        LoanApplication result = loanApplicationService.approveLoan(id.value());
+
+        assertThat(result.getStatus()).isEqualTo(LoanStatus.APPROVED);
+        assertThat(result.getVersion()).isEqualTo(2);
+        verify(repositoryPort, times(2)).updateStatus(any(LoanApplication.class));
+    }
+
+    @Test
+    @DisplayName("approveLoan should run each attempt in its own transaction and back off between them")
+    void shouldRunEachAttemptInItsOwnTransaction() {
+        LoanId id = new LoanId(UUID.randomUUID());
+        List<String> events = new ArrayList<>();
+        TransactionOperations transactions = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                events.add("begin");
+                T result = action.doInTransaction(null);
+                events.add("commit");
+                return result;
+            }
+        };
+        LoanUpdateRetry retry = new LoanUpdateRetry(3, Duration.ofSeconds(1), Duration.ofSeconds(1), nanos -> events.add("sleep"));
+        LoanApplicationService service = new LoanApplicationService(repositoryPort, retry, transactions);
+
+        when(repositoryPort.findById(id)).thenAnswer(invocation -> {
+            events.add("read");
+            return Optional.of(createLoanApplication(LoanStatus.PENDING).build());
+        });
+        when(repositoryPort.updateStatus(any(LoanApplication.class)))
+                .thenReturn(Optional.empty())
+                .thenAnswer(invocation -> stored(invocation.getArgument(0)));
+
+        service.approveLoan(id.value());
+
+        assertThat(events).containsExactly("begin", "read", "commit", "sleep", "begin", "read", "commit");
+    }
+
+    @Test
+    @DisplayName("approveLoan should fail as an invalid transition when a concurrent transition changed the status first")
+    void shouldFailWhenStatusChangedConcurrently() {
+        LoanId id = new LoanId(UUID.randomUUID());
+        LoanApplication read = createLoanApplication(LoanStatus.PENDING).build();
+        LoanApplication reread = createLoanApplication(LoanStatus.REJECTED).version(1).build();
+
+        when(repositoryPort.findById(id)).thenReturn(Optional.of(read), Optional.of(reread));
+        when(repositoryPort.updateStatus(any(LoanApplication.class))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> loanApplicationService.approveLoan(id.value()))
+                .isInstanceOf(InvalidStateTransitionException.class);
+        verify(repositoryPort).updateStatus(any(LoanApplication.class));
+    }
+
+    @Test
+    @DisplayName("approveLoan should give up with a conflict once every attempt lost to a concurrent update")
+    void shouldGiveUpWhenLoanKeepsChanging() {
+        LoanId id = new LoanId(UUID.randomUUID());
+
+        when(repositoryPort.findById(id)).thenAnswer(invocation -> Optional.of(createLoanApplication(LoanStatus.PENDING).build()));
+        when(repositoryPort.updateStatus(any(LoanApplication.class))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> loanApplicationService.approveLoan(id.value()))
+                .isInstanceOf(ConcurrentLoanUpdateException.class)
+                .hasMessageContaining("3 attempts");
+        verify(repositoryPort, times(3)).updateStatus(any(LoanApplication.class));
     }
 
     @ParameterizedTest
@@ -364,6 +458,11 @@ class LoanServiceTest {
                 .status(status);
     }
 
+    // What the repository returns for an update that won: the loan with its next version
+    private static Optional<LoanApplication> stored(LoanApplication loan) {
+        return Optional.of(loan.toBuilder().version(loan.getVersion() + 1).build());
+    }
+
     @Test
     @DisplayName("deleteLoan should delegate to repository deleteById")
     void deleteLoanDelegatesToRepository() {
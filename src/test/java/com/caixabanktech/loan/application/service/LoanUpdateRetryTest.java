@@ -0,0 +1,101 @@
+package com.caixabanktech.loan.application.service;
+
+import com.caixabanktech.loan.domain.exception.ConcurrentLoanUpdateException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Service Tests: LoanUpdateRetry")
+class LoanUpdateRetryTest {
+
+    private static final UUID LOAN_ID = UUID.randomUUID();
+
+    private final List<Long> sleeps = new ArrayList<>();
+    private final LoanUpdateRetry retry = new LoanUpdateRetry(4, Duration.ofMillis(10), Duration.ofMillis(25), sleeps::add);
+
+    @Test
+    @DisplayName("run should return the first result without waiting")
+    void shouldReturnFirstResult() {
+        assertThat(retry.run(LOAN_ID, () -> Optional.of("updated"))).isEqualTo("updated");
+
+        assertThat(sleeps).isEmpty();
+        assertThat(retry.attemptCount()).isEqualTo(1);
+        assertThat(retry.conflictCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("run should retry conflicts after a jittered wait and count them")
+    void shouldRetryConflicts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retry.run(LOAN_ID, () -> calls.incrementAndGet() < 3 ? Optional.empty() : Optional.of("updated"));
+
+        assertThat(result).isEqualTo("updated");
+        assertThat(sleeps).hasSize(2);
+        assertThat(sleeps.get(0)).isBetween(0L, Duration.ofMillis(10).toNanos());
+        assertThat(sleeps.get(1)).isBetween(0L, Duration.ofMillis(20).toNanos());
+        assertThat(retry.attemptCount()).isEqualTo(3);
+        assertThat(retry.conflictCount()).isEqualTo(2);
+        assertThat(retry.retryCount()).isEqualTo(2);
+        assertThat(retry.exhaustedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("run should give up after the maximum attempts with a ConcurrentLoanUpdateException")
+    void shouldGiveUpAfterMaxAttempts() {
+        assertThatThrownBy(() -> retry.run(LOAN_ID, Optional::empty))
+                .isInstanceOf(ConcurrentLoanUpdateException.class)
+                .hasMessageContaining(LOAN_ID.toString())
+                .hasMessageContaining("4 attempts");
+
+        assertThat(sleeps).hasSize(3);
+        assertThat(retry.conflictCount()).isEqualTo(4);
+        assertThat(retry.retryCount()).isEqualTo(3);
+        assertThat(retry.exhaustedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("run should not retry exceptions thrown by the attempt")
+    void shouldNotRetryExceptions() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.run(LOAN_ID, () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("invalid");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(calls).hasValue(1);
+        assertThat(retry.conflictCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("backoff should double per retry up to the maximum and never be negative")
+    void shouldCapBackoff() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(retry.backoffNanos(1)).isBetween(0L, Duration.ofMillis(10).toNanos());
+            assertThat(retry.backoffNanos(3)).isBetween(0L, Duration.ofMillis(25).toNanos());
+            assertThat(retry.backoffNanos(200)).isBetween(0L, Duration.ofMillis(25).toNanos());
+        }
+        assertThat(LoanUpdateRetry.disabled().backoffNanos(1)).isZero();
+    }
+
+    @Test
+    @DisplayName("disabled should fail on the first conflict")
+    void shouldFailFastWhenDisabled() {
+        LoanUpdateRetry disabled = LoanUpdateRetry.disabled();
+
+        assertThatThrownBy(() -> disabled.run(LOAN_ID, Optional::empty))
+                .isInstanceOf(ConcurrentLoanUpdateException.class)
+                .hasMessageContaining("1 attempt");
+        assertThat(disabled.retryCount()).isZero();
+    }
+}
@@ -0,0 +1,44 @@
+package com.caixabanktech.loan.domain.port.out;
+
+import com.caixabanktech.loan.domain.model.ApplicantIdentity;
+import com.caixabanktech.loan.domain.model.LoanAmount;
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Port Tests: LoanCursor")
+class LoanCursorTest {
+
+    @Test
+    @DisplayName("of should position the cursor at the loan's creation time and id")
+    void ofUsesCreationTimeAndId() {
+        LoanApplication loan = LoanApplication.builder()
+                .id(new LoanId(UUID.randomUUID()))
+                .applicantName("Alvaro de la Flor Bonilla")
+                .applicantIdentity(new ApplicantIdentity("12345678Z"))
+                .loanAmount(new LoanAmount(new BigDecimal("1998.03"), Currency.getInstance("EUR")))
+                .createdAt(Instant.parse("2026-02-07T10:00:00Z"))
+                .modifiedAt(Instant.parse("2026-02-07T11:00:00Z"))
+                .status(LoanStatus.PENDING)
+                .build();
+
+        assertEquals(new LoanCursor(loan.getCreatedAt(), loan.getId()), LoanCursor.of(loan));
+    }
+
+    @Test
+    @DisplayName("Constructor should throw IllegalArgumentException when a key is missing")
+    void constructorRejectsNull() {
+        LoanId id = new LoanId(UUID.randomUUID());
+        assertThrows(IllegalArgumentException.class, () -> new LoanCursor(null, id));
+        assertThrows(IllegalArgumentException.class, () -> new LoanCursor(Instant.now(), null));
+    }
+}
@@ -0,0 +1,102 @@
+package com.caixabanktech.loan.infrastructure.adapter.in.web;
+
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.infrastructure.adapter.input.rest.CacheMetricsController;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.HotKeys;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Controller Tests: CacheMetricsController")
+@WebMvcTest(CacheMetricsController.class)
+@AutoConfigureMockMvc
+class CacheMetricsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private LoanCacheMetrics loanCacheMetrics;
+    @MockBean private HotKeys<LoanId> loanHotKeys;
+    @MockBean private HotKeys<String> identityHotKeys;
+    @MockBean private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @Test
+    @DisplayName("GET /internal/metrics/prometheus should return the scrape in the Prometheus text format")
+    void shouldReturnPrometheusScrape() throws Exception {
+        String scrape = "# TYPE loan_cache_near_size gauge\nloan_cache_near_size 3\n";
+        when(loanCacheMetrics.scrape()).thenReturn(scrape);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/internal/metrics/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/plain;version=0.0.4")))
+                .andExpect(content().string(scrape));
+    }
+
+    @Test
+    @DisplayName("GET /internal/metrics/hot-keys should return the hottest loan ids and pseudonyms of the hottest identities")
+    void shouldReturnHotKeys() throws Exception {
+        LoanId loanId = new LoanId(UUID.fromString("c18b4e1b-6b10-4d6c-9476-5e4764facb30"));
+        when(loanHotKeys.top(5)).thenReturn(List.of(new HotKeys.HotKey<>(loanId, 12)));
+        when(identityHotKeys.top(5)).thenReturn(List.of(
+                new HotKeys.HotKey<>("12345678Z", 4), new HotKeys.HotKey<>("87654321X", 2)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/internal/metrics/hot-keys").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.loans[0].key").value(loanId.value().toString()))
+                .andExpect(jsonPath("$.loans[0].frequency").value(12))
+                .andExpect(jsonPath("$.identities[0].key").value(matchesPattern("[0-9a-f]{16}")))
+                .andExpect(jsonPath("$.identities[0].frequency").value(4))
+                .andExpect(jsonPath("$.identities[1].key").value(matchesPattern("[0-9a-f]{16}")))
+                .andExpect(content().string(not(containsString("12345678Z"))))
+                .andExpect(content().string(not(containsString("87654321X"))));
+    }
+
+    @Test
+    @DisplayName("GET /internal/metrics/hot-keys should give an identity the same pseudonym on every call, and other identities another")
+    void shouldKeepIdentityPseudonymsStable() throws Exception {
+        when(loanHotKeys.top(5)).thenReturn(List.of());
+        when(identityHotKeys.top(5)).thenReturn(List.of(
+                new HotKeys.HotKey<>("12345678Z", 4), new HotKeys.HotKey<>("87654321X", 2)));
+
+        String first = mockMvc.perform(MockMvcRequestBuilders.get("/internal/metrics/hot-keys").param("limit", "5"))
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(MockMvcRequestBuilders.get("/internal/metrics/hot-keys").param("limit", "5"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(second).isEqualTo(first);
+        List<String> pseudonyms = JsonPath.read(first, "$.identities[*].key");
+        assertThat(pseudonyms).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("GET /internal/metrics/hot-keys should reject a limit outside 1 to 100")
+    void shouldRejectInvalidHotKeysLimit() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/internal/metrics/hot-keys").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(loanHotKeys, identityHotKeys);
+    }
+}
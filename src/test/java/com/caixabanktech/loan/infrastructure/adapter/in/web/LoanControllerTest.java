@@ -11,6 +11,7 @@ import com.caixabanktech.loan.domain.port.in.ModifyLoanStatusUseCase;
 import com.caixabanktech.loan.domain.port.in.RetrieveLoanUseCase;
 import com.caixabanktech.loan.infrastructure.adapter.input.rest.LoanController;
 import com.caixabanktech.loan.infrastructure.adapter.input.rest.dto.LoanResponse;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.StaleResponse;
 import com.caixabanktech.loan.infrastructure.adapter.output.persistence.mapper.LoanRestMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,6 +25,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Currency;
 import java.util.List;
@@ -31,6 +33,7 @@ import java.util.UUID;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -124,7 +127,26 @@ class LoanControllerTest {
         mockMvc.perform(MockMvcRequestBuilders.get(SEARCH_PATH.formatted(loan.getId().value())))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(id.toString()))
-                .andExpect(jsonPath("$.status").value(LoanStatus.PENDING.name()));
+                .andExpect(jsonPath("$.status").value(LoanStatus.PENDING.name()))
+                .andExpect(header().doesNotExist(StaleResponse.HEADER));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/loans/{id} should flag a loan served from a stale cached copy")
+    void shouldFlagStaleLoan() throws Exception {
+        LoanApplication loan = sampleLoan(LoanStatus.PENDING);
+        UUID id = loan.getId().value();
+        when(retrieveUseCase.getLoan(id)).thenAnswer(invocation -> {
+            StaleResponse.mark(Duration.ofSeconds(90));
+            return loan;
+        });
+        when(loanRestMapper.toResponse(loan)).thenReturn(sampleResponse(loan));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(SEARCH_PATH.formatted(id)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(StaleResponse.HEADER, "true"))
+                .andExpect(header().string(StaleResponse.AGE_HEADER, "90"))
+                .andExpect(jsonPath("$.id").value(id.toString()));
     }
 
     @Test
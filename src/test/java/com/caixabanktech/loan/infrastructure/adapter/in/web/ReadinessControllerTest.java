@@ -0,0 +1,50 @@
+package com.caixabanktech.loan.infrastructure.adapter.in.web;
+
+import com.caixabanktech.loan.infrastructure.adapter.input.rest.ReadinessController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Controller Tests: ReadinessController")
+@WebMvcTest(ReadinessController.class)
+@AutoConfigureMockMvc
+class ReadinessControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean private ApplicationAvailability applicationAvailability;
+    @MockBean private JpaMetamodelMappingContext jpaMetamodelMappingContext;
+
+    @Test
+    @DisplayName("GET /internal/health/readiness should return 200 once the application accepts traffic")
+    void shouldBeReadyWhenAcceptingTraffic() throws Exception {
+        when(applicationAvailability.getReadinessState()).thenReturn(ReadinessState.ACCEPTING_TRAFFIC);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/internal/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("ACCEPTING_TRAFFIC"));
+    }
+
+    @Test
+    @DisplayName("GET /internal/health/readiness should return 503 while the application refuses traffic")
+    void shouldNotBeReadyWhileRefusingTraffic() throws Exception {
+        when(applicationAvailability.getReadinessState()).thenReturn(ReadinessState.REFUSING_TRAFFIC);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/internal/health/readiness"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("REFUSING_TRAFFIC"));
+    }
+}
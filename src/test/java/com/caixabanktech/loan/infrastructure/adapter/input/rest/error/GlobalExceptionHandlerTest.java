@@ -1,5 +1,6 @@
 package com.caixabanktech.loan.infrastructure.adapter.input.rest.error;
 
+import com.caixabanktech.loan.domain.exception.ConcurrentLoanUpdateException;
 import com.caixabanktech.loan.domain.exception.InvalidDomainDataException;
 import com.caixabanktech.loan.domain.exception.InvalidStateTransitionException;
 import com.caixabanktech.loan.domain.exception.ResourceNotFoundException;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -72,6 +74,29 @@ class GlobalExceptionHandlerTest {
         assertEquals("missing", response.getBody().detail());
     }
 
+    @Test
+    @DisplayName("handleConflict should return 409 for ConcurrentLoanUpdateException")
+    void shouldReturn409ForConcurrentLoanUpdate() {
+        ConcurrentLoanUpdateException ex = new ConcurrentLoanUpdateException("gave up after 3 attempts");
+        ResponseEntity<ApiErrorResponse> response = handler.handleConflict(ex);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Concurrent Update", response.getBody().title());
+        assertEquals("gave up after 3 attempts", response.getBody().detail());
+    }
+
+    @Test
+    @DisplayName("handleConflict should return 409 for optimistic locking failures without leaking entity details")
+    void shouldReturn409ForOptimisticLockingFailure() {
+        var ex = new ObjectOptimisticLockingFailureException("LoanJpaEntity", "some-id");
+        ResponseEntity<ApiErrorResponse> response = handler.handleConflict(ex);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("The loan was updated concurrently", response.getBody().detail());
+    }
+
     @Test
     @DisplayName("handleGlobalException should return 500 without leaking details")
     void shouldReturn500ForUnexpectedException() {
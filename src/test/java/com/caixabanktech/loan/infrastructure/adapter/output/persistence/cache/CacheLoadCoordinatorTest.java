@@ -0,0 +1,176 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheLoadCoordinator Tests")
+class CacheLoadCoordinatorTest {
+
+    private static final String KEY = "loan:1";
+    private static final String LOCK_KEY = "lock:loan:1";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private CacheLoadCoordinator distributed;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        distributed = new CacheLoadCoordinator(redisTemplate, true, Duration.ofSeconds(3), Duration.ofMillis(200), Duration.ofMillis(5));
+    }
+
+    @Test
+    @DisplayName("load should share one in-flight load between concurrent callers and copy the result for waiters")
+    void shouldShareInFlightLoad() throws Exception {
+        CacheLoadCoordinator local = new CacheLoadCoordinator(redisTemplate, false, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UnaryOperator<String> copy = value -> value + "-copy";
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> local.load(KEY, () -> null, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "value";
+        }, copy));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> local.load(KEY, () -> null, () -> {
+            loads.incrementAndGet();
+            return "other";
+        }, copy));
+        while (waiter.isDone() || local.inFlightCount() == 0) Thread.onSpinWait();
+        Thread.sleep(50);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("value-copy");
+        assertThat(loads).hasValue(1);
+        assertThat(local.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("load should rethrow loader failures and clear the in-flight slot")
+    void shouldRethrowLoaderFailures() {
+        CacheLoadCoordinator local = new CacheLoadCoordinator(redisTemplate, false, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+
+        assertThatThrownBy(() -> local.load(KEY, () -> null, () -> { throw new IllegalStateException("DB down"); }, UnaryOperator.identity()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(local.inFlightCount()).isZero();
+        assertThat(local.load(KEY, () -> null, () -> "value", UnaryOperator.identity())).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("load should take the Redis lock, load and release it when the lock is free")
+    @SuppressWarnings("unchecked")
+    void shouldLoadUnderDistributedLock() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), eq(Duration.ofSeconds(3)))).thenReturn(true);
+
+        String result = distributed.load(KEY, () -> null, () -> "value", UnaryOperator.identity());
+
+        assertThat(result).isEqualTo("value");
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(LOCK_KEY)), anyString());
+    }
+
+    @Test
+    @DisplayName("load should wait for the value loaded by another node instead of hitting the database")
+    void shouldWaitForOtherNode() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(redisTemplate.hasKey(LOCK_KEY)).thenReturn(true);
+        AtomicInteger probes = new AtomicInteger();
+        AtomicInteger loads = new AtomicInteger();
+
+        String result = distributed.load(KEY, () -> probes.incrementAndGet() < 3 ? null : "remote", () -> {
+            loads.incrementAndGet();
+            return "local";
+        }, UnaryOperator.identity());
+
+        assertThat(result).isEqualTo("remote");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("load should load itself when the other node releases the lock without caching a value")
+    void shouldLoadWhenOtherNodeGivesUp() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(redisTemplate.hasKey(LOCK_KEY)).thenReturn(false);
+
+        String result = distributed.load(KEY, () -> null, () -> "local", UnaryOperator.identity());
+
+        assertThat(result).isEqualTo("local");
+    }
+
+    @Test
+    @DisplayName("load should load itself when waiting for the other node times out")
+    void shouldLoadAfterWaitTimeout() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(redisTemplate.hasKey(LOCK_KEY)).thenReturn(true);
+
+        String result = distributed.load(KEY, () -> null, () -> "local", UnaryOperator.identity());
+
+        assertThat(result).isEqualTo("local");
+    }
+
+    @Test
+    @DisplayName("load should fall back to loading without the lock when Redis fails")
+    void shouldLoadWithoutLockOnRedisErrors() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenThrow(new RuntimeException("Redis down"));
+        assertThat(distributed.load(KEY, () -> null, () -> "local", UnaryOperator.identity())).isEqualTo("local");
+    }
+
+    @Test
+    @DisplayName("load should fall back to loading when polling the other node fails")
+    void shouldLoadWhenPollingFails() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(redisTemplate.hasKey(LOCK_KEY)).thenThrow(new RuntimeException("Redis down"));
+
+        assertThat(distributed.load(KEY, () -> null, () -> "local", UnaryOperator.identity())).isEqualTo("local");
+    }
+
+    @Test
+    @DisplayName("load should not fail when releasing the lock fails")
+    @SuppressWarnings("unchecked")
+    void shouldIgnoreReleaseErrors() {
+        when(valueOperations.setIfAbsent(eq(LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), any(List.class), any())).thenThrow(new RuntimeException("Redis down"));
+
+        assertThat(distributed.load(KEY, () -> null, () -> "value", UnaryOperator.identity())).isEqualTo("value");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CacheTierStats Tests")
+class CacheTierStatsTest {
+
+    @Test
+    @DisplayName("Counters and hit rate should reflect recorded events")
+    void shouldCountEvents() {
+        CacheTierStats stats = new CacheTierStats("l1");
+        stats.recordHit();
+        stats.recordHit();
+        stats.recordHit();
+        stats.recordMiss();
+        stats.recordEviction();
+
+        assertThat(stats.tier()).isEqualTo("l1");
+        assertThat(stats.hitCount()).isEqualTo(3);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.evictionCount()).isEqualTo(1);
+        assertThat(stats.hitRate()).isEqualTo(0.75);
+        assertThat(stats.toString()).contains("tier=l1", "hits=3", "misses=1");
+    }
+
+    @Test
+    @DisplayName("Hit rate should be zero when nothing was recorded")
+    void shouldReportZeroHitRateWhenEmpty() {
+        assertThat(new CacheTierStats("l2").hitRate()).isZero();
+    }
+}
@@ -0,0 +1,18 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CacheTombstone Tests")
+class CacheTombstoneTest {
+
+    @Test
+    @DisplayName("is should only recognise the not-found marker")
+    void shouldRecogniseMarker() {
+        assertThat(CacheTombstone.is(CacheTombstone.VALUE)).isTrue();
+        assertThat(CacheTombstone.is("loan:found")).isFalse();
+        assertThat(CacheTombstone.is(null)).isFalse();
+    }
+}
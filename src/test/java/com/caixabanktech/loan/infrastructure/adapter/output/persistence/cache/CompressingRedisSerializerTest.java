@@ -0,0 +1,117 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.ApplicantIdentity;
+import com.caixabanktech.loan.domain.model.LoanAmount;
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CompressingRedisSerializer Tests")
+class CompressingRedisSerializerTest {
+
+    private LoanCacheRedisSerializer plain;
+    private CompressingRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        plain = new LoanCacheRedisSerializer(new GenericJackson2JsonRedisSerializer(objectMapper));
+        serializer = new CompressingRedisSerializer(plain, 1024);
+    }
+
+    @Test
+    @DisplayName("should leave values below the threshold uncompressed")
+    void shouldNotCompressSmallValues() {
+        LoanApplication loan = loan();
+
+        byte[] bytes = serializer.serialize(loan);
+
+        assertThat(bytes).isEqualTo(plain.serialize(loan));
+        assertThat(serializer.deserialize(bytes)).usingRecursiveComparison().isEqualTo(loan);
+        assertThat(serializer.compressedCount()).isZero();
+        assertThat(serializer.compressionRatio()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("should compress large values behind the marker byte and round-trip them")
+    void shouldCompressLargeValues() {
+        List<LoanApplication> loans = IntStream.range(0, 50).mapToObj(i -> loan()).toList();
+        int plainLength = plain.serialize(loans).length;
+
+        byte[] bytes = serializer.serialize(loans);
+
+        assertThat(bytes[0]).isEqualTo(CompressingRedisSerializer.MARKER);
+        assertThat(bytes.length).isLessThan(plainLength);
+        assertThat(serializer.deserialize(bytes)).usingRecursiveComparison().isEqualTo(loans);
+        assertThat(serializer.compressedCount()).isEqualTo(1);
+        assertThat(serializer.compressionRatio()).isEqualTo((double) plainLength / bytes.length);
+    }
+
+    @Test
+    @DisplayName("should read values written before compression was enabled")
+    void shouldReadUncompressedValues() {
+        List<LoanApplication> loans = IntStream.range(0, 50).mapToObj(i -> loan()).toList();
+
+        assertThat(serializer.deserialize(plain.serialize(loans))).usingRecursiveComparison().isEqualTo(loans);
+        assertThat(serializer.deserialize(plain.serialize("not found"))).isEqualTo("not found");
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("should store the value as is when compression does not shrink it")
+    void shouldKeepIncompressibleValues() {
+        CompressingRedisSerializer everything = new CompressingRedisSerializer(plain, 1);
+
+        byte[] bytes = everything.serialize("x");
+
+        assertThat(bytes).isEqualTo(plain.serialize("x"));
+        assertThat(everything.compressedCount()).isZero();
+        assertThat(everything.deserialize(bytes)).isEqualTo("x");
+    }
+
+    @Test
+    @DisplayName("should reject corrupted compressed values")
+    void shouldRejectCorruptedValues() {
+        byte[] bytes = serializer.serialize(IntStream.range(0, 50).mapToObj(i -> loan()).toList());
+
+        assertThatThrownBy(() -> serializer.deserialize(Arrays.copyOf(bytes, bytes.length / 2)))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> serializer.deserialize(new byte[]{CompressingRedisSerializer.MARKER, 0x7F, 0, 0, 0}))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private static LoanApplication loan() {
+        return LoanApplication.builder()
+                .id(new LoanId(UUID.randomUUID()))
+                .applicantName("John Doe")
+                .applicantIdentity(new ApplicantIdentity("12345678Z"))
+                .loanAmount(new LoanAmount(new BigDecimal("25000.50"), Currency.getInstance("EUR")))
+                .createdAt(Instant.parse("2024-05-01T10:15:30.123Z"))
+                .modifiedAt(Instant.parse("2024-05-02T08:00:00Z"))
+                .status(LoanStatus.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CriteriaHash Tests")
+class CriteriaHashTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant END = Instant.parse("2024-02-01T00:00:00Z");
+
+    @Test
+    @DisplayName("should be stable and ignore sub-second differences, as the search does")
+    void shouldNormalizeDates() {
+        assertThat(CriteriaHash.of("12345678Z", START, END)).isEqualTo(CriteriaHash.of("12345678Z", START, END));
+        assertThat(CriteriaHash.of("12345678Z", START.plusMillis(999), END.plusNanos(1)))
+                .isEqualTo(CriteriaHash.of("12345678Z", START, END));
+        assertThat(CriteriaHash.of("12345678Z", START, END)).hasSize(32);
+    }
+
+    @Test
+    @DisplayName("should tell different and missing criteria apart")
+    void shouldDistinguishCriteria() {
+        assertThat(CriteriaHash.of("12345678Z", START, END)).isNotEqualTo(CriteriaHash.of("87654321X", START, END));
+        assertThat(CriteriaHash.of(null, START, END)).isNotEqualTo(CriteriaHash.of("-", START, END));
+        assertThat(CriteriaHash.of(null, START, null)).isNotEqualTo(CriteriaHash.of(null, null, START));
+        assertThat(CriteriaHash.of(null, START, END)).isNotEqualTo(CriteriaHash.of(null, START.plusSeconds(1), END));
+    }
+}
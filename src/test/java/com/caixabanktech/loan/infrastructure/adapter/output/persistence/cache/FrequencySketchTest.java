@@ -0,0 +1,77 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("FrequencySketch Tests")
+class FrequencySketchTest {
+
+    @Test
+    @DisplayName("should estimate how often a key was incremented")
+    void shouldEstimateFrequency() {
+        FrequencySketch<String> sketch = new FrequencySketch<>(1_000);
+
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("hot");
+        }
+        sketch.increment("cold");
+
+        assertThat(sketch.frequency("hot")).isEqualTo(5);
+        assertThat(sketch.frequency("cold")).isEqualTo(1);
+        assertThat(sketch.frequency("unseen")).isZero();
+    }
+
+    @Test
+    @DisplayName("should never underestimate a key, even with many colliding keys")
+    void shouldNeverUnderestimate() {
+        FrequencySketch<Integer> sketch = new FrequencySketch<>(64);
+        for (int key = 0; key < 500; key++) {
+            sketch.increment(key);
+        }
+        sketch.increment(7);
+
+        assertThat(sketch.frequency(7)).isGreaterThanOrEqualTo(2);
+        for (int key = 0; key < 500; key++) {
+            assertThat(sketch.frequency(key)).isGreaterThanOrEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("increment should return the new estimate and saturate at the maximum frequency")
+    void shouldSaturate() {
+        FrequencySketch<String> sketch = new FrequencySketch<>(1_000);
+
+        assertThat(sketch.increment("key")).isEqualTo(1);
+        for (int i = 0; i < 30; i++) {
+            sketch.increment("key");
+        }
+
+        assertThat(sketch.frequency("key")).isEqualTo(FrequencySketch.MAX_FREQUENCY);
+    }
+
+    @Test
+    @DisplayName("should halve every counter once the sample size is reached, so old popularity fades")
+    void shouldAgeCounters() {
+        FrequencySketch<Integer> sketch = new FrequencySketch<>(16);
+        for (int i = 0; i < FrequencySketch.MAX_FREQUENCY; i++) {
+            sketch.increment(-1);
+        }
+        assertThat(sketch.frequency(-1)).isEqualTo(FrequencySketch.MAX_FREQUENCY);
+
+        // Sample size is ten times the capacity; saturated counters stay at the maximum until then
+        for (int key = 0; sketch.resetCount() == 0; key++) {
+            sketch.increment(key);
+        }
+
+        assertThat(sketch.frequency(-1)).isEqualTo(FrequencySketch.MAX_FREQUENCY / 2);
+    }
+
+    @Test
+    @DisplayName("should reject a non-positive capacity")
+    void shouldRejectInvalidCapacity() {
+        assertThatThrownBy(() -> new FrequencySketch<>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
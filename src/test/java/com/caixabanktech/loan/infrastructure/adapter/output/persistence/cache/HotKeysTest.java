@@ -0,0 +1,52 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HotKeys Tests")
+class HotKeysTest {
+
+    @Test
+    @DisplayName("top should list the most frequently recorded keys first")
+    void shouldListHottestFirst() {
+        HotKeys<String> hotKeys = new HotKeys<>(1_000, 10);
+        record(hotKeys, "a", 2);
+        record(hotKeys, "b", 5);
+        record(hotKeys, "c", 1);
+
+        assertThat(hotKeys.top(2)).containsExactly(new HotKeys.HotKey<>("b", 5), new HotKeys.HotKey<>("a", 2));
+        assertThat(hotKeys.frequency("c")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a key should displace the coldest tracked key once it is accessed more often")
+    void shouldDisplaceColdestKey() {
+        HotKeys<String> hotKeys = new HotKeys<>(1_000, 2);
+        record(hotKeys, "a", 3);
+        record(hotKeys, "b", 1);
+
+        record(hotKeys, "c", 1);
+        assertThat(hotKeys.top(10)).extracting(HotKeys.HotKey::key).containsExactly("a", "b");
+
+        record(hotKeys, "c", 1);
+        assertThat(hotKeys.top(10)).extracting(HotKeys.HotKey::key).containsExactly("a", "c");
+    }
+
+    @Test
+    @DisplayName("record should return the estimated frequency of the key")
+    void shouldReturnFrequency() {
+        HotKeys<String> hotKeys = new HotKeys<>(1_000, 0);
+
+        assertThat(hotKeys.record("a")).isEqualTo(1);
+        assertThat(hotKeys.record("a")).isEqualTo(2);
+        assertThat(hotKeys.top(10)).isEmpty();
+    }
+
+    private static void record(HotKeys<String> hotKeys, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeys.record(key);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheBackend.CriteriaResults;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheBackend.LoanEntry;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheBackend.SavedLoan;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheBackend.SavedLoans;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InMemoryLoanCacheBackend Tests")
+class InMemoryLoanCacheBackendTest extends LoanCacheBackendContractTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final InMemoryLoanCacheBackend backend = new InMemoryLoanCacheBackend(100, 4, clock::get);
+
+    @Override
+    protected LoanCacheBackend backend() {
+        return backend;
+    }
+
+    @Test
+    @DisplayName("entries should expire after their ttl")
+    void shouldExpireEntries() {
+        backend.set(key("a"), "1", Duration.ofSeconds(5));
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+
+        assertThat(backend.ttl(key("a"))).isEqualTo(Duration.ofSeconds(1));
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertThat(backend.get(key("a"))).isNull();
+        assertThat(backend.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("should evict the least recently used key when full")
+    void shouldEvictLeastRecentlyUsedKey() {
+        InMemoryLoanCacheBackend small = new InMemoryLoanCacheBackend(3, 1, clock::get);
+        LoanApplication loan = loan(0, LoanStatus.PENDING);
+        small.saveLoan(new SavedLoan(new LoanEntry(key("loan"), key("version"), key("stale"), key("history"), loan,
+                Duration.ofMinutes(1), Duration.ZERO), null, key("identity"), Duration.ofMinutes(1),
+                key("gen:identity"), key("gen:all"), Duration.ofMinutes(2)));
+        small.get(key("version"));
+        small.set(key("a"), "1", Duration.ofMinutes(1));
+        small.set(key("b"), "2", Duration.ofMinutes(1));
+
+        assertThat(small.size()).isEqualTo(3);
+        assertThat(small.evictionCount()).isEqualTo(3);
+        assertThat(small.get(key("version"))).isEqualTo(0L);
+        assertThat(small.get(key("gen:all"))).isNull();
+        assertThat(small.get(key("b"))).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("should drop the criteria results cached under a generation counter that is evicted")
+    void shouldDropResultsOfEvictedGeneration() {
+        InMemoryLoanCacheBackend small = new InMemoryLoanCacheBackend(2, 1, clock::get);
+        small.setCriteriaResults(criteria(0, key("results")));
+
+        small.set(key("a"), "1", Duration.ofMinutes(1));
+
+        assertThat(small.get(key("gen"))).isNull();
+        assertThat(small.get(key("results"))).isNull();
+        assertThat(small.get(key("a"))).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("should drop the criteria results cached under a generation counter that expires")
+    void shouldDropResultsOfExpiredGeneration() {
+        backend.setCriteriaResults(new CriteriaResults(key("gen"), 0, key("results"), List.of(loan(0, LoanStatus.PENDING)),
+                Duration.ofMinutes(10), Duration.ofMinutes(2)));
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertThat(backend.get(key("gen"))).isNull();
+        assertThat(backend.get(key("results"))).isNull();
+    }
+
+    @Test
+    @DisplayName("should not cache criteria results under a generation the counter no longer holds")
+    void shouldSkipResultsOfOtherGeneration() {
+        backend.setCriteriaResults(criteria(0, key("current")));
+        backend.indexSavedLoans(new SavedLoans(List.of(), Map.of(), List.of(key("gen")), Duration.ofMinutes(20)));
+
+        backend.setCriteriaResults(criteria(2, key("stale")));
+
+        assertThat(backend.get(key("gen"))).isEqualTo(1L);
+        assertThat(backend.get(key("current"))).isNull();
+        assertThat(backend.get(key("stale"))).isNull();
+    }
+
+    @Test
+    @DisplayName("should keep multi-key updates atomic under concurrent callers")
+    void shouldBumpGenerationsAtomically() throws InterruptedException {
+        SavedLoans bump = new SavedLoans(List.of(key("history")), Map.of(), List.of(key("gen:a"), key("gen:b")),
+                Duration.ofMinutes(20));
+        List<Thread> threads = IntStream.range(0, 8)
+                .mapToObj(i -> Thread.ofPlatform().start(() -> IntStream.range(0, 1000)
+                        .forEach(n -> backend.indexSavedLoans(bump))))
+                .toList();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(backend.get(key("gen:a"))).isEqualTo(8000L);
+        assertThat(backend.get(key("gen:b"))).isEqualTo(8000L);
+    }
+
+    @Test
+    @DisplayName("should hand out copies, so callers mutating a loan do not change what is cached")
+    void shouldCopyLoans() {
+        backend.setLoans(List.of(new LoanEntry(key("loan"), key("version"), key("stale"), key("history"),
+                loan(0, LoanStatus.PENDING), Duration.ofMinutes(1), Duration.ZERO)));
+
+        ((LoanApplication) backend.getLoan(key("loan"))).approve();
+
+        assertThat(backend.getLoanStatus(key("loan"))).isEqualTo(LoanStatus.PENDING);
+    }
+
+    private CriteriaResults criteria(long generation, String key) {
+        return new CriteriaResults(key("gen"), generation, key, List.of(loan(0, LoanStatus.PENDING)),
+                Duration.ofMinutes(10), Duration.ofMinutes(20));
+    }
+
+    @Test
+    @DisplayName("should reject a non-positive maximum size")
+    void shouldRejectInvalidMaximumSize() {
+        assertThatThrownBy(() -> new InMemoryLoanCacheBackend(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
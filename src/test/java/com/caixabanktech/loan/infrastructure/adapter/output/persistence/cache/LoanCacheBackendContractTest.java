@@ -0,0 +1,304 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.ApplicantIdentity;
+import com.caixabanktech.loan.domain.model.LoanAmount;
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheBackend.CriteriaResults;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheBackend.DeletedLoan;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheBackend.LoanEntry;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheBackend.SavedLoan;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheBackend.SavedLoans;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Behaviour every {@link LoanCacheBackend} must share, so the loan cache works the same on any of them. Each
+ * implementation's test extends this class and provides the backend.
+ */
+abstract class LoanCacheBackendContractTest {
+
+    private static final Instant CREATED = Instant.parse("2024-05-01T10:00:00Z");
+    private static final Duration TTL = Duration.ofMinutes(1);
+    private static final Duration GENERATION_TTL = Duration.ofMinutes(2);
+
+    // Keys are unique per test so a shared Redis never carries state between tests
+    private final String prefix = "test:" + UUID.randomUUID() + ":";
+    private final LoanId id = new LoanId(UUID.randomUUID());
+
+    protected abstract LoanCacheBackend backend();
+
+    protected String key(String name) {
+        return prefix + name;
+    }
+
+    @Test
+    @DisplayName("get should return what set stored, and ttl its remaining time to live")
+    void shouldStorePlainValues() {
+        backend().set(key("criteria"), List.of(loan(0, LoanStatus.PENDING)), TTL);
+
+        assertThat(backend().get(key("criteria"))).asList().singleElement()
+                .usingRecursiveComparison().isEqualTo(loan(0, LoanStatus.PENDING));
+        assertThat(backend().ttl(key("criteria"))).isPositive().isLessThanOrEqualTo(TTL);
+    }
+
+    @Test
+    @DisplayName("setCriteriaResults should cache results computed under the current generation")
+    void shouldStoreCriteriaResults() {
+        backend().setCriteriaResults(new CriteriaResults(key("gen"), 0, key("criteria"),
+                List.of(loan(0, LoanStatus.PENDING)), TTL, GENERATION_TTL));
+
+        assertThat(backend().get(key("criteria"))).asList().singleElement()
+                .usingRecursiveComparison().isEqualTo(loan(0, LoanStatus.PENDING));
+        assertThat(backend().ttl(key("criteria"))).isPositive().isLessThanOrEqualTo(TTL);
+    }
+
+    @Test
+    @DisplayName("reads of absent keys should report nothing cached")
+    void shouldReportAbsentKeys() {
+        assertThat(backend().get(key("missing"))).isNull();
+        assertThat(backend().ttl(key("missing"))).isNull();
+        assertThat(backend().getLoan(key("missing"))).isNull();
+        assertThat(backend().getLoans(List.of(key("a"), key("b")))).containsExactly(null, null);
+        assertThat(backend().getLoanStatus(key("missing"))).isNull();
+        assertThat(backend().getHistory(key("missing"))).isEmpty();
+        assertThat(backend().getMembers(key("missing"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("setLoans should cache each loan with its status and stale copy")
+    void shouldSetLoans() {
+        LoanApplication loan = loan(0, LoanStatus.APPROVED);
+
+        assertThat(backend().setLoans(List.of(entry(loan, Duration.ofHours(1))))).containsExactly(true);
+
+        assertThat(backend().getLoan(key("loan"))).usingRecursiveComparison().isEqualTo(loan);
+        assertThat(backend().getLoans(List.of(key("loan"), key("other")))).hasSize(2).last().isNull();
+        assertThat(backend().getLoanStatus(key("loan"))).isEqualTo(LoanStatus.APPROVED);
+        assertThat(backend().getLoan(key("stale"))).usingRecursiveComparison().isEqualTo(loan);
+        assertThat(backend().ttl(key("loan"))).isLessThanOrEqualTo(TTL);
+    }
+
+    @Test
+    @DisplayName("setLoans should skip the stale copy when its ttl is zero")
+    void shouldSkipStaleCopyWithoutStaleTtl() {
+        backend().setLoans(List.of(entry(loan(0, LoanStatus.PENDING), Duration.ZERO)));
+
+        assertThat(backend().getLoan(key("loan"))).isNotNull();
+        assertThat(backend().getLoan(key("stale"))).isNull();
+    }
+
+    @Test
+    @DisplayName("setLoans should never replace a newer version of a loan")
+    void shouldNotReplaceNewerLoan() {
+        backend().setLoans(List.of(entry(loan(1, LoanStatus.APPROVED), Duration.ZERO)));
+
+        assertThat(backend().setLoans(List.of(entry(loan(0, LoanStatus.PENDING), Duration.ZERO))))
+                .containsExactly(false);
+        assertThat(backend().getLoanStatus(key("loan"))).isEqualTo(LoanStatus.APPROVED);
+        assertThat(backend().setLoans(List.of(entry(loan(1, LoanStatus.REJECTED), Duration.ZERO))))
+                .containsExactly(true);
+    }
+
+    @Test
+    @DisplayName("setLoans should order loans by version, whatever their modification times")
+    void shouldOrderLoansByVersionNotModificationTime() {
+        // The node that saved version 2 has a clock behind the one that saved version 1
+        LoanApplication first = loan(1, LoanStatus.PENDING).toBuilder().modifiedAt(CREATED.plusSeconds(5)).build();
+        LoanApplication second = loan(2, LoanStatus.APPROVED).toBuilder().modifiedAt(CREATED).build();
+        backend().setLoans(List.of(entry(first, Duration.ZERO)));
+
+        assertThat(backend().setLoans(List.of(entry(second, Duration.ZERO)))).containsExactly(true);
+        assertThat(backend().setLoans(List.of(entry(first, Duration.ZERO)))).containsExactly(false);
+        assertThat(backend().getLoanStatus(key("loan"))).isEqualTo(LoanStatus.APPROVED);
+    }
+
+    @Test
+    @DisplayName("not-found markers should only be cached where nothing is cached yet")
+    void shouldCacheNotFoundMarkersIfAbsent() {
+        backend().setLoans(List.of(entry(loan(0, LoanStatus.PENDING), Duration.ZERO)));
+
+        backend().setLoanNotFound(key("loan"), TTL);
+        backend().setLoansNotFound(List.of(key("unknown"), key("other")), TTL);
+
+        assertThat(backend().getLoan(key("loan"))).isInstanceOf(LoanApplication.class);
+        assertThat(backend().getLoans(List.of(key("unknown"), key("other"))))
+                .containsExactly(CacheTombstone.VALUE, CacheTombstone.VALUE);
+        assertThat(backend().getLoanStatus(key("unknown"))).isEqualTo(CacheTombstone.VALUE);
+    }
+
+    @Test
+    @DisplayName("saveLoan should cache the loan, append it to the cached history and index, and bump the generations with an expiry")
+    void shouldMaintainCacheOnSave() {
+        LoanApplication pending = loan(0, LoanStatus.PENDING);
+        backend().setLoans(List.of(entry(pending, Duration.ZERO)));
+        backend().setHistory(key("history"), key("version"), List.of(pending), TTL);
+        backend().setMembersNotFound(key("identity"), TTL);
+        LoanApplication approved = loan(1, LoanStatus.APPROVED);
+
+        assertThat(backend().saveLoan(saved(approved, pending))).isTrue();
+
+        assertThat(backend().getLoanStatus(key("loan"))).isEqualTo(LoanStatus.APPROVED);
+        assertThat(backend().getHistory(key("history"))).extracting(loan -> ((LoanApplication) loan).getStatus())
+                .containsExactly(LoanStatus.PENDING, LoanStatus.APPROVED);
+        assertThat(backend().getMembers(key("identity"))).containsExactly(id.value().toString());
+        assertThat(backend().get(key("gen:identity"))).isEqualTo(backend().get(key("gen:all"))).isNotNull();
+        assertThat(backend().ttl(key("gen:identity"))).isGreaterThan(TTL).isLessThanOrEqualTo(GENERATION_TTL);
+        assertThat(backend().ttl(key("gen:all"))).isGreaterThan(TTL).isLessThanOrEqualTo(GENERATION_TTL);
+    }
+
+    @Test
+    @DisplayName("saveLoan should report a lost race and evict the history, whose order is then unknown")
+    void shouldRejectOlderSave() {
+        LoanApplication approved = loan(1, LoanStatus.APPROVED);
+        backend().setLoans(List.of(entry(approved, Duration.ZERO)));
+        backend().setHistory(key("history"), key("version"), List.of(approved), TTL);
+
+        assertThat(backend().saveLoan(saved(loan(0, LoanStatus.PENDING), null))).isFalse();
+
+        assertThat(backend().getLoanStatus(key("loan"))).isEqualTo(LoanStatus.APPROVED);
+        assertThat(backend().getHistory(key("history"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("saveLoan should evict the history rather than append to it when an earlier save never reached the cache")
+    void shouldEvictHistoryWhenSaveSkipsVersions() {
+        LoanApplication pending = loan(0, LoanStatus.PENDING);
+        LoanApplication approved = loan(1, LoanStatus.APPROVED);
+        backend().setLoans(List.of(entry(approved, Duration.ZERO)));
+        backend().setHistory(key("history"), key("version"), List.of(pending, approved), TTL);
+
+        // Version 2 was saved while the cache was unreachable
+        assertThat(backend().saveLoan(saved(loan(3, LoanStatus.CANCELLED), approved))).isTrue();
+
+        assertThat(backend().getHistory(key("history"))).isEmpty();
+        assertThat(backend().getLoanStatus(key("loan"))).isEqualTo(LoanStatus.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("setLoans should evict the history when it caches a newer version than the one the history ends on")
+    void shouldEvictHistoryWhenReadThroughMovesVersionOn() {
+        LoanApplication pending = loan(0, LoanStatus.PENDING);
+        LoanApplication approved = loan(1, LoanStatus.APPROVED);
+        backend().setLoans(List.of(entry(approved, Duration.ZERO)));
+        backend().setHistory(key("history"), key("version"), List.of(pending, approved), TTL);
+
+        // A read-through caches version 2 without the history ever seeing it
+        LoanApplication cancelled = loan(2, LoanStatus.CANCELLED);
+        backend().setLoans(List.of(entry(cancelled, Duration.ZERO)));
+        assertThat(backend().getHistory(key("history"))).isEmpty();
+
+        // Re-caching the same version leaves a rebuilt history alone
+        backend().setHistory(key("history"), key("version"), List.of(pending, approved, cancelled), TTL);
+        backend().setLoans(List.of(entry(cancelled, Duration.ZERO)));
+        assertThat(backend().getHistory(key("history"))).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("indexSavedLoans should evict the histories, add the ids to cached indexes only, and bump each generation once")
+    void shouldMaintainCacheOnBatchSave() {
+        LoanApplication pending = loan(0, LoanStatus.PENDING);
+        backend().setHistory(key("history"), key("version"), List.of(pending), TTL);
+        backend().setMembersNotFound(key("identity"), TTL);
+
+        backend().indexSavedLoans(new SavedLoans(List.of(key("history"), key("other-history")),
+                Map.of(key("identity"), List.of("a", "b"), key("uncached-identity"), List.of("c")),
+                List.of(key("gen:identity"), key("gen:all")), GENERATION_TTL));
+
+        assertThat(backend().getHistory(key("history"))).isEmpty();
+        assertThat(backend().getMembers(key("identity"))).containsExactlyInAnyOrder("a", "b");
+        assertThat(backend().getMembers(key("uncached-identity"))).isEmpty();
+        // Redis returns counters in the template's encoding, so compare their text
+        assertThat(String.valueOf(backend().get(key("gen:identity")))).isEqualTo("1");
+        assertThat(String.valueOf(backend().get(key("gen:all")))).isEqualTo("1");
+        assertThat(backend().ttl(key("gen:identity"))).isGreaterThan(TTL).isLessThanOrEqualTo(GENERATION_TTL);
+    }
+
+    @Test
+    @DisplayName("deleteLoan should evict the loan everywhere and keep older snapshots from being cached again")
+    void shouldMaintainCacheOnDelete() {
+        LoanApplication loan = loan(0, LoanStatus.PENDING);
+        backend().setLoans(List.of(entry(loan, Duration.ofHours(1))));
+        backend().setHistory(key("history"), key("version"), List.of(loan), TTL);
+        backend().addMembers(key("identity"), List.of(id.value().toString(), "other"), TTL);
+
+        backend().deleteLoan(new DeletedLoan(id.value().toString(), key("loan"), key("version"), key("stale"),
+                key("history"), key("gen:all"), key("identity"), key("gen:identity"), TTL, GENERATION_TTL));
+
+        assertThat(backend().getLoan(key("loan"))).isNull();
+        assertThat(backend().getLoan(key("stale"))).isNull();
+        assertThat(backend().getHistory(key("history"))).isEmpty();
+        assertThat(backend().getMembers(key("identity"))).containsExactly("other");
+        assertThat(backend().get(key("gen:all"))).isNotNull();
+        assertThat(backend().get(key("gen:identity"))).isNotNull();
+        assertThat(backend().ttl(key("gen:all"))).isGreaterThan(TTL).isLessThanOrEqualTo(GENERATION_TTL);
+        assertThat(backend().setLoans(List.of(entry(loan, Duration.ZERO)))).containsExactly(false);
+    }
+
+    @Test
+    @DisplayName("setHistory should neither replace a cached history nor cache one older than the cached loan")
+    void shouldCacheHistoryOnlyWhenCurrent() {
+        LoanApplication pending = loan(0, LoanStatus.PENDING);
+        LoanApplication approved = loan(1, LoanStatus.APPROVED);
+        backend().setHistory(key("history"), key("version"), List.of(pending), TTL);
+        backend().setHistory(key("history"), key("version"), List.of(pending, approved), TTL);
+
+        assertThat(backend().getHistory(key("history"))).hasSize(1);
+
+        backend().setLoans(List.of(new LoanEntry(key("newer"), key("newer-version"), key("newer-stale"),
+                key("newer-history"), approved, TTL, Duration.ZERO)));
+        backend().setHistory(key("newer-history"), key("newer-version"), List.of(pending), TTL);
+
+        assertThat(backend().getHistory(key("newer-history"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("identity indexes should add and remove members, and only cache the not-found marker when absent")
+    void shouldMaintainIndexes() {
+        backend().addMembers(key("identity"), List.of("a", "b"), TTL);
+        backend().removeMembers(key("identity"), List.of("a"));
+        backend().setMembersNotFound(key("identity"), TTL);
+        backend().setMembersNotFound(key("unknown"), TTL);
+
+        assertThat(backend().getMembers(key("identity"))).containsExactly("b");
+        assertThat(backend().getMembers(key("unknown"))).containsExactly(CacheTombstone.VALUE);
+
+        backend().removeMembers(key("identity"), List.of("b"));
+        backend().setMembersNotFound(key("identity"), TTL);
+
+        assertThat(backend().getMembers(key("identity"))).containsExactly(CacheTombstone.VALUE);
+    }
+
+    private LoanEntry entry(LoanApplication loan, Duration staleTtl) {
+        return new LoanEntry(key("loan"), key("version"), key("stale"), key("history"), loan, TTL, staleTtl);
+    }
+
+    private SavedLoan saved(LoanApplication loan, LoanApplication previous) {
+        return new SavedLoan(entry(loan, Duration.ofHours(1)), previous, key("identity"), TTL,
+                key("gen:identity"), key("gen:all"), GENERATION_TTL);
+    }
+
+    protected LoanApplication loan(long version, LoanStatus status) {
+        return LoanApplication.builder()
+                .id(id)
+                .applicantName("Alvaro de la Flor Bonilla")
+                .applicantIdentity(new ApplicantIdentity("12345678Z"))
+                .loanAmount(new LoanAmount(new BigDecimal("123.45"), Currency.getInstance("EUR")))
+                .createdAt(CREATED)
+                .modifiedAt(CREATED)
+                .status(status)
+                .version(version)
+                .build();
+    }
+}
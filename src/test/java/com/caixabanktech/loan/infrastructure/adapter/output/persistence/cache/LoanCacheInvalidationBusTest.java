@@ -0,0 +1,136 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoanCacheInvalidationBus Tests")
+class LoanCacheInvalidationBusTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private NearCache<LoanId, LoanApplication> nearCache;
+
+    @Mock
+    private RedisSerializer<Object> valueSerializer;
+
+    private LoanCacheInvalidationBus bus;
+    private final LoanId loanId = new LoanId(UUID.randomUUID());
+
+    @BeforeEach
+    void setUp() {
+        bus = new LoanCacheInvalidationBus(redisTemplate, nearCache);
+    }
+
+    @Test
+    @DisplayName("publish should send the node id and loan id on the invalidation channel")
+    void shouldPublishInvalidation() {
+        bus.publish(loanId);
+
+        verify(redisTemplate).convertAndSend(LoanCacheInvalidationBus.CHANNEL, bus.nodeId() + "|" + loanId.value());
+    }
+
+    @Test
+    @DisplayName("publish should not fail when Redis is unavailable")
+    void shouldNotFailOnPublishError() {
+        doThrow(new RuntimeException("Redis down")).when(redisTemplate).convertAndSend(anyString(), any());
+
+        assertThatCode(() -> bus.publish(loanId)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("publish should do nothing on a disabled bus, which has no other node to notify")
+    void shouldNotPublishWhenDisabled() {
+        assertThatCode(() -> LoanCacheInvalidationBus.disabled().publish(loanId)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("onMessage should evict the near cache entry for messages from other nodes")
+    void shouldEvictOnRemoteMessage() {
+        givenPayload("other-node|" + loanId.value());
+
+        bus.onMessage(new DefaultMessage(new byte[0], new byte[0]), null);
+
+        verify(nearCache).invalidate(loanId);
+    }
+
+    @Test
+    @DisplayName("publishAll should send several loan ids in one message, and nothing for none")
+    void shouldPublishBatchInvalidation() {
+        LoanId other = new LoanId(UUID.randomUUID());
+
+        bus.publishAll(List.of(loanId, other));
+        bus.publishAll(List.of());
+
+        verify(redisTemplate).convertAndSend(LoanCacheInvalidationBus.CHANNEL,
+                bus.nodeId() + "|" + loanId.value() + "," + other.value());
+        verifyNoMoreInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("onMessage should evict every loan of a batch message")
+    void shouldEvictEveryLoanOfBatchMessage() {
+        LoanId other = new LoanId(UUID.randomUUID());
+        givenPayload("other-node|" + loanId.value() + "," + other.value());
+
+        bus.onMessage(new DefaultMessage(new byte[0], new byte[0]), null);
+
+        verify(nearCache).invalidate(loanId);
+        verify(nearCache).invalidate(other);
+    }
+
+    @Test
+    @DisplayName("onMessage should ignore messages published by this node")
+    void shouldIgnoreOwnMessages() {
+        givenPayload(bus.nodeId() + "|" + loanId.value());
+
+        bus.onMessage(new DefaultMessage(new byte[0], new byte[0]), null);
+
+        verify(nearCache, never()).invalidate(any());
+    }
+
+    @Test
+    @DisplayName("onMessage should ignore malformed payloads")
+    void shouldIgnoreMalformedPayloads() {
+        givenPayload("no-separator");
+        bus.onMessage(new DefaultMessage(new byte[0], new byte[0]), null);
+
+        givenPayload(42);
+        bus.onMessage(new DefaultMessage(new byte[0], new byte[0]), null);
+
+        givenPayload("other-node|not-a-uuid");
+        bus.onMessage(new DefaultMessage(new byte[0], new byte[0]), null);
+
+        verify(nearCache, never()).invalidate(any());
+    }
+
+    private void givenPayload(Object payload) {
+        doReturn(valueSerializer).when(redisTemplate).getValueSerializer();
+        when(valueSerializer.deserialize(any())).thenReturn(payload);
+    }
+}
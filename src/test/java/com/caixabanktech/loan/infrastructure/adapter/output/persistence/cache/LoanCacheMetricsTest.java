@@ -0,0 +1,93 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics.Family;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics.Tier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LoanCacheMetrics Tests")
+class LoanCacheMetricsTest {
+
+    private final LoanCacheMetrics metrics = new LoanCacheMetrics();
+
+    @Test
+    @DisplayName("should count outcomes per family and tier independently")
+    void shouldCountPerFamilyAndTier() {
+        metrics.recordHit(Family.LOAN, Tier.L1);
+        metrics.recordHit(Family.LOAN, Tier.L1);
+        metrics.recordMiss(Family.LOAN, Tier.L2);
+        metrics.recordError(Family.HISTORY, Tier.L2);
+
+        assertThat(metrics.hitCount(Family.LOAN, Tier.L1)).isEqualTo(2);
+        assertThat(metrics.hitCount(Family.LOAN, Tier.L2)).isZero();
+        assertThat(metrics.missCount(Family.LOAN, Tier.L2)).isEqualTo(1);
+        assertThat(metrics.errorCount(Family.HISTORY, Tier.L2)).isEqualTo(1);
+        assertThat(metrics.errorCount(Family.LOAN, Tier.L2)).isZero();
+    }
+
+    @Test
+    @DisplayName("scrape should render counters with family, tier and outcome labels")
+    void shouldRenderCounters() {
+        metrics.recordHit(Family.IDENTITY, Tier.L2);
+        metrics.recordMiss(Family.IDENTITY, Tier.L2);
+        metrics.recordMiss(Family.IDENTITY, Tier.L2);
+
+        String scrape = metrics.scrape();
+
+        assertThat(scrape)
+                .contains("# TYPE loan_cache_requests_total counter\n")
+                .contains("loan_cache_requests_total{family=\"identity\",tier=\"l2\",outcome=\"hit\"} 1\n")
+                .contains("loan_cache_requests_total{family=\"identity\",tier=\"l2\",outcome=\"miss\"} 2\n")
+                .contains("loan_cache_requests_total{family=\"criteria\",tier=\"db\",outcome=\"error\"} 0\n");
+    }
+
+    @Test
+    @DisplayName("scrape should render latencies in seconds as a summary with its maximum")
+    void shouldRenderLatencies() {
+        metrics.recordLatency(Family.HISTORY, Tier.DB, TimeUnit.MILLISECONDS.toNanos(250));
+        metrics.recordLatency(Family.HISTORY, Tier.DB, TimeUnit.MILLISECONDS.toNanos(750));
+
+        String scrape = metrics.scrape();
+
+        assertThat(metrics.callCount(Family.HISTORY, Tier.DB)).isEqualTo(2);
+        assertThat(scrape)
+                .contains("# TYPE loan_cache_latency_seconds summary\n")
+                .contains("loan_cache_latency_seconds_count{family=\"history\",tier=\"db\"} 2\n")
+                .contains("loan_cache_latency_seconds_sum{family=\"history\",tier=\"db\"} 1\n")
+                .contains("loan_cache_latency_seconds_max{family=\"history\",tier=\"db\"} 0.75\n");
+    }
+
+    @Test
+    @DisplayName("scrape should sample registered gauges on every call")
+    void shouldSampleGauges() {
+        int[] size = {3};
+        metrics.gauge("loan_cache_near_size", "Entries in the near cache.", () -> size[0]);
+        assertThat(metrics.scrape()).contains("# HELP loan_cache_near_size Entries in the near cache.\n", "loan_cache_near_size 3\n");
+
+        size[0] = 5;
+
+        assertThat(metrics.scrape()).contains("loan_cache_near_size 5\n");
+    }
+
+    @Test
+    @DisplayName("scrape should render registered counters with the counter type")
+    void shouldRenderRegisteredCounters() {
+        long[] attempts = {7};
+        metrics.counter("loan_update_attempts_total", "Status transition attempts.", () -> attempts[0]);
+
+        assertThat(metrics.scrape()).contains(
+                "# TYPE loan_update_attempts_total counter\n", "loan_update_attempts_total 7\n");
+    }
+
+    @Test
+    @DisplayName("counter should reject names without the _total suffix")
+    void shouldRejectCounterWithoutTotalSuffix() {
+        assertThatThrownBy(() -> metrics.counter("loan_update_attempts", "Status transition attempts.", () -> 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
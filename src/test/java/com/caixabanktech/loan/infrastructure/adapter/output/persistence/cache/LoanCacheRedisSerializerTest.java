@@ -0,0 +1,205 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.ApplicantIdentity;
+import com.caixabanktech.loan.domain.model.LoanAmount;
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LoanCacheRedisSerializer Tests")
+class LoanCacheRedisSerializerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanCacheRedisSerializerTest.class);
+
+    private GenericJackson2JsonRedisSerializer json;
+    private LoanCacheRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        // Same mapper setup as RedisConfig used before the binary codec
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        json = new GenericJackson2JsonRedisSerializer(objectMapper);
+        serializer = new LoanCacheRedisSerializer(json);
+    }
+
+    @Test
+    @DisplayName("should round-trip a loan through the binary format")
+    void shouldRoundTripLoan() {
+        LoanApplication loan = loan(LoanStatus.APPROVED);
+
+        byte[] bytes = serializer.serialize(loan);
+
+        assertThat(bytes[0]).isEqualTo(LoanCacheRedisSerializer.MAGIC);
+        assertThat(bytes[1]).isEqualTo(LoanCacheRedisSerializer.VERSION);
+        assertThat(bytes[2]).isEqualTo(LoanCacheRedisSerializer.TYPE_LOAN);
+        assertThat(serializer.deserialize(bytes)).usingRecursiveComparison().isEqualTo(loan);
+    }
+
+    @Test
+    @DisplayName("should round-trip a list of loans through the binary format")
+    void shouldRoundTripLoanList() {
+        List<LoanApplication> loans = List.of(loan(LoanStatus.PENDING), loan(LoanStatus.CANCELLED));
+
+        byte[] bytes = serializer.serialize(loans);
+
+        assertThat(bytes[2]).isEqualTo(LoanCacheRedisSerializer.TYPE_LOAN_LIST);
+        assertThat(serializer.deserialize(bytes)).usingRecursiveComparison().isEqualTo(loans);
+    }
+
+    @Test
+    @DisplayName("should encode empty lists in the binary format")
+    void shouldRoundTripEmptyList() {
+        byte[] bytes = serializer.serialize(List.of());
+
+        assertThat(bytes[2]).isEqualTo(LoanCacheRedisSerializer.TYPE_LOAN_LIST);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(List.of());
+    }
+
+    @Test
+    @DisplayName("should keep non-ASCII names and nanosecond timestamps")
+    void shouldKeepNamesAndTimestampPrecision() {
+        LoanApplication loan = loan(LoanStatus.REJECTED).toBuilder()
+                .applicantName("Íñigo Muñoz")
+                .createdAt(Instant.ofEpochSecond(1_700_000_000L, 123_456_789))
+                .build();
+
+        assertThat(serializer.deserialize(serializer.serialize(loan))).usingRecursiveComparison().isEqualTo(loan);
+    }
+
+    @Test
+    @DisplayName("should delegate other values to the fallback serializer")
+    void shouldDelegateOtherValues() {
+        assertThat(serializer.serialize(CacheTombstone.VALUE)).isEqualTo(json.serialize(CacheTombstone.VALUE));
+        assertThat(serializer.deserialize(serializer.serialize(CacheTombstone.VALUE))).isEqualTo(CacheTombstone.VALUE);
+        assertThat(serializer.deserialize(serializer.serialize(42))).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("should fall back to JSON for amounts that do not fit in a long of minor units")
+    void shouldFallBackForHugeAmounts() {
+        LoanApplication loan = loan(LoanStatus.PENDING).toBuilder()
+                .loanAmount(new LoanAmount(new BigDecimal("99999999999999999999.99"), Currency.getInstance("EUR")))
+                .build();
+
+        byte[] bytes = serializer.serialize(loan);
+
+        assertThat(bytes[0]).isNotEqualTo(LoanCacheRedisSerializer.MAGIC);
+        assertThat(serializer.deserialize(bytes)).usingRecursiveComparison().isEqualTo(loan);
+    }
+
+    @Test
+    @DisplayName("should read loans cached as JSON before the binary codec was introduced")
+    void shouldReadLegacyJson() {
+        LoanApplication loan = loan(LoanStatus.APPROVED);
+
+        assertThat(serializer.deserialize(json.serialize(loan))).usingRecursiveComparison().isEqualTo(loan);
+    }
+
+    @Test
+    @DisplayName("should treat values written by another codec version as a miss")
+    void shouldTreatUnknownVersionAsMiss() {
+        byte[] bytes = serializer.serialize(loan(LoanStatus.APPROVED));
+        bytes[1] = (byte) (LoanCacheRedisSerializer.VERSION + 1);
+        byte[] older = serializer.serialize(loan(LoanStatus.APPROVED));
+        older[1] = (byte) (LoanCacheRedisSerializer.VERSION - 1);
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+        assertThat(serializer.deserialize(older)).isNull();
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("should fail with SerializationException on truncated values")
+    void shouldFailOnTruncatedValues() {
+        byte[] bytes = serializer.serialize(loan(LoanStatus.APPROVED));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+
+        assertThatThrownBy(() -> serializer.deserialize(truncated)).isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    @DisplayName("should be several times smaller than the JSON encoding")
+    void shouldBeSmallerThanJson() {
+        LoanApplication loan = loan(LoanStatus.APPROVED);
+        List<LoanApplication> history = new ArrayList<>();
+        for (int i = 0; i < 20; i++) history.add(loan(LoanStatus.values()[i % 4]));
+
+        int binaryLoan = serializer.serialize(loan).length;
+        int jsonLoan = json.serialize(loan).length;
+        int binaryList = serializer.serialize(history).length;
+        int jsonList = json.serialize(history).length;
+        log.info("Encoded size - loan: binary {} B vs JSON {} B; 20-entry list: binary {} B vs JSON {} B",
+                binaryLoan, jsonLoan, binaryList, jsonList);
+
+        assertThat(binaryLoan * 3).isLessThan(jsonLoan);
+        assertThat(binaryList * 3).isLessThan(jsonList);
+    }
+
+    @Test
+    @DisplayName("should report round-trip throughput against the JSON encoding")
+    void shouldReportThroughput() {
+        LoanApplication loan = loan(LoanStatus.APPROVED);
+        int iterations = 20_000;
+
+        // Warm up both paths before measuring
+        roundTrips(json, loan, iterations);
+        roundTrips(serializer, loan, iterations);
+
+        long jsonNanos = roundTrips(json, loan, iterations);
+        long binaryNanos = roundTrips(serializer, loan, iterations);
+        log.info("Round-trips per second - binary {} vs JSON {}",
+                iterations * 1_000_000_000L / binaryNanos, iterations * 1_000_000_000L / jsonNanos);
+
+        assertThat(binaryNanos).isPositive();
+        assertThat(jsonNanos).isPositive();
+    }
+
+    private static long roundTrips(RedisSerializer<Object> codec, LoanApplication loan, int iterations) {
+        long start = System.nanoTime();
+        Object last = null;
+        for (int i = 0; i < iterations; i++) {
+            last = codec.deserialize(codec.serialize(loan));
+        }
+        assertThat(last).isNotNull();
+        return System.nanoTime() - start;
+    }
+
+    private static LoanApplication loan(LoanStatus status) {
+        return LoanApplication.builder()
+                .id(new LoanId(UUID.randomUUID()))
+                .applicantName("John Doe")
+                .applicantIdentity(new ApplicantIdentity("12345678Z"))
+                .loanAmount(new LoanAmount(new BigDecimal("25000.50"), Currency.getInstance("EUR")))
+                .createdAt(Instant.parse("2024-05-01T10:15:30.123Z"))
+                .modifiedAt(Instant.parse("2024-05-02T08:00:00Z"))
+                .status(status)
+                .version(7)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.ApplicantIdentity;
+import com.caixabanktech.loan.domain.model.LoanAmount;
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LoanCacheScripts Tests")
+class LoanCacheScriptsTest {
+
+    @Test
+    @DisplayName("version should be the optimistic locking version, whatever the modification time")
+    void shouldUseLoanVersion() {
+        LoanApplication loan = aLoan().modifiedAt(Instant.parse("2024-05-01T10:15:30.123456789Z")).version(7).build();
+
+        assertThat(LoanCacheScripts.version(loan)).isEqualTo(7L);
+        assertThat(LoanCacheScripts.version(loan.toBuilder().modifiedAt(Instant.parse("2020-01-01T00:00:00Z")).build()))
+                .isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("version should stay below the deleted marker")
+    void shouldOrderDeletedVersionLast() {
+        assertThat(LoanCacheScripts.version(aLoan().version(Long.MAX_VALUE - 1).build()))
+                .isLessThan(LoanCacheScripts.DELETED_VERSION);
+    }
+
+    private static LoanApplication.LoanApplicationBuilder aLoan() {
+        return LoanApplication.builder()
+                .id(new LoanId(UUID.randomUUID()))
+                .applicantName("Alvaro de la Flor Bonilla")
+                .applicantIdentity(new ApplicantIdentity("12345678Z"))
+                .loanAmount(new LoanAmount(new BigDecimal("123.45"), Currency.getInstance("EUR")))
+                .createdAt(Instant.parse("2024-05-01T10:00:00Z"))
+                .modifiedAt(Instant.parse("2024-05-01T10:00:00Z"))
+                .status(LoanStatus.PENDING);
+    }
+}
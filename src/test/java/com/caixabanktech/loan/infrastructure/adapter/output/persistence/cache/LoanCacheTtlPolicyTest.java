@@ -0,0 +1,65 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics.Family;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LoanCacheTtlPolicy Tests")
+class LoanCacheTtlPolicyTest {
+
+    private static final Map<Family, Duration> TTLS = Map.of(Family.LOAN, Duration.ofMinutes(10),
+            Family.HISTORY, Duration.ofMinutes(10), Family.IDENTITY, Duration.ofMinutes(3), Family.CRITERIA, Duration.ofMinutes(1));
+    private static final Map<Family, Map<LoanStatus, Duration>> BY_STATUS = Map.of(Family.LOAN,
+            Map.of(LoanStatus.PENDING, Duration.ofMinutes(5), LoanStatus.CANCELLED, Duration.ofHours(24)));
+
+    @Test
+    @DisplayName("should use the status override when there is one and the family TTL otherwise")
+    void shouldResolveTtlByStatus() {
+        LoanCacheTtlPolicy policy = new LoanCacheTtlPolicy(TTLS, BY_STATUS, 0);
+
+        assertThat(policy.ttl(Family.LOAN, LoanStatus.PENDING)).isEqualTo(Duration.ofMinutes(5));
+        assertThat(policy.ttl(Family.LOAN, LoanStatus.CANCELLED)).isEqualTo(Duration.ofHours(24));
+        assertThat(policy.ttl(Family.LOAN, LoanStatus.APPROVED)).isEqualTo(Duration.ofMinutes(10));
+        assertThat(policy.ttl(Family.HISTORY, LoanStatus.CANCELLED)).isEqualTo(Duration.ofMinutes(10));
+        assertThat(policy.ttl(Family.IDENTITY)).isEqualTo(Duration.ofMinutes(3));
+        assertThat(policy.ttl(Family.CRITERIA)).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("should spread TTLs by up to the jitter fraction in both directions")
+    void shouldApplyJitter() {
+        double[] next = {0.0};
+        LoanCacheTtlPolicy policy = new LoanCacheTtlPolicy(TTLS, BY_STATUS, 0.1, () -> next[0]);
+
+        assertThat(policy.ttl(Family.LOAN, LoanStatus.APPROVED)).isEqualTo(Duration.ofMinutes(9));
+        next[0] = 0.5;
+        assertThat(policy.ttl(Family.LOAN, LoanStatus.APPROVED)).isEqualTo(Duration.ofMinutes(10));
+        next[0] = 0.999999;
+        assertThat(policy.ttl(Family.LOAN, LoanStatus.APPROVED)).isBetween(Duration.ofMinutes(10), Duration.ofMinutes(11));
+        assertThat(policy.baseTtl(Family.LOAN, LoanStatus.APPROVED)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("generation counters should outlive the longest jittered criteria TTL")
+    void shouldOutliveCriteriaResultsWithGenerationTtl() {
+        LoanCacheTtlPolicy policy = new LoanCacheTtlPolicy(TTLS, BY_STATUS, 0.99, () -> 0.999999);
+
+        assertThat(policy.generationTtl()).isEqualTo(Duration.ofMinutes(2)).isGreaterThan(policy.ttl(Family.CRITERIA));
+    }
+
+    @Test
+    @DisplayName("should reject missing TTLs and out of range jitter")
+    void shouldValidateConfiguration() {
+        assertThatThrownBy(() -> new LoanCacheTtlPolicy(Map.of(Family.LOAN, Duration.ofMinutes(1)), Map.of(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LoanCacheTtlPolicy(TTLS, BY_STATUS, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.domain.model.ApplicantIdentity;
+import com.caixabanktech.loan.domain.model.LoanAmount;
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@DisplayName("LoanHashCodec Tests")
+class LoanHashCodecTest {
+
+    @Test
+    @DisplayName("should round-trip a loan through its hash fields")
+    void shouldRoundTripLoan() {
+        LoanApplication loan = loan();
+
+        Map<String, String> fields = LoanHashCodec.encode(loan);
+
+        assertThat(fields).contains(entry(LoanHashCodec.STATUS, "PENDING"), entry(LoanHashCodec.AMOUNT, "25000.50"),
+                entry(LoanHashCodec.VERSION, "7"),
+                entry(LoanHashCodec.MODIFIED_AT, "2024-05-02T08:00:00.000001Z"));
+        assertThat(LoanHashCodec.decode(fields)).usingRecursiveComparison().isEqualTo(loan);
+    }
+
+    @Test
+    @DisplayName("changedFields should keep only status, modification time and version after a transition")
+    void shouldReturnChangedFieldsOnly() {
+        LoanApplication before = loan();
+        LoanApplication after = before.toBuilder().status(LoanStatus.APPROVED)
+                .modifiedAt(before.getModifiedAt().plusSeconds(60)).version(8).build();
+
+        assertThat(LoanHashCodec.changedFields(before, after)).containsExactly(
+                entry(LoanHashCodec.MODIFIED_AT, "2024-05-02T08:01:00.000001Z"), entry(LoanHashCodec.STATUS, "APPROVED"),
+                entry(LoanHashCodec.VERSION, "8"));
+        assertThat(LoanHashCodec.changedFields(before, before)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("decode should recognise the not-found marker and treat missing or partial hashes as misses")
+    void shouldDecodeMarkerAndMisses() {
+        Map<String, String> partial = new HashMap<>(LoanHashCodec.encode(loan()));
+        partial.remove(LoanHashCodec.APPLICANT_NAME);
+        Map<String, String> unversioned = new HashMap<>(LoanHashCodec.encode(loan()));
+        unversioned.remove(LoanHashCodec.VERSION);
+
+        assertThat(LoanHashCodec.decode(Map.of(LoanHashCodec.NOT_FOUND, "1"))).isEqualTo(CacheTombstone.VALUE);
+        assertThat(LoanHashCodec.decode(Map.of())).isNull();
+        assertThat(LoanHashCodec.decode(null)).isNull();
+        assertThat(LoanHashCodec.decode(partial)).isNull();
+        assertThat(LoanHashCodec.decode(unversioned)).isNull();
+    }
+
+    @Test
+    @DisplayName("script arguments should be sent as text, pre-encoded values as they are")
+    void shouldSerializeScriptArguments() {
+        byte[] encoded = {(byte) 0xB1, 1};
+
+        assertThat(LoanHashCodec.SCRIPT_ARGS.serialize(42L)).isEqualTo("42".getBytes(StandardCharsets.UTF_8));
+        assertThat(LoanHashCodec.SCRIPT_ARGS.serialize("APPROVED")).isEqualTo("APPROVED".getBytes(StandardCharsets.UTF_8));
+        assertThat(LoanHashCodec.SCRIPT_ARGS.serialize(encoded)).isSameAs(encoded);
+    }
+
+    private static LoanApplication loan() {
+        return LoanApplication.builder()
+                .id(new LoanId(UUID.randomUUID()))
+                .applicantName("John Doe")
+                .applicantIdentity(new ApplicantIdentity("12345678Z"))
+                .loanAmount(new LoanAmount(new BigDecimal("25000.50"), Currency.getInstance("EUR")))
+                .createdAt(Instant.parse("2024-05-01T10:15:30.123Z"))
+                .modifiedAt(Instant.parse("2024-05-02T08:00:00.000001Z"))
+                .status(LoanStatus.PENDING)
+                .version(7)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NearCache Tests")
+class NearCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("get should return stored values and record hits and misses")
+    void shouldReturnStoredValues() {
+        NearCache<String, String> cache = new NearCache<>(10, Duration.ofSeconds(5), clock::get);
+        cache.put("a", "1");
+
+        assertThat(cache.get("a")).contains("1");
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("peek should return unexpired values without recording lookups")
+    void shouldPeekWithoutStats() {
+        NearCache<String, String> cache = new NearCache<>(10, Duration.ofSeconds(5), clock::get);
+        cache.put("a", "1");
+
+        assertThat(cache.peek("a")).contains("1");
+        assertThat(cache.peek("b")).isEmpty();
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(cache.peek("a")).isEmpty();
+        assertThat(cache.stats().hitCount()).isZero();
+        assertThat(cache.stats().missCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("get should expire entries once their TTL has elapsed")
+    void shouldExpireEntries() {
+        NearCache<String, String> cache = new NearCache<>(10, Duration.ofSeconds(5), clock::get);
+        cache.put("a", "1");
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("put should evict the least recently used entry when full")
+    void shouldEvictLeastRecentlyUsed() {
+        NearCache<String, String> cache = new NearCache<>(2, Duration.ofSeconds(5), clock::get);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+
+        cache.put("c", "3");
+
+        assertThat(cache.get("a")).contains("1");
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("c")).contains("3");
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("invalidate and invalidateAll should remove entries")
+    void shouldInvalidateEntries() {
+        NearCache<String, String> cache = new NearCache<>(10, Duration.ofSeconds(5));
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        cache.invalidate("a");
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("A zero maximum size should disable the cache")
+    void shouldBeDisabledWithZeroSize() {
+        NearCache<String, String> cache = new NearCache<>(0, Duration.ofSeconds(5));
+        cache.put("a", "1");
+
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.maximumSize()).isZero();
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("offer should only admit keys accessed at least the admission threshold")
+    void shouldAdmitFrequentKeysOnly() {
+        Map<String, Integer> frequencies = new HashMap<>(Map.of("once", 1, "twice", 2));
+        NearCache<String, String> cache = new NearCache<>(10, Duration.ofSeconds(5), frequencies::get, 2, clock::get);
+
+        assertThat(cache.offer("once", "1")).isFalse();
+        assertThat(cache.offer("twice", "2")).isTrue();
+
+        assertThat(cache.peek("once")).isEmpty();
+        assertThat(cache.peek("twice")).contains("2");
+        assertThat(cache.rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("offer on a full cache should only evict an entry accessed less often than the candidate")
+    void shouldCompareCandidateWithVictimWhenFull() {
+        Map<String, Integer> frequencies = new HashMap<>(Map.of("a", 5, "b", 9, "c", 5, "d", 6));
+        NearCache<String, String> cache = new NearCache<>(2, Duration.ofSeconds(5), frequencies::get, 2, clock::get);
+        cache.offer("a", "1");
+        cache.offer("b", "2");
+
+        assertThat(cache.offer("c", "3")).isFalse();
+        assertThat(cache.offer("d", "4")).isTrue();
+
+        assertThat(cache.peek("a")).isEmpty();
+        assertThat(cache.peek("b")).contains("2");
+        assertThat(cache.peek("d")).contains("4");
+    }
+
+    @Test
+    @DisplayName("offer should always refresh keys already cached, and admit everything without a policy")
+    void shouldRefreshCachedKeysWithoutAdmission() {
+        Map<String, Integer> frequencies = new HashMap<>(Map.of("a", 0));
+        NearCache<String, String> admitting = new NearCache<>(10, Duration.ofSeconds(5), frequencies::get, 2, clock::get);
+        admitting.put("a", "1");
+        NearCache<String, String> unrestricted = new NearCache<>(10, Duration.ofSeconds(5), clock::get);
+
+        assertThat(admitting.offer("a", "2")).isTrue();
+        assertThat(admitting.peek("a")).contains("2");
+        assertThat(unrestricted.offer("b", "1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Constructor should reject a negative maximum size")
+    void shouldRejectNegativeSize() {
+        assertThatThrownBy(() -> new NearCache<String, String>(-1, Duration.ofSeconds(5)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
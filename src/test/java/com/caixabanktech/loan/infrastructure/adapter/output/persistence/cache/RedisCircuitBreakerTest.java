@@ -0,0 +1,172 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("RedisCircuitBreaker Tests")
+class RedisCircuitBreakerTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+    private static final Duration OPEN = Duration.ofSeconds(15);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Runnable> probes = new ArrayList<>();
+    private final AtomicBoolean redisUp = new AtomicBoolean();
+    private final AtomicInteger probeCalls = new AtomicInteger();
+    private RedisCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new RedisCircuitBreaker(this::ping, probes::add, 3, WINDOW, OPEN, clock::get);
+    }
+
+    @Test
+    @DisplayName("should open after the failure threshold is reached within the window")
+    void shouldOpenAfterThreshold() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertThat(breaker.allowRequest()).isTrue();
+
+        breaker.recordFailure();
+
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+        assertThat(breaker.tripCount()).isEqualTo(1);
+        assertThat(breaker.shortCircuitedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should not count failures spread over more than the failure window")
+    void shouldForgetFailuresOutsideWindow() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        advance(WINDOW.plusSeconds(1));
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("should start a single background probe once the open period has elapsed")
+    void shouldProbeInBackgroundAfterOpenPeriod() {
+        trip();
+        advance(OPEN.minusSeconds(1));
+        assertThat(breaker.allowRequest()).isFalse();
+        assertThat(probes).isEmpty();
+
+        advance(Duration.ofSeconds(1));
+        assertThat(breaker.allowRequest()).isFalse();
+        assertThat(breaker.allowRequest()).isFalse();
+
+        assertThat(probes).hasSize(1);
+        assertThat(probeCalls).hasValue(0);
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    @DisplayName("should close when the probe succeeds")
+    void shouldCloseOnSuccessfulProbe() {
+        trip();
+        advance(OPEN);
+        breaker.allowRequest();
+        redisUp.set(true);
+
+        runProbes();
+
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowRequest()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should stay open for another period when the probe fails")
+    void shouldReopenOnFailedProbe() {
+        trip();
+        advance(OPEN);
+        breaker.allowRequest();
+
+        runProbes();
+
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        breaker.allowRequest();
+        assertThat(probes).isEmpty();
+        advance(OPEN);
+        breaker.allowRequest();
+        assertThat(probes).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should stay open when the probe cannot be scheduled")
+    void shouldReopenWhenProbeIsRejected() {
+        breaker = new RedisCircuitBreaker(this::ping, task -> {
+            throw new RejectedExecutionException("full");
+        }, 1, WINDOW, OPEN, clock::get);
+        breaker.recordFailure();
+        advance(OPEN);
+
+        assertThat(breaker.allowRequest()).isFalse();
+
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("disabled breaker should never open")
+    void shouldNeverOpenWhenDisabled() {
+        RedisCircuitBreaker disabled = RedisCircuitBreaker.disabled();
+        for (int i = 0; i < 100; i++) {
+            disabled.recordFailure();
+        }
+
+        assertThat(disabled.allowRequest()).isTrue();
+        assertThat(disabled.tripCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("close should shut down an owned executor service")
+    void shouldShutDownExecutorOnClose() {
+        ExecutorService executor = mock(ExecutorService.class);
+
+        new RedisCircuitBreaker(() -> true, executor, 1, WINDOW, OPEN).close();
+
+        verify(executor).shutdownNow();
+    }
+
+    private boolean ping() {
+        probeCalls.incrementAndGet();
+        if (!redisUp.get()) {
+            throw new IllegalStateException("Redis down");
+        }
+        return true;
+    }
+
+    private void trip() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordFailure();
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private void runProbes() {
+        List<Runnable> tasks = new ArrayList<>(probes);
+        probes.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
@@ -0,0 +1,103 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import com.caixabanktech.loan.infrastructure.config.LoanCacheProperties;
+import com.caixabanktech.loan.infrastructure.config.RedisConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Runs the backend contract against a real Redis with both layouts, so every Lua script is executed by the build.
+ * An embedded Redis 6.2 is started on a free port unless {@code SPRING_DATA_REDIS_HOST} (and
+ * {@code SPRING_DATA_REDIS_PORT}, 6379 by default) points at another server, e.g. the version run in production.
+ */
+@DisplayName("RedisLoanCacheBackend Tests")
+class RedisLoanCacheBackendTest extends LoanCacheBackendContractTest {
+
+    private static RedisServer embeddedRedis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, Object> redisTemplate;
+
+    private final RedisLoanCacheBackend backend = new RedisLoanCacheBackend(redisTemplate, false);
+
+    @BeforeAll
+    static void connect() throws IOException {
+        String host = System.getenv("SPRING_DATA_REDIS_HOST");
+        int port;
+        if (host == null) {
+            host = "127.0.0.1";
+            port = freePort();
+            embeddedRedis = RedisServer.newRedisServer().bind(host).port(port).setting("save \"\"")
+                    .setting("appendonly no").build();
+            embeddedRedis.start();
+        } else {
+            port = Integer.parseInt(System.getenv().getOrDefault("SPRING_DATA_REDIS_PORT", "6379"));
+        }
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port),
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofSeconds(1)).build());
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        RedisConfig config = new RedisConfig();
+        redisTemplate = config.redisTemplate(connectionFactory, config.loanCacheValueSerializer(new LoanCacheProperties()));
+        redisTemplate.afterPropertiesSet();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @AfterAll
+    static void disconnect() throws IOException {
+        connectionFactory.destroy();
+        if (embeddedRedis != null) {
+            embeddedRedis.stop();
+        }
+    }
+
+    @AfterEach
+    void deleteKeys() {
+        Set<String> keys = redisTemplate.keys(key("*"));
+        if (keys != null && !keys.isEmpty()) {
+            redisTemplate.delete(keys);
+        }
+    }
+
+    @Override
+    protected LoanCacheBackend backend() {
+        return backend;
+    }
+
+    @Nested
+    @DisplayName("with the hash layout")
+    class HashLayout extends LoanCacheBackendContractTest {
+
+        private final RedisLoanCacheBackend hashBackend = new RedisLoanCacheBackend(redisTemplate, true);
+
+        @AfterEach
+        void deleteKeys() {
+            Set<String> keys = redisTemplate.keys(key("*"));
+            if (keys != null && !keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+        }
+
+        @Override
+        protected LoanCacheBackend backend() {
+            return hashBackend;
+        }
+    }
+}
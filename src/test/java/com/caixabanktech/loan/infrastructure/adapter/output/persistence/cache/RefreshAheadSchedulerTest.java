@@ -0,0 +1,175 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("RefreshAheadScheduler Tests")
+class RefreshAheadSchedulerTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Runnable> queued = new ArrayList<>();
+    private final AtomicInteger reloads = new AtomicInteger();
+    private RefreshAheadScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new RefreshAheadScheduler(queued::add, Duration.ofMinutes(2), Duration.ofMinutes(1), 100, clock::get);
+    }
+
+    @Test
+    @DisplayName("should schedule a reload for a hot key close to expiry without running it on the caller")
+    void shouldScheduleReloadForHotKeyNearExpiry() {
+        scheduler.recordWrite("loan:1", TTL);
+        advance(Duration.ofMinutes(8).plusSeconds(30));
+
+        hit("loan:1");
+        hit("loan:1");
+
+        assertThat(queued).hasSize(1);
+        assertThat(reloads).hasValue(0);
+        runQueued();
+        assertThat(reloads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should not refresh keys that are far from expiry")
+    void shouldNotRefreshFreshKeys() {
+        scheduler.recordWrite("loan:1", TTL);
+        advance(Duration.ofMinutes(1));
+
+        hit("loan:1");
+        hit("loan:1");
+
+        assertThat(queued).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should not refresh keys that are not read again within the hot window")
+    void shouldNotRefreshColdKeys() {
+        scheduler.recordWrite("loan:1", TTL);
+        advance(Duration.ofMinutes(7));
+        hit("loan:1");
+        advance(Duration.ofMinutes(2));
+
+        hit("loan:1");
+
+        assertThat(queued).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep a single refresh in flight per key")
+    void shouldKeepSingleRefreshPerKey() {
+        scheduler.recordWrite("loan:1", TTL);
+        advance(Duration.ofMinutes(9));
+
+        hit("loan:1");
+        hit("loan:1");
+        hit("loan:1");
+        assertThat(queued).hasSize(1);
+
+        runQueued();
+        hit("loan:1");
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should look up the remaining TTL of entries written by other nodes before deciding")
+    void shouldLookUpUnknownExpiry() {
+        hit("loan:1");
+        scheduler.onHit("loan:1", () -> Duration.ofSeconds(30), reloads::incrementAndGet);
+        assertThat(queued).hasSize(1);
+        runQueued();
+        assertThat(reloads).hasValue(0);
+
+        hit("loan:1");
+
+        assertThat(queued).hasSize(1);
+        runQueued();
+        assertThat(reloads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("should drop refreshes rejected by a saturated executor and retry on a later hit")
+    void shouldDropRejectedRefreshes() {
+        AtomicInteger attempts = new AtomicInteger();
+        scheduler = new RefreshAheadScheduler(task -> {
+            attempts.incrementAndGet();
+            throw new RejectedExecutionException("full");
+        }, Duration.ofMinutes(2), Duration.ofMinutes(1), 100, clock::get);
+        scheduler.recordWrite("loan:1", TTL);
+        advance(Duration.ofMinutes(9));
+
+        hit("loan:1");
+        hit("loan:1");
+        hit("loan:1");
+
+        assertThat(attempts).hasValue(2);
+        assertThat(reloads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("should not track more keys than configured, making room by dropping cold ones")
+    void shouldBoundTrackedKeys() {
+        scheduler = new RefreshAheadScheduler(queued::add, Duration.ofMinutes(2), Duration.ofMinutes(1), 2, clock::get);
+        hit("loan:1");
+        hit("loan:2");
+        hit("loan:3");
+        assertThat(scheduler.trackedKeys()).isEqualTo(2);
+
+        advance(Duration.ofMinutes(5));
+        hit("loan:3");
+
+        assertThat(scheduler.trackedKeys()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("disabled scheduler should never refresh nor track keys")
+    void shouldDoNothingWhenDisabled() {
+        RefreshAheadScheduler disabled = RefreshAheadScheduler.disabled();
+        disabled.recordWrite("loan:1", Duration.ZERO);
+        disabled.onHit("loan:1", () -> Duration.ZERO, reloads::incrementAndGet);
+        disabled.onHit("loan:1", () -> Duration.ZERO, reloads::incrementAndGet);
+
+        assertThat(disabled.trackedKeys()).isZero();
+        assertThat(reloads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("close should shut down an owned executor service")
+    void shouldShutDownExecutorOnClose() {
+        ExecutorService executor = mock(ExecutorService.class);
+
+        new RefreshAheadScheduler(executor, Duration.ZERO, Duration.ZERO, 1).close();
+
+        verify(executor).shutdownNow();
+    }
+
+    private void hit(String key) {
+        scheduler.onHit(key, () -> null, reloads::incrementAndGet);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+}
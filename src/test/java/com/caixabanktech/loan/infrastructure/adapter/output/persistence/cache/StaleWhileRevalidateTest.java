@@ -0,0 +1,212 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StaleWhileRevalidate Tests")
+class StaleWhileRevalidateTest {
+
+    private static final Duration STALE_AGE = Duration.ofMinutes(12);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final StaleWhileRevalidate staleWhileRevalidate = new StaleWhileRevalidate(executor, Duration.ofMillis(50));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("should return the loaded value when the load completes within the budget")
+    void shouldReturnLoadedValueWithinBudget() {
+        String value = load(staleWhileRevalidate, () -> "fresh", () -> "stale");
+
+        assertThat(value).isEqualTo("fresh");
+        assertThat(staleWhileRevalidate.staleServedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should serve the stale copy when the load exceeds the budget and let the load finish in the background")
+    void shouldServeStaleCopyOnTimeoutAndRevalidate() throws InterruptedException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch revalidated = new CountDownLatch(1);
+
+        String value = load(staleWhileRevalidate, () -> {
+            await(release);
+            revalidated.countDown();
+            return "fresh";
+        }, () -> "stale");
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(StaleResponse.isMarked()).isTrue();
+        assertThat(StaleResponse.age()).contains(STALE_AGE);
+        assertThat(staleWhileRevalidate.timeoutCount()).isEqualTo(1);
+        release.countDown();
+        assertThat(revalidated.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should wait for a slow load when there is no stale copy")
+    void shouldWaitForSlowLoadWithoutStaleCopy() {
+        String value = load(staleWhileRevalidate, () -> {
+            sleep(150);
+            return "fresh";
+        }, () -> null);
+
+        assertThat(value).isEqualTo("fresh");
+        assertThat(staleWhileRevalidate.staleServedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should serve the stale copy when the load fails")
+    void shouldServeStaleCopyOnFailure() {
+        String value = load(staleWhileRevalidate, () -> {
+            throw new IllegalStateException("Database down");
+        }, () -> "stale");
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(staleWhileRevalidate.staleServedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should rethrow the load failure when there is no stale copy or it cannot be read")
+    void shouldRethrowFailureWithoutStaleCopy() {
+        assertThatThrownBy(() -> load(staleWhileRevalidate, () -> {
+            throw new IllegalStateException("Database down");
+        }, () -> {
+            throw new IllegalStateException("Redis down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("Database down");
+    }
+
+    @Test
+    @DisplayName("should load inline inside a read-write transaction")
+    void shouldLoadInlineInReadWriteTransaction() {
+        AtomicReference<Thread> loader = new AtomicReference<>();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            load(staleWhileRevalidate, () -> {
+                loader.set(Thread.currentThread());
+                throw new IllegalStateException("Database down");
+            }, () -> "stale");
+        } catch (IllegalStateException expected) {
+            assertThat(expected).hasMessage("Database down");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertThat(loader.get()).isSameAs(Thread.currentThread());
+        assertThat(staleWhileRevalidate.staleServedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("should serve the stale copy when the load pool is saturated")
+    void shouldServeStaleCopyWhenPoolIsSaturated() {
+        StaleWhileRevalidate saturated = new StaleWhileRevalidate(task -> {
+            throw new RejectedExecutionException();
+        }, Duration.ofMillis(50));
+
+        assertThat(load(saturated, () -> "fresh", () -> "stale")).isEqualTo("stale");
+        assertThat(load(saturated, () -> "fresh", () -> null)).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("disabled should always load inline and never mark the response")
+    void disabledShouldLoadInline() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        StaleWhileRevalidate disabled = StaleWhileRevalidate.disabled();
+
+        assertThatThrownBy(() -> load(disabled, () -> {
+            throw new IllegalStateException("Database down");
+        }, () -> "stale")).hasMessage("Database down");
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(StaleResponse.isMarked()).isFalse();
+    }
+
+    @Test
+    @DisplayName("concurrent loads of one key should share a single pool task and each get their own copy")
+    void shouldCoalesceConcurrentLoadsOfOneKey() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        StaleWhileRevalidate slowBudget = new StaleWhileRevalidate(executor, Duration.ofSeconds(5));
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<StringBuilder>> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                results.add(callers.submit(() -> slowBudget.load("loan:1", () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return new StringBuilder("fresh");
+                }, () -> null, value -> new StringBuilder(value))));
+                // The first caller starts the load; the others join it while it runs
+                assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+            while (slowBudget.coalescedCount() < 2) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            Set<StringBuilder> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<StringBuilder> result : results) {
+                StringBuilder value = result.get(5, TimeUnit.SECONDS);
+                assertThat(value).hasToString("fresh");
+                distinct.add(value);
+            }
+            assertThat(loads).hasValue(1);
+            assertThat(distinct).hasSize(3);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static String load(StaleWhileRevalidate staleWhileRevalidate, Supplier<String> load, Supplier<String> stale) {
+        return staleWhileRevalidate.load("loan:1", load, () -> {
+            String value = stale.get();
+            return value == null ? null : new StaleWhileRevalidate.StaleCopy<>(value, STALE_AGE);
+        }, UnaryOperator.identity());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
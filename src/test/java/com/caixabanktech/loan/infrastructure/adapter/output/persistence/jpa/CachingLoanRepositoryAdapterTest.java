@@ -5,31 +5,83 @@ import com.caixabanktech.loan.domain.model.LoanAmount;
 import com.caixabanktech.loan.domain.model.LoanApplication;
 import com.caixabanktech.loan.domain.model.LoanId;
 import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.domain.port.out.LoanCursor;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CacheLoadCoordinator;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CacheTombstone;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CriteriaHash;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.HotKeys;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.InMemoryLoanCacheBackend;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheInvalidationBus;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics.Family;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics.Tier;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheScripts;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheTtlPolicy;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanHashCodec;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.NearCache;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.RedisCircuitBreaker;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.RedisLoanCacheBackend;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.RefreshAheadScheduler;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.StaleResponse;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.StaleWhileRevalidate;
+import com.caixabanktech.loan.infrastructure.config.LoanCacheConfig;
+import com.caixabanktech.loan.infrastructure.config.LoanCacheProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Currency;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("CachingLoanRepositoryAdapter Tests")
 class CachingLoanRepositoryAdapterTest {
 
+    private static final Logger log = LoggerFactory.getLogger(CachingLoanRepositoryAdapterTest.class);
+
     @Mock
     private LoanPersistenceAdapter delegate;
 
@@ -39,7 +91,27 @@ class CachingLoanRepositoryAdapterTest {
     @Mock
     private ValueOperations<String, Object> valueOperations;
 
-    @InjectMocks
+    @Mock
+    private SetOperations<String, Object> setOperations;
+
+    @Mock
+    private ListOperations<String, Object> listOperations;
+
+    @Mock
+    private LoanCacheInvalidationBus invalidationBus;
+
+    private NearCache<LoanId, LoanApplication> nearCache;
+
+    private final LoanCacheMetrics metrics = new LoanCacheMetrics();
+
+    private final LoanCacheTtlPolicy ttlPolicy = noJitterTtlPolicy();
+
+    private final HotKeys<LoanId> loanHotKeys = new HotKeys<>(1_000, 10);
+
+    private final HotKeys<String> identityHotKeys = new HotKeys<>(1_000, 10);
+
+    private RedisLoanCacheBackend redisBackend;
+
     private CachingLoanRepositoryAdapter cachingAdapter;
 
     private LoanId loanId;
@@ -53,6 +125,14 @@ class CachingLoanRepositoryAdapterTest {
         cacheKey = "loan:" + loanId.value();
         // Mock the opsForValue() call to return our mocked ValueOperations
         lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        lenient().when(redisTemplate.opsForList()).thenReturn(listOperations);
+        nearCache = new NearCache<>(100, Duration.ofMinutes(1));
+        redisBackend = new RedisLoanCacheBackend(redisTemplate, false);
+        CacheLoadCoordinator loadCoordinator = new CacheLoadCoordinator(redisTemplate, false, Duration.ZERO, Duration.ZERO, Duration.ZERO);
+        cachingAdapter = new CachingLoanRepositoryAdapter(delegate, redisBackend, nearCache, invalidationBus, loadCoordinator,
+                RefreshAheadScheduler.disabled(), RedisCircuitBreaker.disabled(), metrics, loanHotKeys, identityHotKeys,
+                ttlPolicy, StaleWhileRevalidate.disabled(), new LoanCacheProperties());
     }
 
     @Test
@@ -76,12 +156,12 @@ class CachingLoanRepositoryAdapterTest {
 
         assertThat(result).isPresent().contains(loanApplication);
         verify(delegate).findById(loanId);
-        verify(valueOperations).set(cacheKey, loanApplication, 10, TimeUnit.MINUTES);
+        verifyLoanWritten(loanApplication);
     }
 
     @Test
-    @DisplayName("findById should return empty and not cache when not found in delegate")
-    void shouldReturnEmptyAndNotCacheWhenNotFoundInDelegate() {
+    @DisplayName("findById should return empty and cache a short-lived not-found marker when not found in delegate")
+    void shouldReturnEmptyAndCacheTombstoneWhenNotFoundInDelegate() {
         when(valueOperations.get(cacheKey)).thenReturn(null);
         when(delegate.findById(loanId)).thenReturn(Optional.empty());
 
@@ -89,7 +169,41 @@ class CachingLoanRepositoryAdapterTest {
 
         assertThat(result).isNotPresent();
         verify(delegate).findById(loanId);
-        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any());
+        verify(redisTemplate, never()).execute(eq(LoanCacheScripts.VERSIONED_SET), anyList(), any(Object[].class));
+        verify(valueOperations).setIfAbsent(cacheKey, CacheTombstone.VALUE, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("findById should return empty without hitting the delegate on a not-found marker")
+    void shouldReturnEmptyOnTombstoneHit() {
+        when(valueOperations.get(cacheKey)).thenReturn(CacheTombstone.VALUE);
+
+        Optional<LoanApplication> result = cachingAdapter.findById(loanId);
+
+        assertThat(result).isNotPresent();
+        verify(delegate, never()).findById(any());
+        assertThat(nearCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("findById should not fail when the not-found marker cannot be written")
+    void shouldNotFailOnTombstoneWriteError() {
+        when(valueOperations.get(cacheKey)).thenReturn(null);
+        when(delegate.findById(loanId)).thenReturn(Optional.empty());
+        when(valueOperations.setIfAbsent(anyString(), any(), any(Duration.class))).thenThrow(new RuntimeException("Redis down"));
+
+        assertThat(cachingAdapter.findById(loanId)).isNotPresent();
+    }
+
+    @Test
+    @DisplayName("save should overwrite a not-found marker so a freshly created loan is visible right away")
+    void shouldReplaceTombstoneOnSave() {
+        when(delegate.save(loanApplication)).thenReturn(loanApplication);
+
+        cachingAdapter.save(loanApplication);
+
+        // The script swaps the not-found marker of a cached identity index for the loan id
+        verifySaveScript(loanApplication);
     }
 
     @Test
@@ -109,7 +223,8 @@ class CachingLoanRepositoryAdapterTest {
     void shouldNotFailOnRedisWriteError() {
         when(valueOperations.get(cacheKey)).thenReturn(null);
         when(delegate.findById(loanId)).thenReturn(Optional.of(loanApplication));
-        doThrow(new RuntimeException("Redis down")).when(valueOperations).set(cacheKey, loanApplication, 10, TimeUnit.MINUTES);
+        when(redisTemplate.execute(eq(LoanCacheScripts.VERSIONED_SET), anyList(), any(Object[].class)))
+                .thenThrow(new RuntimeException("Redis down"));
 
         Optional<LoanApplication> result = cachingAdapter.findById(loanId);
 
@@ -118,53 +233,162 @@ class CachingLoanRepositoryAdapterTest {
     }
 
     @Test
-    @DisplayName("save should call delegate, update individual cache and evict identity and history caches")
+    @DisplayName("save should call delegate, then update the loan, its identity index, history and search generations in one script")
     void shouldCallDelegateAndUpdateCache() {
-        String identityKey = "loan:identity:" + loanApplication.getApplicantIdentity().value();
-        String historyKey = "loan:history:" + loanApplication.getId().value();
         when(delegate.save(loanApplication)).thenReturn(loanApplication);
 
         LoanApplication result = cachingAdapter.save(loanApplication);
 
         assertThat(result).isEqualTo(loanApplication);
         verify(delegate).save(loanApplication);
-        verify(valueOperations).set(cacheKey, loanApplication, 10, TimeUnit.MINUTES);
-        verify(redisTemplate).delete(identityKey);
-        verify(redisTemplate).delete(historyKey);
+        verifySaveScript(loanApplication);
+        verify(redisTemplate, never()).delete(anyString());
+        verifyNoInteractions(valueOperations, setOperations);
+    }
+
+    @Test
+    @DisplayName("create should insert through the delegate and maintain the cache as save does")
+    void shouldCreateThroughDelegateAndUpdateCache() {
+        when(delegate.create(loanApplication)).thenReturn(loanApplication);
+
+        LoanApplication result = cachingAdapter.create(loanApplication);
+
+        assertThat(result).isEqualTo(loanApplication);
+        verify(delegate, never()).save(any());
+        verifySaveScript(loanApplication);
+        verify(invalidationBus).publish(loanId);
+    }
+
+    @Test
+    @DisplayName("updateStatus should cache the loan as stored, with its new version, once the conditional update succeeds")
+    void shouldCacheLoanAfterStatusUpdate() {
+        LoanApplication approved = loanApplication.toBuilder().status(LoanStatus.APPROVED).build();
+        LoanApplication stored = approved.toBuilder().version(1).build();
+        when(delegate.updateStatus(approved)).thenReturn(Optional.of(stored));
+
+        assertThat(cachingAdapter.updateStatus(approved)).contains(stored);
+
+        verifySaveScript(stored);
+        assertThat(nearCache.get(loanId)).get().extracting(LoanApplication::getVersion).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("updateStatus should replace the copy the caller decided on with the stored loan when the loan changed meanwhile")
+    void shouldRecacheStoredLoanWhenStatusUpdateLoses() {
+        nearCache.put(loanId, loanApplication);
+        LoanApplication approved = loanApplication.toBuilder().status(LoanStatus.APPROVED).build();
+        LoanApplication rejected = loanApplication.toBuilder().status(LoanStatus.REJECTED)
+                .modifiedAt(loanApplication.getModifiedAt().plusSeconds(1)).version(1).build();
+        when(delegate.updateStatus(approved)).thenReturn(Optional.empty());
+        when(delegate.findById(loanId)).thenReturn(Optional.of(rejected));
+
+        assertThat(cachingAdapter.updateStatus(approved)).isEmpty();
+
+        verifyLoanWritten(rejected);
+        assertThat(nearCache.get(loanId)).get().extracting(LoanApplication::getStatus).isEqualTo(LoanStatus.REJECTED);
+        verify(redisTemplate, never()).execute(eq(LoanCacheScripts.SAVE), anyList(), any(Object[].class));
+        verifyNoInteractions(invalidationBus);
     }
 
     @Test
     @DisplayName("save should not fail on Redis update error")
     void shouldNotFailOnRedisUpdateError() {
         when(delegate.save(loanApplication)).thenReturn(loanApplication);
-        doThrow(new RuntimeException("Redis down")).when(valueOperations).set(cacheKey, loanApplication, 10, TimeUnit.MINUTES);
+        when(redisTemplate.execute(eq(LoanCacheScripts.SAVE), anyList(), any(Object[].class)))
+                .thenThrow(new RuntimeException("Redis down"));
 
         LoanApplication result = cachingAdapter.save(loanApplication);
 
         assertThat(result).isEqualTo(loanApplication);
         verify(delegate).save(loanApplication);
+        verify(invalidationBus).publish(loanId);
+    }
+
+    @Test
+    @DisplayName("saveAll should save through the delegate in one call, then cache the batch in one write, one maintenance script and one invalidation")
+    void shouldSaveAllThroughDelegateAndUpdateCache() {
+        LoanApplication other = aLoanApplication().build();
+        LoanApplication third = aLoanApplication().applicantIdentity(new ApplicantIdentity("87654321X")).build();
+        List<LoanApplication> loans = List.of(loanApplication, other, third);
+        when(delegate.saveAll(loans)).thenReturn(loans);
+
+        List<LoanApplication> result = cachingAdapter.saveAll(loans);
+
+        assertThat(result).containsExactlyElementsOf(loans);
+        verify(delegate, never()).save(any());
+        verify(redisTemplate).execute(eq(LoanCacheScripts.VERSIONED_SET), eq(loans.stream()
+                .flatMap(loan -> Stream.of(keyOf(loan.getId()), "loan:ver:" + loan.getId().value(),
+                        "loan:stale:" + loan.getId().value(), "loan:history:list:" + loan.getId().value()))
+                .toList()), any(Object[].class));
+        verify(redisTemplate).execute(eq(LoanCacheScripts.SAVE_BATCH),
+                eq(List.of("loan:history:list:" + loanId.value(), "loan:history:list:" + other.getId().value(),
+                        "loan:history:list:" + third.getId().value(), identityKey(loanApplication.getApplicantIdentity()),
+                        identityKey(third.getApplicantIdentity()), "loan:criteria:gen", "loan:criteria:gen:12345678Z",
+                        "loan:criteria:gen:87654321X")),
+                eq(3), eq(2), eq(CacheTombstone.VALUE), eq(ttlPolicy.generationTtl().toMillis()),
+                eq(2), eq(loanId.value().toString()), eq(other.getId().value().toString()),
+                eq(1), eq(third.getId().value().toString()));
+        verify(redisTemplate, never()).execute(eq(LoanCacheScripts.SAVE), anyList(), any(Object[].class));
+        verify(invalidationBus).publishAll(List.of(loanId, other.getId(), third.getId()));
+        verify(invalidationBus, never()).publish(any());
+        assertThat(nearCache.get(third.getId())).isPresent();
     }
 
     @Test
-    @DisplayName("deleteById should call delegate and evict both caches")
+    @DisplayName("saveAll should not keep a saved loan in the near cache when a newer version is already cached")
+    @SuppressWarnings("unchecked")
+    void shouldDropBatchSavedLoanRejectedByVersionCheck() {
+        LoanApplication other = aLoanApplication().build();
+        List<LoanApplication> loans = List.of(loanApplication, other);
+        when(delegate.saveAll(loans)).thenReturn(loans);
+        when(redisTemplate.execute(eq(LoanCacheScripts.VERSIONED_SET), anyList(), any(Object[].class)))
+                .thenReturn(List.of(1L, 0L));
+
+        cachingAdapter.saveAll(loans);
+
+        assertThat(nearCache.get(loanId)).isPresent();
+        assertThat(nearCache.get(other.getId())).isEmpty();
+        verify(invalidationBus).publishAll(List.of(loanId, other.getId()));
+    }
+
+    @Test
+    @DisplayName("deleteById should call delegate, then evict the loan and history and remove it from its identity index in one script")
     void shouldCallDelegateAndEvictFromCache() {
         when(valueOperations.get(cacheKey)).thenReturn(loanApplication);
-        String identityKey = "loan:identity:" + loanApplication.getApplicantIdentity().value();
-        String historyKey = "loan:history:" + loanApplication.getId().value();
+        String identity = loanApplication.getApplicantIdentity().value();
 
         cachingAdapter.deleteById(loanId);
 
         verify(delegate).deleteById(loanId);
-        verify(redisTemplate).delete(cacheKey);
-        verify(redisTemplate).delete(identityKey);
-        verify(redisTemplate).delete(historyKey);
+        verify(redisTemplate).execute(LoanCacheScripts.DELETE,
+                List.of(cacheKey, "loan:ver:" + loanId.value(), "loan:history:list:" + loanId.value(), "loan:criteria:gen",
+                        "loan:stale:" + loanId.value(), "loan:identity:ids:" + identity, "loan:criteria:gen:" + identity),
+                LoanCacheScripts.DELETED_VERSION, Duration.ofMinutes(10).toMillis(), loanId.value().toString(),
+                ttlPolicy.generationTtl().toMillis());
+        verify(redisTemplate, never()).delete(anyString());
+        verifyNoInteractions(setOperations);
+    }
+
+    @Test
+    @DisplayName("deleteById of an unknown loan should only evict its keys and bump the global search generation")
+    void shouldEvictUnknownLoanWithoutIdentityKeys() {
+        when(valueOperations.get(cacheKey)).thenReturn(CacheTombstone.VALUE);
+
+        cachingAdapter.deleteById(loanId);
+
+        verify(redisTemplate).execute(LoanCacheScripts.DELETE,
+                List.of(cacheKey, "loan:ver:" + loanId.value(), "loan:history:list:" + loanId.value(), "loan:criteria:gen",
+                        "loan:stale:" + loanId.value()),
+                LoanCacheScripts.DELETED_VERSION, Duration.ofMinutes(10).toMillis(), loanId.value().toString(),
+                ttlPolicy.generationTtl().toMillis());
     }
 
     @Test
     @DisplayName("deleteById should not fail on Redis delete error")
     void shouldNotFailOnRedisDeleteError() {
         when(valueOperations.get(cacheKey)).thenReturn(loanApplication);
-        doThrow(new RuntimeException("Redis down")).when(redisTemplate).delete(cacheKey);
+        when(redisTemplate.execute(eq(LoanCacheScripts.DELETE), anyList(), any(Object[].class)))
+                .thenThrow(new RuntimeException("Redis down"));
 
         cachingAdapter.deleteById(loanId);
 
@@ -172,41 +396,112 @@ class CachingLoanRepositoryAdapterTest {
     }
 
     @Test
-    @DisplayName("findByApplicantIdentity should return from cache on cache hit")
+    @DisplayName("findByApplicantIdentity should assemble the loans of a cached index with one MGET")
     void shouldReturnFromIdentityCacheOnHit() {
         ApplicantIdentity identity = loanApplication.getApplicantIdentity();
-        String identityKey = "loan:identity:" + identity.value();
-        List<LoanApplication> loans = List.of(loanApplication);
-        when(valueOperations.get(identityKey)).thenReturn(loans);
+        when(setOperations.members(identityKey(identity))).thenReturn(Set.of(loanId.value().toString()));
+        when(valueOperations.multiGet(List.of(cacheKey))).thenReturn(List.of(loanApplication));
 
         Optional<List<LoanApplication>> result = cachingAdapter.findByApplicantIdentity(identity);
 
-        assertThat(result).isPresent().contains(loans);
+        assertThat(result).isPresent().contains(List.of(loanApplication));
+        verify(delegate, never()).findByApplicantIdentity(any());
+        verify(delegate, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("findByApplicantIdentity should reload expired loan keys and drop ids of deleted loans from the index")
+    void shouldRepairIdentityIndexOnPartialHit() {
+        ApplicantIdentity identity = loanApplication.getApplicantIdentity();
+        LoanApplication older = aLoanApplication().createdAt(Instant.parse("2020-01-01T00:00:00Z")).build();
+        LoanId deleted = new LoanId(UUID.randomUUID());
+        when(setOperations.members(identityKey(identity))).thenReturn(Set.of(
+                loanId.value().toString(), older.getId().value().toString(), deleted.value().toString()));
+        when(valueOperations.multiGet(any())).thenReturn(Arrays.asList(null, null, null));
+        when(delegate.findAllById(any())).thenReturn(List.of(loanApplication, older));
+
+        Optional<List<LoanApplication>> result = cachingAdapter.findByApplicantIdentity(identity);
+
+        assertThat(result).isPresent().contains(List.of(older, loanApplication));
+        verify(setOperations).remove(identityKey(identity), deleted.value().toString());
+        verify(delegate, never()).findByApplicantIdentity(any());
+    }
+
+    @Test
+    @DisplayName("findByApplicantIdentity should keep indexed ids the database still has, even when Redis marks them not found")
+    void shouldOnlyDropIndexedIdsTheDatabaseConfirmsGone() {
+        ApplicantIdentity identity = loanApplication.getApplicantIdentity();
+        when(setOperations.members(identityKey(identity))).thenReturn(Set.of(loanId.value().toString()));
+        when(valueOperations.multiGet(List.of(cacheKey))).thenReturn(Arrays.asList(CacheTombstone.VALUE));
+        when(delegate.findAllById(List.of(loanId))).thenReturn(List.of(loanApplication));
+
+        Optional<List<LoanApplication>> result = cachingAdapter.findByApplicantIdentity(identity);
+
+        assertThat(result).isPresent().contains(List.of(loanApplication));
+        verify(setOperations, never()).remove(any(), any());
+    }
+
+    @Test
+    @DisplayName("findByApplicantIdentity should not count a database failure while assembling the index as a Redis failure")
+    void shouldNotBlameRedisForDatabaseFailureOnIndexRead() {
+        ApplicantIdentity identity = loanApplication.getApplicantIdentity();
+        when(setOperations.members(identityKey(identity))).thenReturn(Set.of(loanId.value().toString()));
+        when(valueOperations.multiGet(List.of(cacheKey))).thenReturn(Arrays.asList((Object) null));
+        when(delegate.findAllById(List.of(loanId))).thenThrow(new IllegalStateException("DB down"));
+
+        assertThatThrownBy(() -> cachingAdapter.findByApplicantIdentity(identity)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(metrics.errorCount(Family.IDENTITY, Tier.L2)).isZero();
+        assertThat(metrics.callCount(Family.LOAN, Tier.DB)).isEqualTo(1);
+        verify(delegate).findAllById(any());
         verify(delegate, never()).findByApplicantIdentity(any());
     }
 
     @Test
-    @DisplayName("findByApplicantIdentity should return empty and not cache when not found in delegate")
-    void shouldReturnEmptyAndNotCacheWhenNotFoundInDelegateForIdentity() {
+    @DisplayName("findByApplicantIdentity should return empty and cache a not-found marker when not found in delegate")
+    void shouldReturnEmptyAndCacheTombstoneWhenNotFoundInDelegateForIdentity() {
         ApplicantIdentity identity = loanApplication.getApplicantIdentity();
-        String identityKey = "loan:identity:" + identity.value();
-        when(valueOperations.get(identityKey)).thenReturn(null);
         when(delegate.findByApplicantIdentity(identity)).thenReturn(Optional.empty());
 
         Optional<List<LoanApplication>> result = cachingAdapter.findByApplicantIdentity(identity);
 
         assertThat(result).isNotPresent();
         verify(delegate).findByApplicantIdentity(identity);
-        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any());
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+        verifyIndexNotFound(identityKey(identity));
+    }
+
+    @Test
+    @DisplayName("findByApplicantIdentity should cache a not-found marker instead of an empty list")
+    void shouldCacheTombstoneForEmptyIdentityResult() {
+        ApplicantIdentity identity = loanApplication.getApplicantIdentity();
+        when(delegate.findByApplicantIdentity(identity)).thenReturn(Optional.of(List.of()));
+
+        Optional<List<LoanApplication>> result = cachingAdapter.findByApplicantIdentity(identity);
+
+        assertThat(result).isPresent().contains(List.of());
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+        verifyIndexNotFound(identityKey(identity));
+    }
+
+    @Test
+    @DisplayName("findByApplicantIdentity should return an empty list without hitting the delegate on a not-found marker")
+    void shouldReturnEmptyListOnIdentityTombstoneHit() {
+        ApplicantIdentity identity = loanApplication.getApplicantIdentity();
+        when(setOperations.members(identityKey(identity))).thenReturn(Set.of(CacheTombstone.VALUE));
+
+        Optional<List<LoanApplication>> result = cachingAdapter.findByApplicantIdentity(identity);
+
+        assertThat(result).isPresent().contains(List.of());
+        verify(delegate, never()).findByApplicantIdentity(any());
     }
 
     @Test
     @DisplayName("findByApplicantIdentity should fallback to delegate on Redis read error")
     void shouldFallbackToDelegateOnRedisReadErrorForIdentity() {
         ApplicantIdentity identity = loanApplication.getApplicantIdentity();
-        String identityKey = "loan:identity:" + identity.value();
         List<LoanApplication> loans = List.of(loanApplication);
-        when(valueOperations.get(identityKey)).thenThrow(new RuntimeException("Redis down"));
+        when(setOperations.members(identityKey(identity))).thenThrow(new RuntimeException("Redis down"));
         when(delegate.findByApplicantIdentity(identity)).thenReturn(Optional.of(loans));
 
         Optional<List<LoanApplication>> result = cachingAdapter.findByApplicantIdentity(identity);
@@ -219,11 +514,9 @@ class CachingLoanRepositoryAdapterTest {
     @DisplayName("findByApplicantIdentity should not fail on Redis write error")
     void shouldNotFailOnRedisWriteErrorForIdentity() {
         ApplicantIdentity identity = loanApplication.getApplicantIdentity();
-        String identityKey = "loan:identity:" + identity.value();
         List<LoanApplication> loans = List.of(loanApplication);
-        when(valueOperations.get(identityKey)).thenReturn(null);
         when(delegate.findByApplicantIdentity(identity)).thenReturn(Optional.of(loans));
-        doThrow(new RuntimeException("Redis down")).when(valueOperations).set(identityKey, loans, 10, TimeUnit.MINUTES);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenThrow(new RuntimeException("Redis down"));
 
         Optional<List<LoanApplication>> result = cachingAdapter.findByApplicantIdentity(identity);
 
@@ -232,27 +525,55 @@ class CachingLoanRepositoryAdapterTest {
     }
 
     @Test
-    @DisplayName("findByApplicantIdentity should fetch from delegate and cache on miss")
+    @DisplayName("findByApplicantIdentity should cache each loan once and index its id under the identity on miss")
     void shouldFetchFromDelegateAndCacheIdentityOnMiss() {
         ApplicantIdentity identity = loanApplication.getApplicantIdentity();
-        String identityKey = "loan:identity:" + identity.value();
         List<LoanApplication> loans = List.of(loanApplication);
-        when(valueOperations.get(identityKey)).thenReturn(null);
         when(delegate.findByApplicantIdentity(identity)).thenReturn(Optional.of(loans));
+        RedisOperations<String, Object> pipeline = runPipelinesAgainstValueOperations();
+        when(pipeline.opsForSet()).thenReturn(setOperations);
 
         Optional<List<LoanApplication>> result = cachingAdapter.findByApplicantIdentity(identity);
 
         assertThat(result).isPresent().contains(loans);
         verify(delegate).findByApplicantIdentity(identity);
-        verify(valueOperations).set(identityKey, loans, 10, TimeUnit.MINUTES);
+        verifyLoanWritten(loanApplication);
+        verify(setOperations).add(identityKey(identity), loanId.value().toString());
+        verify(pipeline).expire(identityKey(identity), Duration.ofMinutes(10));
+        verify(valueOperations, never()).set(eq(identityKey(identity)), any(), anyLong(), any());
+    }
+
+    private static String identityKey(ApplicantIdentity identity) {
+        return "loan:identity:ids:" + identity.value();
+    }
+
+    private void verifySaveScript(LoanApplication loan) {
+        LoanId id = loan.getId();
+        String identity = loan.getApplicantIdentity().value();
+        verify(redisTemplate).execute(eq(LoanCacheScripts.SAVE),
+                eq(List.of(keyOf(id), "loan:ver:" + id.value(), identityKey(loan.getApplicantIdentity()),
+                        "loan:history:list:" + id.value(), "loan:criteria:gen:" + identity, "loan:criteria:gen",
+                        "loan:stale:" + id.value())),
+                eq(loanTtlMillis(loan.getStatus())),
+                argThat(value -> value instanceof LoanApplication cached && cached.getId().equals(id)
+                        && cached.getStatus() == loan.getStatus()),
+                eq(LoanCacheScripts.version(loan)), eq(id.value().toString()), eq(CacheTombstone.VALUE),
+                eq(ttlPolicy.baseTtl(Family.HISTORY, loan.getStatus()).toMillis()), eq(0L),
+                eq(ttlPolicy.generationTtl().toMillis()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyIndexNotFound(String identityKey) {
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(identityKey)),
+                eq(CacheTombstone.VALUE), eq(Duration.ofSeconds(30).toMillis()));
     }
 
     @Test
     @DisplayName("findHistory should return from cache on cache hit")
     void shouldReturnFromHistoryCacheOnHit() {
-        String historyKey = "loan:history:" + loanId.value();
+        String historyKey = "loan:history:list:" + loanId.value();
         List<LoanApplication> history = List.of(loanApplication);
-        when(valueOperations.get(historyKey)).thenReturn(history);
+        when(listOperations.range(historyKey, 0, -1)).thenReturn(List.of(loanApplication));
 
         Optional<List<LoanApplication>> result = cachingAdapter.findHistory(loanId);
 
@@ -263,38 +584,39 @@ class CachingLoanRepositoryAdapterTest {
     @Test
     @DisplayName("findHistory should fetch from delegate and cache on miss")
     void shouldFetchFromDelegateAndCacheHistoryOnMiss() {
-        String historyKey = "loan:history:" + loanId.value();
+        String historyKey = "loan:history:list:" + loanId.value();
         List<LoanApplication> history = List.of(loanApplication);
-        when(valueOperations.get(historyKey)).thenReturn(null);
+        when(listOperations.range(historyKey, 0, -1)).thenReturn(List.of());
         when(delegate.findHistory(loanId)).thenReturn(Optional.of(history));
 
         Optional<List<LoanApplication>> result = cachingAdapter.findHistory(loanId);
 
         assertThat(result).isPresent().contains(history);
         verify(delegate).findHistory(loanId);
-        verify(valueOperations).set(historyKey, history, 10, TimeUnit.MINUTES);
+        verify(redisTemplate).execute(LoanCacheScripts.HISTORY_LOAD, List.of(historyKey, "loan:ver:" + loanId.value()),
+                Duration.ofMinutes(5).toMillis(), LoanCacheScripts.version(loanApplication), loanApplication);
     }
 
     @Test
     @DisplayName("findHistory should return empty and not cache when not found in delegate")
     void shouldReturnEmptyAndNotCacheWhenNotFoundInDelegateForHistory() {
-        String historyKey = "loan:history:" + loanId.value();
-        when(valueOperations.get(historyKey)).thenReturn(null);
+        String historyKey = "loan:history:list:" + loanId.value();
+        when(listOperations.range(historyKey, 0, -1)).thenReturn(List.of());
         when(delegate.findHistory(loanId)).thenReturn(Optional.empty());
 
         Optional<List<LoanApplication>> result = cachingAdapter.findHistory(loanId);
 
         assertThat(result).isNotPresent();
         verify(delegate).findHistory(loanId);
-        verify(valueOperations, never()).set(anyString(), any(), anyLong(), any());
+        verify(redisTemplate, never()).execute(eq(LoanCacheScripts.HISTORY_LOAD), anyList(), any(Object[].class));
     }
 
     @Test
     @DisplayName("findHistory should fallback to delegate on Redis read error")
     void shouldFallbackToDelegateOnRedisReadErrorForHistory() {
-        String historyKey = "loan:history:" + loanId.value();
+        String historyKey = "loan:history:list:" + loanId.value();
         List<LoanApplication> history = List.of(loanApplication);
-        when(valueOperations.get(historyKey)).thenThrow(new RuntimeException("Redis down"));
+        when(listOperations.range(historyKey, 0, -1)).thenThrow(new RuntimeException("Redis down"));
         when(delegate.findHistory(loanId)).thenReturn(Optional.of(history));
 
         Optional<List<LoanApplication>> result = cachingAdapter.findHistory(loanId);
@@ -306,11 +628,12 @@ class CachingLoanRepositoryAdapterTest {
     @Test
     @DisplayName("findHistory should not fail on Redis write error")
     void shouldNotFailOnRedisWriteErrorForHistory() {
-        String historyKey = "loan:history:" + loanId.value();
+        String historyKey = "loan:history:list:" + loanId.value();
         List<LoanApplication> history = List.of(loanApplication);
-        when(valueOperations.get(historyKey)).thenReturn(null);
+        when(listOperations.range(historyKey, 0, -1)).thenReturn(List.of());
         when(delegate.findHistory(loanId)).thenReturn(Optional.of(history));
-        doThrow(new RuntimeException("Redis down")).when(valueOperations).set(historyKey, history, 10, TimeUnit.MINUTES);
+        when(redisTemplate.execute(eq(LoanCacheScripts.HISTORY_LOAD), anyList(), any(Object[].class)))
+                .thenThrow(new RuntimeException("Redis down"));
 
         Optional<List<LoanApplication>> result = cachingAdapter.findHistory(loanId);
 
@@ -318,6 +641,697 @@ class CachingLoanRepositoryAdapterTest {
         verify(delegate).findHistory(loanId);
     }
 
+    @Test
+    @DisplayName("findHistory should offer the version of the last revision so a history older than the cached loan is not stored")
+    void shouldCacheHistoryWithLastRevisionVersion() {
+        LoanApplication created = aLoanApplication().id(loanId).modifiedAt(Instant.parse("2024-01-01T00:00:00Z")).build();
+        LoanApplication approved = aLoanApplication().id(loanId).status(LoanStatus.APPROVED)
+                .modifiedAt(Instant.parse("2024-01-02T00:00:00Z")).build();
+        when(listOperations.range(anyString(), eq(0L), eq(-1L))).thenReturn(List.of());
+        when(delegate.findHistory(loanId)).thenReturn(Optional.of(List.of(created, approved)));
+
+        cachingAdapter.findHistory(loanId);
+
+        verify(redisTemplate).execute(eq(LoanCacheScripts.HISTORY_LOAD), anyList(), eq(Duration.ofMinutes(10).toMillis()),
+                eq(LoanCacheScripts.version(approved)), same(created), same(approved));
+    }
+
+    @Test
+    @DisplayName("findById should serve repeated lookups from the near cache without touching Redis")
+    void shouldServeRepeatedLookupsFromNearCache() {
+        when(valueOperations.get(cacheKey)).thenReturn(loanApplication);
+
+        cachingAdapter.findById(loanId);
+        Optional<LoanApplication> result = cachingAdapter.findById(loanId);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getId()).isEqualTo(loanId);
+        verify(valueOperations, times(1)).get(cacheKey);
+        assertThat(cachingAdapter.nearCacheStats().hitCount()).isEqualTo(1);
+        assertThat(cachingAdapter.nearCacheStats().missCount()).isEqualTo(1);
+        assertThat(cachingAdapter.redisCacheStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findById should hand out near cache copies so callers cannot mutate the cached state")
+    void shouldNotExposeNearCacheInstances() {
+        when(valueOperations.get(cacheKey)).thenReturn(loanApplication);
+        cachingAdapter.findById(loanId);
+
+        cachingAdapter.findById(loanId).orElseThrow().approve();
+
+        assertThat(cachingAdapter.findById(loanId).orElseThrow().getStatus()).isEqualTo(LoanStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("findById should record a Redis miss and populate the near cache from the delegate")
+    void shouldRecordRedisMissAndPopulateNearCache() {
+        when(valueOperations.get(cacheKey)).thenReturn(null);
+        when(delegate.findById(loanId)).thenReturn(Optional.of(loanApplication));
+
+        cachingAdapter.findById(loanId);
+
+        assertThat(cachingAdapter.redisCacheStats().missCount()).isEqualTo(1);
+        assertThat(nearCache.get(loanId)).isPresent();
+    }
+
+    @Test
+    @DisplayName("save should refresh the near cache and publish an invalidation for other nodes")
+    void shouldRefreshNearCacheAndPublishOnSave() {
+        when(delegate.save(loanApplication)).thenReturn(loanApplication);
+
+        cachingAdapter.save(loanApplication);
+
+        assertThat(nearCache.get(loanId)).isPresent();
+        verify(invalidationBus).publish(loanId);
+    }
+
+    @Test
+    @DisplayName("deleteById should evict the near cache and publish an invalidation for other nodes")
+    void shouldEvictNearCacheAndPublishOnDelete() {
+        when(valueOperations.get(cacheKey)).thenReturn(loanApplication);
+        cachingAdapter.findById(loanId);
+
+        cachingAdapter.deleteById(loanId);
+
+        assertThat(nearCache.size()).isZero();
+        verify(invalidationBus).publish(loanId);
+    }
+
+    @Test
+    @DisplayName("Concurrent findById misses for the same loan should load from the delegate once")
+    void shouldCoalesceConcurrentLoanMisses() throws Exception {
+        int callers = 32;
+        CountDownLatch allMissed = new CountDownLatch(callers);
+        CountDownLatch releaseDelegate = new CountDownLatch(1);
+        when(valueOperations.get(cacheKey)).thenAnswer(invocation -> {
+            allMissed.countDown();
+            return null;
+        });
+        when(delegate.findById(loanId)).thenAnswer(invocation -> {
+            releaseDelegate.await(5, TimeUnit.SECONDS);
+            return Optional.of(loanApplication);
+        });
+
+        List<LoanApplication> results = runConcurrently(callers, () -> cachingAdapter.findById(loanId).orElseThrow(),
+                allMissed, releaseDelegate);
+
+        verify(delegate, times(1)).findById(loanId);
+        assertThat(results).hasSize(callers).allSatisfy(loan -> assertThat(loan.getId()).isEqualTo(loanId));
+        assertThat(results.stream().distinct()).as("each caller gets its own instance").hasSize(callers);
+    }
+
+    @Test
+    @DisplayName("Concurrent findByApplicantIdentity and findHistory misses should load from the delegate once per key")
+    void shouldCoalesceConcurrentListMisses() throws Exception {
+        int callers = 32;
+        ApplicantIdentity identity = loanApplication.getApplicantIdentity();
+        CountDownLatch allMissed = new CountDownLatch(callers * 2);
+        CountDownLatch releaseDelegate = new CountDownLatch(1);
+        when(listOperations.range(anyString(), eq(0L), eq(-1L))).thenAnswer(invocation -> {
+            allMissed.countDown();
+            return List.of();
+        });
+        when(setOperations.members(anyString())).thenAnswer(invocation -> {
+            allMissed.countDown();
+            return Set.of();
+        });
+        when(delegate.findByApplicantIdentity(identity)).thenAnswer(invocation -> {
+            releaseDelegate.await(5, TimeUnit.SECONDS);
+            return Optional.of(List.of(loanApplication));
+        });
+        when(delegate.findHistory(loanId)).thenAnswer(invocation -> {
+            releaseDelegate.await(5, TimeUnit.SECONDS);
+            return Optional.of(List.of(loanApplication));
+        });
+
+        AtomicInteger turn = new AtomicInteger();
+        List<List<LoanApplication>> results = runConcurrently(callers * 2, () -> turn.getAndIncrement() % 2 == 0
+                        ? cachingAdapter.findByApplicantIdentity(identity).orElseThrow()
+                        : cachingAdapter.findHistory(loanId).orElseThrow(),
+                allMissed, releaseDelegate);
+
+        verify(delegate, times(1)).findByApplicantIdentity(identity);
+        verify(delegate, times(1)).findHistory(loanId);
+        assertThat(results).hasSize(callers * 2).allSatisfy(list -> assertThat(list).hasSize(1));
+    }
+
+    @Test
+    @DisplayName("Concurrent callers should all receive the delegate failure without retrying it")
+    void shouldPropagateDelegateFailureToWaiters() throws Exception {
+        int callers = 8;
+        CountDownLatch allMissed = new CountDownLatch(callers);
+        CountDownLatch releaseDelegate = new CountDownLatch(1);
+        when(valueOperations.get(cacheKey)).thenAnswer(invocation -> {
+            allMissed.countDown();
+            return null;
+        });
+        when(delegate.findById(loanId)).thenAnswer(invocation -> {
+            releaseDelegate.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("DB down");
+        });
+
+        List<String> outcomes = runConcurrently(callers, () -> {
+            try {
+                cachingAdapter.findById(loanId);
+                return "loaded";
+            } catch (IllegalStateException e) {
+                return e.getMessage();
+            }
+        }, allMissed, releaseDelegate);
+
+        verify(delegate, times(1)).findById(loanId);
+        assertThat(outcomes).hasSize(callers).containsOnly("DB down");
+    }
+
+    private <T> List<T> runConcurrently(int callers, Callable<T> call, CountDownLatch allMissed,
+                                        CountDownLatch releaseDelegate) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(call));
+            }
+            assertThat(allMissed.await(5, TimeUnit.SECONDS)).isTrue();
+            // Give the last callers time to join the in-flight load before it completes
+            Thread.sleep(100);
+            releaseDelegate.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("findAllById should combine near cache, one MGET and one batched database load in request order")
+    void shouldBatchLookupsAcrossTiers() {
+        LoanApplication nearHit = aLoanApplication().build();
+        LoanApplication redisHit = aLoanApplication().build();
+        LoanApplication dbHit = aLoanApplication().build();
+        LoanId unknown = new LoanId(UUID.randomUUID());
+        LoanId knownMissing = new LoanId(UUID.randomUUID());
+        nearCache.put(nearHit.getId(), nearHit);
+        when(valueOperations.multiGet(List.of(keyOf(redisHit.getId()), keyOf(dbHit.getId()), keyOf(unknown), keyOf(knownMissing))))
+                .thenReturn(Arrays.asList(redisHit, null, null, CacheTombstone.VALUE));
+        when(delegate.findAllById(List.of(dbHit.getId(), unknown))).thenReturn(List.of(dbHit));
+        RedisOperations<String, Object> pipeline = runPipelinesAgainstValueOperations();
+
+        List<LoanApplication> result = cachingAdapter.findAllById(
+                List.of(redisHit.getId(), nearHit.getId(), dbHit.getId(), unknown, knownMissing, redisHit.getId()));
+
+        assertThat(result).extracting(LoanApplication::getId)
+                .containsExactly(redisHit.getId(), nearHit.getId(), dbHit.getId());
+        verify(valueOperations, times(1)).multiGet(any());
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(pipeline, atLeastOnce()).opsForValue();
+        verifyLoanWritten(dbHit);
+        verify(valueOperations).setIfAbsent(keyOf(unknown), CacheTombstone.VALUE, new LoanCacheProperties().getNegativeTtl());
+        verify(delegate, never()).findById(any());
+        assertThat(nearCache.get(redisHit.getId())).isPresent();
+        assertThat(nearCache.get(dbHit.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("findAllById should not touch Redis or the database when everything is in the near cache")
+    void shouldServeBatchFromNearCache() {
+        nearCache.put(loanId, loanApplication);
+
+        List<LoanApplication> result = cachingAdapter.findAllById(List.of(loanId));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0)).isNotSameAs(loanApplication).usingRecursiveComparison().isEqualTo(loanApplication);
+        verifyNoInteractions(valueOperations, delegate);
+    }
+
+    @Test
+    @DisplayName("findAllById should load everything from the database when Redis fails")
+    void shouldLoadBatchFromDatabaseOnRedisError() {
+        when(valueOperations.multiGet(any())).thenThrow(new RuntimeException("Redis down"));
+        when(redisTemplate.execute(eq(LoanCacheScripts.VERSIONED_SET), anyList(), any(Object[].class)))
+                .thenThrow(new RuntimeException("Redis down"));
+        when(delegate.findAllById(List.of(loanId))).thenReturn(List.of(loanApplication));
+
+        List<LoanApplication> result = cachingAdapter.findAllById(List.of(loanId));
+
+        assertThat(result).containsExactly(loanApplication);
+    }
+
+    @Test
+    @DisplayName("findById should serve a hot entry close to expiry from cache and reload it in the background")
+    void shouldRefreshHotEntryAheadOfExpiry() {
+        List<Runnable> refreshes = new ArrayList<>();
+        RefreshAheadScheduler refreshAhead = new RefreshAheadScheduler(refreshes::add, Duration.ofMinutes(2),
+                Duration.ofMinutes(1), 100);
+        CachingLoanRepositoryAdapter adapter = new CachingLoanRepositoryAdapter(delegate, redisBackend,
+                new NearCache<>(0, Duration.ZERO), invalidationBus,
+                new CacheLoadCoordinator(redisTemplate, false, Duration.ZERO, Duration.ZERO, Duration.ZERO),
+                refreshAhead, RedisCircuitBreaker.disabled(), metrics, loanHotKeys, identityHotKeys,
+                ttlPolicy, StaleWhileRevalidate.disabled(), new LoanCacheProperties());
+        LoanApplication approved = aLoanApplication().id(loanId).status(LoanStatus.APPROVED).build();
+        when(valueOperations.get(cacheKey)).thenReturn(loanApplication);
+        when(redisTemplate.getExpire(cacheKey, TimeUnit.MILLISECONDS)).thenReturn(Duration.ofSeconds(30).toMillis());
+        when(delegate.findById(loanId)).thenReturn(Optional.of(approved));
+
+        // Second hit makes the key hot; its unknown expiry is looked up in the background
+        adapter.findById(loanId);
+        adapter.findById(loanId);
+        refreshes.remove(0).run();
+        Optional<LoanApplication> served = adapter.findById(loanId);
+
+        assertThat(served).contains(loanApplication);
+        verify(delegate, never()).findById(any());
+        assertThat(refreshes).hasSize(1);
+        refreshes.remove(0).run();
+        verify(delegate).findById(loanId);
+        verifyLoanWritten(approved);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisOperations<String, Object> runPipelinesAgainstValueOperations() {
+        RedisOperations<String, Object> pipeline = mock(RedisOperations.class);
+        lenient().when(pipeline.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(pipeline);
+            return List.of();
+        });
+        return pipeline;
+    }
+
+    private static String keyOf(LoanId id) {
+        return "loan:" + id.value();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void verifyLoanWritten(LoanApplication loan) {
+        LoanId id = loan.getId();
+        verify(redisTemplate).execute(eq(LoanCacheScripts.VERSIONED_SET), eq(List.of(keyOf(id), "loan:ver:" + id.value(),
+                        "loan:stale:" + id.value(), "loan:history:list:" + id.value())),
+                argThat(value -> value instanceof LoanApplication cached && cached.getId().equals(id)
+                        && cached.getStatus() == loan.getStatus()),
+                eq(LoanCacheScripts.version(loan)), eq(loanTtlMillis(loan.getStatus())), eq(0L));
+    }
+
+    @Test
+    @DisplayName("findById should not keep a loaded loan when a newer version is already cached")
+    void shouldDiscardStaleLoadRejectedByVersionCheck() {
+        when(valueOperations.get(cacheKey)).thenReturn(null);
+        when(delegate.findById(loanId)).thenReturn(Optional.of(loanApplication));
+        when(redisTemplate.execute(eq(LoanCacheScripts.VERSIONED_SET), anyList(), any(Object[].class))).thenReturn(List.of(0L));
+
+        Optional<LoanApplication> result = cachingAdapter.findById(loanId);
+
+        assertThat(result).contains(loanApplication);
+        assertThat(nearCache.get(loanId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("save inside a transaction should only touch the caches once it commits")
+    void shouldDeferCacheUpdateUntilCommit() {
+        when(delegate.save(loanApplication)).thenReturn(loanApplication);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cachingAdapter.save(loanApplication);
+            // The caller keeps working with the saved instance; the cached snapshot must not change
+            loanApplication.approve();
+
+            verifyNoInteractions(redisTemplate, invalidationBus);
+            assertThat(nearCache.get(loanId)).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(redisTemplate).execute(eq(LoanCacheScripts.SAVE), anyList(), eq(Duration.ofMinutes(5).toMillis()),
+                argThat(value -> value instanceof LoanApplication cached && cached.getStatus() == LoanStatus.PENDING),
+                anyLong(), anyString(), any(), anyLong(), anyLong(), anyLong());
+        assertThat(nearCache.get(loanId)).isPresent();
+        verify(invalidationBus).publish(loanId);
+    }
+
+    @Test
+    @DisplayName("save and deleteById should leave the caches untouched when the transaction rolls back")
+    void shouldNotTouchCachesOnRollback() {
+        when(delegate.save(loanApplication)).thenReturn(loanApplication);
+        nearCache.put(loanId, loanApplication);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cachingAdapter.save(loanApplication);
+            cachingAdapter.deleteById(loanId);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verifyNoInteractions(redisTemplate, invalidationBus);
+        assertThat(nearCache.get(loanId)).isPresent();
+    }
+
+    @Test
+    @DisplayName("findByCriteria should cache results under the identity generation and a criteria hash")
+    void shouldCacheCriteriaResultsUnderGeneration() {
+        String identity = loanApplication.getApplicantIdentity().value();
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        List<LoanApplication> loans = List.of(loanApplication);
+        String resultKey = "loan:criteria:" + identity + ":7:" + CriteriaHash.of(identity, start, null);
+        when(valueOperations.get("loan:criteria:gen:" + identity)).thenReturn(7);
+        when(delegate.findByCriteria(identity, start, null)).thenReturn(Optional.of(loans));
+
+        Optional<List<LoanApplication>> result = cachingAdapter.findByCriteria(identity, start, null);
+
+        assertThat(result).contains(loans);
+        verify(valueOperations).set(resultKey, loans, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("findByCriteria should serve repeated searches from cache")
+    void shouldReturnCriteriaResultsFromCache() {
+        List<LoanApplication> loans = List.of(loanApplication);
+        when(valueOperations.get("loan:criteria:gen")).thenReturn(null);
+        when(valueOperations.get("loan:criteria:all:0:" + CriteriaHash.of(null, null, null))).thenReturn(loans);
+
+        Optional<List<LoanApplication>> result = cachingAdapter.findByCriteria(null, null, null);
+
+        assertThat(result).contains(loans);
+        verify(delegate, never()).findByCriteria(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("findByCriteria should query the database directly when Redis is unavailable")
+    void shouldFallbackToDelegateOnCriteriaReadError() {
+        when(valueOperations.get(anyString())).thenThrow(new RuntimeException("Redis down"));
+        when(delegate.findByCriteria(null, null, null)).thenReturn(Optional.of(List.of(loanApplication)));
+
+        assertThat(cachingAdapter.findByCriteria(null, null, null)).contains(List.of(loanApplication));
+    }
+
+    @Test
+    @DisplayName("save and deleteById should each maintain the cache in a single Redis round trip")
+    void shouldMaintainCacheInSingleRoundTrip() {
+        Duration roundTrip = Duration.ofMillis(2);
+        int writes = 50;
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            Thread.sleep(roundTrip.toMillis());
+            return 1L;
+        });
+        when(delegate.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        long started = System.nanoTime();
+        for (int i = 0; i < writes; i++) {
+            LoanApplication loan = aLoanApplication().build();
+            cachingAdapter.save(loan);
+            // Served from the near cache populated by save
+            cachingAdapter.deleteById(loan.getId());
+        }
+        Duration perWrite = Duration.ofNanos((System.nanoTime() - started) / (2L * writes));
+
+        // Before bundling, a save cost five commands and a delete four; each is one script call now
+        verify(redisTemplate, times(2 * writes)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        verify(redisTemplate, never()).delete(anyString());
+        verifyNoInteractions(valueOperations, setOperations);
+        log.info("Cache maintenance with a {} ms Redis round trip: {} us per write", roundTrip.toMillis(), perWrite.toNanos() / 1_000);
+        assertThat(perWrite).isLessThan(roundTrip.multipliedBy(3));
+    }
+
+    @Test
+    @DisplayName("should stop calling Redis and serve from the database once the circuit opens")
+    void shouldBypassRedisWhenCircuitOpens() {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(() -> true, task -> { }, 2,
+                Duration.ofMinutes(1), Duration.ofMinutes(1));
+        CachingLoanRepositoryAdapter adapter = adapterWith(circuitBreaker);
+        when(valueOperations.get(cacheKey)).thenThrow(new RuntimeException("Redis timeout"));
+        when(delegate.findById(loanId)).thenReturn(Optional.of(loanApplication));
+
+        adapter.findById(loanId);
+        adapter.findById(loanId);
+        Optional<LoanApplication> result = adapter.findById(loanId);
+
+        assertThat(result).contains(loanApplication);
+        assertThat(adapter.redisCircuitState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        verify(valueOperations, times(2)).get(cacheKey);
+        verify(delegate, times(3)).findById(loanId);
+    }
+
+    @Test
+    @DisplayName("save should skip Redis and the invalidation channel while the circuit is open")
+    void shouldSkipCacheMaintenanceWhenCircuitOpen() {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(() -> true, task -> { }, 1,
+                Duration.ofMinutes(1), Duration.ofMinutes(1));
+        CachingLoanRepositoryAdapter adapter = adapterWith(circuitBreaker);
+        when(delegate.save(loanApplication)).thenReturn(loanApplication);
+        circuitBreaker.recordFailure();
+
+        assertThat(adapter.save(loanApplication)).isSameAs(loanApplication);
+
+        verifyNoInteractions(redisTemplate, invalidationBus);
+    }
+
+    @Test
+    @DisplayName("should go back to Redis once the background probe finds it healthy")
+    void shouldUseRedisAgainAfterSuccessfulProbe() {
+        List<Runnable> probes = new ArrayList<>();
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(() -> true, probes::add, 1,
+                Duration.ofMinutes(1), Duration.ZERO);
+        CachingLoanRepositoryAdapter adapter = adapterWith(circuitBreaker);
+        when(delegate.findById(loanId)).thenReturn(Optional.of(loanApplication));
+        circuitBreaker.recordFailure();
+
+        adapter.findById(loanId);
+        verifyNoInteractions(valueOperations);
+        probes.forEach(Runnable::run);
+        when(valueOperations.get(cacheKey)).thenReturn(loanApplication);
+
+        assertThat(adapter.findById(loanId)).contains(loanApplication);
+        assertThat(adapter.redisCircuitState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        verify(delegate, times(1)).findById(loanId);
+    }
+
+    // Without a near cache, so every lookup reaches the Redis tier
+    private CachingLoanRepositoryAdapter adapterWith(RedisCircuitBreaker circuitBreaker) {
+        return new CachingLoanRepositoryAdapter(delegate, redisBackend, new NearCache<>(0, Duration.ZERO), invalidationBus,
+                new CacheLoadCoordinator(redisTemplate, false, Duration.ZERO, Duration.ZERO, Duration.ZERO),
+                RefreshAheadScheduler.disabled(), circuitBreaker, metrics, loanHotKeys, identityHotKeys,
+                ttlPolicy, StaleWhileRevalidate.disabled(), new LoanCacheProperties());
+    }
+
+    @Test
+    @DisplayName("findById should record hits, misses and latencies per tier")
+    void shouldRecordLoanMetricsPerTier() {
+        when(valueOperations.get(cacheKey)).thenReturn(null);
+        when(delegate.findById(loanId)).thenReturn(Optional.of(loanApplication));
+
+        cachingAdapter.findById(loanId);
+        cachingAdapter.findById(loanId);
+
+        assertThat(metrics.missCount(Family.LOAN, Tier.L1)).isEqualTo(1);
+        assertThat(metrics.hitCount(Family.LOAN, Tier.L1)).isEqualTo(1);
+        assertThat(metrics.missCount(Family.LOAN, Tier.L2)).isEqualTo(1);
+        assertThat(metrics.callCount(Family.LOAN, Tier.L2)).isEqualTo(1);
+        assertThat(metrics.callCount(Family.LOAN, Tier.DB)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Redis errors should be counted against the key family")
+    void shouldRecordRedisErrorsPerFamily() {
+        ApplicantIdentity identity = loanApplication.getApplicantIdentity();
+        when(setOperations.members(identityKey(identity))).thenThrow(new RuntimeException("Redis down"));
+        when(delegate.findByApplicantIdentity(identity)).thenReturn(Optional.of(List.of()));
+
+        cachingAdapter.findByApplicantIdentity(identity);
+
+        assertThat(metrics.errorCount(Family.IDENTITY, Tier.L2)).isEqualTo(1);
+        assertThat(metrics.errorCount(Family.LOAN, Tier.L2)).isZero();
+    }
+
+    private CachingLoanRepositoryAdapter hashLayoutAdapter() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        properties.setLayout(LoanCacheProperties.Layout.HASH);
+        return new CachingLoanRepositoryAdapter(delegate, new RedisLoanCacheBackend(redisTemplate, true), nearCache,
+                invalidationBus,
+                new CacheLoadCoordinator(redisTemplate, false, Duration.ZERO, Duration.ZERO, Duration.ZERO),
+                RefreshAheadScheduler.disabled(), RedisCircuitBreaker.disabled(), metrics, loanHotKeys, identityHotKeys,
+                ttlPolicy, StaleWhileRevalidate.disabled(), properties);
+    }
+
+    private static String hashKeyOf(LoanId id) {
+        return "loan:hash:" + id.value();
+    }
+
+    // Pipelined HGETALL replies, as raw bytes
+    @SuppressWarnings("unchecked")
+    private void givenCachedHashes(List<Map<String, String>> hashes) {
+        List<Object> replies = new ArrayList<>();
+        hashes.forEach(fields -> {
+            Map<byte[], byte[]> reply = new LinkedHashMap<>();
+            fields.forEach((field, value) -> reply.put(field.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8)));
+            replies.add(reply);
+        });
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(replies);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenValueSerializer() {
+        RedisSerializer<Object> values = mock(RedisSerializer.class);
+        lenient().when(values.serialize(any())).thenReturn(new byte[]{1});
+        doReturn(values).when(redisTemplate).getValueSerializer();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> hashSaveArgs(int times) {
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate, times(times)).execute(eq(LoanCacheScripts.HASH_SAVE), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(List.of(hashKeyOf(loanId), "loan:ver:" + loanId.value(),
+                        identityKey(loanApplication.getApplicantIdentity()), "loan:history:list:" + loanId.value(),
+                        "loan:criteria:gen:" + loanApplication.getApplicantIdentity().value(), "loan:criteria:gen",
+                        "loan:hash:stale:" + loanId.value())),
+                args.capture());
+        return args.getAllValues();
+    }
+
+    // Field/value pairs sent after the nine fixed arguments of the save script
+    private static List<Object> sentFields(Object[] args) {
+        return Arrays.asList(args).subList(9, args.length);
+    }
+
+    @Test
+    @DisplayName("hash layout: findById should assemble the loan from its hash fields")
+    void shouldReadLoanFromHash() {
+        CachingLoanRepositoryAdapter adapter = hashLayoutAdapter();
+        givenCachedHashes(List.of(LoanHashCodec.encode(loanApplication)));
+
+        Optional<LoanApplication> result = adapter.findById(loanId);
+
+        assertThat(result).get().usingRecursiveComparison().isEqualTo(loanApplication);
+        verify(delegate, never()).findById(any());
+        verifyNoInteractions(valueOperations);
+    }
+
+    @Test
+    @DisplayName("hash layout: findById should load a missing loan and cache it as a hash")
+    @SuppressWarnings("unchecked")
+    void shouldWriteLoadedLoanAsHash() {
+        CachingLoanRepositoryAdapter adapter = hashLayoutAdapter();
+        givenCachedHashes(List.of(Map.of()));
+        when(delegate.findById(loanId)).thenReturn(Optional.of(loanApplication));
+
+        assertThat(adapter.findById(loanId)).contains(loanApplication);
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(eq(LoanCacheScripts.HASH_VERSIONED_SET), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(List.of(hashKeyOf(loanId), "loan:ver:" + loanId.value(), "loan:hash:stale:" + loanId.value(),
+                        "loan:history:list:" + loanId.value())),
+                args.capture());
+        assertThat(args.getValue()).startsWith(LoanCacheScripts.version(loanApplication),
+                Duration.ofMinutes(5).toMillis(), 0L, 9);
+        assertThat(args.getValue()).contains(LoanHashCodec.STATUS, "PENDING");
+    }
+
+    @Test
+    @DisplayName("hash layout: findById should cache a not-found marker hash for unknown loans")
+    @SuppressWarnings("unchecked")
+    void shouldMarkUnknownLoanInHashLayout() {
+        CachingLoanRepositoryAdapter adapter = hashLayoutAdapter();
+        givenCachedHashes(List.of(Map.of()));
+        when(delegate.findById(loanId)).thenReturn(Optional.empty());
+
+        assertThat(adapter.findById(loanId)).isEmpty();
+
+        verify(redisTemplate).execute(eq(LoanCacheScripts.HASH_NOT_FOUND), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(List.of(hashKeyOf(loanId))),
+                eq(LoanHashCodec.NOT_FOUND), eq(1), eq(Duration.ofSeconds(30).toMillis()));
+    }
+
+    @Test
+    @DisplayName("hash layout: a status transition should only send the fields that changed")
+    @SuppressWarnings("unchecked")
+    void shouldSendOnlyChangedFieldsOnTransition() {
+        CachingLoanRepositoryAdapter adapter = hashLayoutAdapter();
+        givenValueSerializer();
+        nearCache.put(loanId, loanApplication);
+        LoanApplication approved = loanApplication.toBuilder()
+                .status(LoanStatus.APPROVED).modifiedAt(loanApplication.getModifiedAt().plusSeconds(1)).version(1).build();
+        when(delegate.save(approved)).thenReturn(approved);
+        when(redisTemplate.execute(eq(LoanCacheScripts.HASH_SAVE), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class))).thenReturn(1L);
+
+        adapter.save(approved);
+
+        Object[] args = hashSaveArgs(1).get(0);
+        assertThat(args[5]).isEqualTo(LoanCacheScripts.version(loanApplication));
+        assertThat(sentFields(args)).containsExactly("modifiedAt", approved.getModifiedAt().toString(),
+                LoanHashCodec.STATUS, "APPROVED", "version", "1");
+        verify(invalidationBus).publish(loanId);
+    }
+
+    @Test
+    @DisplayName("hash layout: a save should send every field when the cached hash is not the expected version")
+    @SuppressWarnings("unchecked")
+    void shouldResendAllFieldsWhenPartialWriteIsRefused() {
+        CachingLoanRepositoryAdapter adapter = hashLayoutAdapter();
+        givenValueSerializer();
+        nearCache.put(loanId, loanApplication);
+        LoanApplication approved = loanApplication.toBuilder().status(LoanStatus.APPROVED).build();
+        when(delegate.save(approved)).thenReturn(approved);
+        when(redisTemplate.execute(eq(LoanCacheScripts.HASH_SAVE), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(Object[].class))).thenReturn(-1L, 1L);
+
+        adapter.save(approved);
+
+        List<Object[]> calls = hashSaveArgs(2);
+        assertThat(sentFields(calls.get(0))).containsExactly(LoanHashCodec.STATUS, "APPROVED");
+        assertThat(calls.get(1)[5]).isEqualTo(-1L);
+        assertThat(sentFields(calls.get(1))).hasSize(18);
+        assertThat(nearCache.get(loanId)).get().extracting(LoanApplication::getStatus).isEqualTo(LoanStatus.APPROVED);
+    }
+
+    @Test
+    @DisplayName("hash layout: findStatusById should read only the status field")
+    @SuppressWarnings("unchecked")
+    void shouldReadStatusFieldOnly() {
+        CachingLoanRepositoryAdapter adapter = hashLayoutAdapter();
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(Arrays.asList("APPROVED".getBytes(), null));
+
+        assertThat(adapter.findStatusById(loanId)).contains(LoanStatus.APPROVED);
+
+        // The HMGET only, no pipelined HGETALL
+        verify(redisTemplate, times(1)).execute(any(RedisCallback.class));
+        verify(delegate, never()).findById(any());
+        assertThat(metrics.hitCount(Family.LOAN, Tier.L2)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("hash layout: findStatusById should honour the not-found marker and load on a miss")
+    @SuppressWarnings("unchecked")
+    void shouldHandleStatusMarkerAndMiss() {
+        CachingLoanRepositoryAdapter adapter = hashLayoutAdapter();
+        LoanId unknown = new LoanId(UUID.randomUUID());
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenReturn(Arrays.asList(null, "1".getBytes()), Arrays.asList(null, null));
+        when(delegate.findById(loanId)).thenReturn(Optional.of(loanApplication));
+
+        assertThat(adapter.findStatusById(unknown)).isEmpty();
+        assertThat(adapter.findStatusById(loanId)).contains(LoanStatus.PENDING);
+
+        verify(delegate, never()).findById(unknown);
+        verify(delegate).findById(loanId);
+    }
+
+    @Test
+    @DisplayName("findStatusById should read the whole loan with the string layout")
+    void shouldReadWholeLoanForStatusWithStringLayout() {
+        when(valueOperations.get(cacheKey)).thenReturn(loanApplication);
+
+        assertThat(cachingAdapter.findStatusById(loanId)).contains(LoanStatus.PENDING);
+
+        verify(redisTemplate, never()).execute(any(RedisCallback.class));
+    }
+
     @Test
     @DisplayName("Delegated methods should call delegate")
     void shouldCallDelegateForOtherMethods() {
@@ -329,6 +1343,163 @@ class CachingLoanRepositoryAdapterTest {
         verify(delegate).findByCriteria(null, null, null);
     }
 
+    @Test
+    @DisplayName("findById should only keep a loan in the near cache once it has been looked up repeatedly")
+    void shouldAdmitOnlyRepeatedLookupsToNearCache() {
+        NearCache<LoanId, LoanApplication> admitting = new NearCache<>(100, Duration.ofMinutes(1), loanHotKeys::frequency, 2);
+        CachingLoanRepositoryAdapter adapter = new CachingLoanRepositoryAdapter(delegate, redisBackend, admitting,
+                invalidationBus, new CacheLoadCoordinator(redisTemplate, false, Duration.ZERO, Duration.ZERO, Duration.ZERO),
+                RefreshAheadScheduler.disabled(), RedisCircuitBreaker.disabled(), metrics, loanHotKeys, identityHotKeys,
+                ttlPolicy, StaleWhileRevalidate.disabled(), new LoanCacheProperties());
+        when(valueOperations.get(cacheKey)).thenReturn(loanApplication);
+
+        adapter.findById(loanId);
+        assertThat(admitting.peek(loanId)).isEmpty();
+        adapter.findById(loanId);
+        assertThat(admitting.peek(loanId)).isPresent();
+
+        adapter.findById(loanId);
+        verify(valueOperations, times(2)).get(cacheKey);
+        assertThat(loanHotKeys.top(1)).containsExactly(new HotKeys.HotKey<>(loanId, 3));
+    }
+
+    @Test
+    @DisplayName("with the in-process backend, loans should be cached without any Redis call")
+    void shouldCacheInProcessWithoutRedis() {
+        CachingLoanRepositoryAdapter adapter = new CachingLoanRepositoryAdapter(delegate, new InMemoryLoanCacheBackend(100),
+                new NearCache<>(0, Duration.ZERO), LoanCacheInvalidationBus.disabled(),
+                new CacheLoadCoordinator(redisTemplate, false, Duration.ZERO, Duration.ZERO, Duration.ZERO),
+                RefreshAheadScheduler.disabled(), RedisCircuitBreaker.disabled(), metrics, loanHotKeys, identityHotKeys,
+                ttlPolicy, StaleWhileRevalidate.disabled(), new LoanCacheProperties());
+        LoanId unknown = new LoanId(UUID.randomUUID());
+        when(delegate.findById(loanId)).thenReturn(Optional.of(loanApplication));
+
+        assertThat(adapter.findById(loanId)).get().usingRecursiveComparison().isEqualTo(loanApplication);
+        assertThat(adapter.findById(loanId)).isPresent();
+        assertThat(adapter.findById(unknown)).isEmpty();
+        assertThat(adapter.findById(unknown)).isEmpty();
+
+        verify(delegate, times(1)).findById(loanId);
+        verify(delegate, times(1)).findById(unknown);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("identity lookups should be counted as hot identity accesses")
+    void shouldTrackHotIdentities() {
+        ApplicantIdentity identity = loanApplication.getApplicantIdentity();
+        when(setOperations.members(identityKey(identity))).thenReturn(Set.of(CacheTombstone.VALUE));
+
+        cachingAdapter.findByApplicantIdentity(identity);
+        cachingAdapter.findByApplicantIdentity(identity);
+
+        assertThat(identityHotKeys.top(1)).containsExactly(new HotKeys.HotKey<>(identity.value(), 2));
+    }
+
+    @Test
+    @DisplayName("warm should write loans to Redis and the near cache, skipping those a newer version beat")
+    void shouldWarmRedisAndNearCache() {
+        LoanApplication other = aLoanApplication().build();
+        when(redisTemplate.execute(eq(LoanCacheScripts.VERSIONED_SET), anyList(), any(Object[].class)))
+                .thenReturn(List.of(1L, 0L));
+
+        int cached = cachingAdapter.warm(List.of(loanApplication, other));
+
+        assertThat(cached).isEqualTo(1);
+        assertThat(nearCache.get(loanId)).isPresent();
+        assertThat(nearCache.get(other.getId())).isEmpty();
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("findRecentBefore and findByStatusAfter should page through the delegate without caching")
+    void shouldDelegatePagedQueries() {
+        LoanCursor cursor = LoanCursor.of(loanApplication);
+        when(delegate.findRecentBefore(null, 50)).thenReturn(List.of(loanApplication));
+        when(delegate.findByStatusAfter(LoanStatus.PENDING, cursor, 50)).thenReturn(List.of());
+
+        assertThat(cachingAdapter.findRecentBefore(null, 50)).containsExactly(loanApplication);
+        assertThat(cachingAdapter.findByStatusAfter(LoanStatus.PENDING, cursor, 50)).isEmpty();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("keyset pages and streamed searches should read the delegate without caching")
+    void shouldDelegateKeysetAndStreamedQueries() {
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        LoanCursor cursor = LoanCursor.of(loanApplication);
+        when(delegate.findByCriteriaAfter(null, null, null, cursor, 100)).thenReturn(List.of(loanApplication));
+        when(delegate.streamByCriteria("12345678Z", start, null)).thenReturn(Stream.of(loanApplication));
+
+        assertThat(cachingAdapter.findAllAfter(cursor, 100)).containsExactly(loanApplication);
+        try (Stream<LoanApplication> loans = cachingAdapter.streamByCriteria("12345678Z", start, null)) {
+            assertThat(loans).containsExactly(loanApplication);
+        }
+        verifyNoInteractions(redisTemplate);
+    }
+
+    // Loads run inline, so a failing delegate falls back to the stale copy without waiting on the budget
+    private CachingLoanRepositoryAdapter staleServingAdapter() {
+        return new CachingLoanRepositoryAdapter(delegate, redisBackend, new NearCache<>(0, Duration.ZERO), invalidationBus,
+                new CacheLoadCoordinator(redisTemplate, false, Duration.ZERO, Duration.ZERO, Duration.ZERO),
+                RefreshAheadScheduler.disabled(), RedisCircuitBreaker.disabled(), metrics, loanHotKeys, identityHotKeys,
+                ttlPolicy,
+                new StaleWhileRevalidate(Runnable::run, Duration.ofSeconds(1)), new LoanCacheProperties());
+    }
+
+    @Test
+    @DisplayName("findById should serve the stale copy, flagged for the response, when the database fails")
+    void shouldServeStaleCopyWhenDatabaseFails() {
+        CachingLoanRepositoryAdapter adapter = staleServingAdapter();
+        when(valueOperations.get(cacheKey)).thenReturn(null);
+        when(valueOperations.get("loan:stale:" + loanId.value())).thenReturn(loanApplication);
+        when(delegate.findById(loanId)).thenThrow(new RuntimeException("Database down"));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            assertThat(adapter.findById(loanId)).contains(loanApplication);
+            assertThat(StaleResponse.isMarked()).isTrue();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    @DisplayName("findById should propagate a database failure when no stale copy exists")
+    void shouldPropagateDatabaseFailureWithoutStaleCopy() {
+        CachingLoanRepositoryAdapter adapter = staleServingAdapter();
+        when(valueOperations.get(anyString())).thenReturn(null);
+        when(delegate.findById(loanId)).thenThrow(new RuntimeException("Database down"));
+
+        assertThatThrownBy(() -> adapter.findById(loanId)).hasMessage("Database down");
+    }
+
+    @Test
+    @DisplayName("loaded loans should keep a stale copy that outlives them by the stale window")
+    void shouldWriteStaleCopyOutlivingTheEntry() {
+        CachingLoanRepositoryAdapter adapter = staleServingAdapter();
+        when(valueOperations.get(cacheKey)).thenReturn(null);
+        when(delegate.findById(loanId)).thenReturn(Optional.of(loanApplication));
+
+        adapter.findById(loanId);
+
+        verify(redisTemplate).execute(eq(LoanCacheScripts.VERSIONED_SET),
+                eq(List.of(cacheKey, "loan:ver:" + loanId.value(), "loan:stale:" + loanId.value(),
+                        "loan:history:list:" + loanId.value())),
+                eq(loanApplication), anyLong(), eq(loanTtlMillis(LoanStatus.PENDING)),
+                eq(loanTtlMillis(LoanStatus.PENDING) + Duration.ofHours(1).toMillis()));
+    }
+
+    // The default policy without jitter, so TTLs can be asserted exactly
+    private static LoanCacheTtlPolicy noJitterTtlPolicy() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        properties.getTtl().setJitter(0);
+        return new LoanCacheConfig().loanCacheTtlPolicy(properties);
+    }
+
+    private long loanTtlMillis(LoanStatus status) {
+        return ttlPolicy.baseTtl(Family.LOAN, status).toMillis();
+    }
+
     private LoanApplication.LoanApplicationBuilder aLoanApplication() {
         return LoanApplication.builder()
                 .id(new LoanId(UUID.randomUUID()))
@@ -0,0 +1,117 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.jpa;
+
+import com.caixabanktech.loan.domain.model.ApplicantIdentity;
+import com.caixabanktech.loan.domain.model.LoanAmount;
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.domain.port.out.LoanCursor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoanCacheWarmer Tests")
+class LoanCacheWarmerTest {
+
+    @Mock
+    private CachingLoanRepositoryAdapter cache;
+
+    @Test
+    @DisplayName("should cache the most recent loans up to the limit and every pending loan, each once")
+    void shouldWarmRecentAndPendingLoans() {
+        LoanApplication first = aLoan(LoanStatus.PENDING);
+        LoanApplication second = aLoan(LoanStatus.APPROVED);
+        LoanApplication third = aLoan(LoanStatus.REJECTED);
+        LoanApplication olderPending = aLoan(LoanStatus.PENDING);
+        when(cache.findRecentBefore(null, 2)).thenReturn(List.of(first, second));
+        when(cache.findRecentBefore(LoanCursor.of(second), 1)).thenReturn(List.of(third));
+        when(cache.findByStatusAfter(LoanStatus.PENDING, null, 2)).thenReturn(List.of(olderPending, first));
+        when(cache.findByStatusAfter(LoanStatus.PENDING, LoanCursor.of(first), 2)).thenReturn(List.of());
+        when(cache.warm(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        int cached = new LoanCacheWarmer(cache, 3, 2, Duration.ofSeconds(5)).warmUp();
+
+        assertThat(cached).isEqualTo(4);
+        verify(cache).warm(List.of(first, second));
+        verify(cache).warm(List.of(third));
+        verify(cache).warm(List.of(olderPending));
+        verify(cache).warm(List.of());
+    }
+
+    @Test
+    @DisplayName("should read no more recent loans than wanted")
+    void shouldTrimLastRecentPage() {
+        LoanApplication first = aLoan(LoanStatus.APPROVED);
+        when(cache.findRecentBefore(null, 1)).thenReturn(List.of(first));
+        when(cache.findByStatusAfter(LoanStatus.PENDING, null, 2)).thenReturn(List.of());
+        when(cache.warm(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        assertThat(new LoanCacheWarmer(cache, 1, 2, Duration.ofSeconds(5)).warmUp()).isEqualTo(1);
+
+        verify(cache).warm(List.of(first));
+        verify(cache).findRecentBefore(null, 1);
+    }
+
+    @Test
+    @DisplayName("should stop waiting once the timeout elapses and stop after the page in progress")
+    void shouldGiveUpAfterTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(cache.findRecentBefore(null, 2)).thenAnswer(invocation -> {
+            release.await();
+            return List.of(aLoan(LoanStatus.APPROVED), aLoan(LoanStatus.APPROVED));
+        });
+
+        int cached = new LoanCacheWarmer(cache, 10, 2, Duration.ofMillis(50)).warmUp();
+
+        assertThat(cached).isZero();
+        release.countDown();
+        verify(cache, never()).findByStatusAfter(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("should not fail startup when the database cannot be read")
+    void shouldSurviveLoadFailure() {
+        when(cache.findRecentBefore(any(), anyInt())).thenThrow(new IllegalStateException("Database down"));
+
+        assertThat(new LoanCacheWarmer(cache, 10, 2, Duration.ofSeconds(5)).warmUp()).isZero();
+    }
+
+    @Test
+    @DisplayName("should reject a non-positive page size")
+    void shouldRejectInvalidPageSize() {
+        assertThatThrownBy(() -> new LoanCacheWarmer(cache, 10, 0, Duration.ofSeconds(5)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static LoanApplication aLoan(LoanStatus status) {
+        return LoanApplication.builder()
+                .id(new LoanId(UUID.randomUUID()))
+                .applicantName("Alvaro de la Flor Bonilla")
+                .applicantIdentity(new ApplicantIdentity("12345678Z"))
+                .loanAmount(new LoanAmount(new BigDecimal("123.45"), Currency.getInstance("EUR")))
+                .createdAt(Instant.now())
+                .modifiedAt(Instant.now())
+                .status(status)
+                .build();
+    }
+}
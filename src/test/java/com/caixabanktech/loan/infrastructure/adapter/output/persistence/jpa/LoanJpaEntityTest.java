@@ -10,6 +10,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -245,6 +246,20 @@ class LoanJpaEntityTest {
         }
     }
 
+    @Test
+    @DisplayName("isNew should follow the new-entity flag until the entity is persisted or loaded")
+    void isNewFollowsFlagUntilPersistedOrLoaded() {
+        LoanJpaEntity e = newEntity(UUID.randomUUID());
+        assertFalse(e.isNew());
+
+        e.setNewEntity(true);
+        assertTrue(e.isNew());
+        assertEquals(newEntity(e.getId()), e);
+
+        e.markNotNew();
+        assertFalse(e.isNew());
+    }
+
     @Test
     @DisplayName("EqualsVerifier should validate equals and hashCode contracts for LoanJpaEntity")
     void equalsVerifierCoversAllBranches() {
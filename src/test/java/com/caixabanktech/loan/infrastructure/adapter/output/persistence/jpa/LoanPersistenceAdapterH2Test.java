@@ -0,0 +1,286 @@
+package com.caixabanktech.loan.infrastructure.adapter.output.persistence.jpa;
+
+import com.caixabanktech.loan.domain.model.ApplicantIdentity;
+import com.caixabanktech.loan.domain.model.LoanAmount;
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.domain.port.out.LoanCursor;
+import com.caixabanktech.loan.infrastructure.adapter.input.rest.mapper.LoanPersistenceMapperImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * LoanPersistenceAdapter against H2 in Oracle mode, for what mocks cannot show: the statements Hibernate and Envers
+ * actually send. Each test commits, since Envers only writes audit rows on commit.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loan-persistence;MODE=Oracle;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.caixabanktech.loan.infrastructure.adapter.output.persistence.jpa.LoanPersistenceAdapterH2Test$RecordingStatementInspector"
+})
+@Import({LoanPersistenceAdapter.class, LoanPersistenceMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Persistence Adapter Tests: LoanPersistenceAdapter on H2 (Oracle mode)")
+class LoanPersistenceAdapterH2Test {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanPersistenceAdapterH2Test.class);
+
+    @Autowired
+    private LoanPersistenceAdapter adapter;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM LOAN_APPLICATIONS_AUD");
+        jdbcTemplate.update("DELETE FROM REVINFO");
+        jdbcTemplate.update("DELETE FROM LOAN_APPLICATIONS");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("create should insert a new loan with a single statement, without selecting it first")
+    void createIssuesSingleInsert() {
+        LoanApplication loan = loans(1).get(0);
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        LoanApplication created = adapter.create(loan);
+
+        assertThat(created.getId()).isEqualTo(loan.getId());
+        assertThat(RecordingStatementInspector.STATEMENTS)
+                .filteredOn(sql -> sql.contains("loan_applications ") || sql.endsWith("loan_applications"))
+                .singleElement().asString().startsWith("insert into loan_applications ");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(count("SELECT COUNT(*) FROM LOAN_APPLICATIONS_AUD")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("create should fail rather than overwrite a loan that already exists")
+    void createRejectsExistingLoan() {
+        LoanApplication loan = adapter.create(loans(1).get(0));
+
+        assertThatThrownBy(() -> adapter.create(loan.toBuilder().applicantName("Someone Else").build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT APPLICANT_NAME FROM LOAN_APPLICATIONS", String.class))
+                .isEqualTo("Alvaro de la Flor Bonilla");
+    }
+
+    @Test
+    @DisplayName("updateStatus should change the loan with one UPDATE, audited, and let only one of two racing updates of a version win")
+    void updateStatusIsCompareAndSet() {
+        LoanApplication loan = adapter.create(loans(1).get(0));
+        Instant approvedAt = loan.getModifiedAt().plusSeconds(1).truncatedTo(ChronoUnit.MICROS);
+        LoanApplication approved = loan.toBuilder().status(LoanStatus.APPROVED).modifiedAt(approvedAt).build();
+        LoanApplication rejected = loan.toBuilder().status(LoanStatus.REJECTED).modifiedAt(approvedAt).build();
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        assertThat(adapter.updateStatus(approved)).get().extracting(LoanApplication::getVersion).isEqualTo(1L);
+        assertThat(adapter.updateStatus(rejected)).isEmpty();
+
+        // Each transition is one UPDATE of the loan; the winner's audit row is copied from the updated row
+        assertThat(List.copyOf(RecordingStatementInspector.STATEMENTS))
+                .filteredOn(sql -> !sql.contains("revinfo"))
+                .satisfiesExactly(
+                        sql -> assertThat(sql).startsWith("update loan_applications "),
+                        sql -> assertThat(sql).startsWith("INSERT INTO LOAN_APPLICATIONS_AUD"),
+                        sql -> assertThat(sql).startsWith("update loan_applications "));
+        assertThat(adapter.findById(loan.getId())).get()
+                .extracting(LoanApplication::getStatus, LoanApplication::getVersion)
+                .containsExactly(LoanStatus.APPROVED, 1L);
+        List<LoanApplication> history = new TransactionTemplate(transactionManager)
+                .execute(status -> adapter.findHistory(loan.getId()).orElseThrow());
+        assertThat(history).extracting(LoanApplication::getStatus, LoanApplication::getVersion)
+                .containsExactly(tuple(LoanStatus.PENDING, 0L), tuple(LoanStatus.APPROVED, 1L));
+        assertThat(history.get(1).getModifiedAt()).isEqualTo(approvedAt);
+    }
+
+    @Test
+    @DisplayName("save should fail rather than overwrite a loan updated since the copy it was given was read")
+    void saveRejectsOutdatedCopy() {
+        LoanApplication loan = adapter.create(loans(1).get(0));
+        LoanApplication approved = adapter.save(loan.toBuilder().status(LoanStatus.APPROVED).build());
+
+        assertThat(approved.getVersion()).isEqualTo(loan.getVersion() + 1);
+        assertThatThrownBy(() -> adapter.save(loan.toBuilder().status(LoanStatus.REJECTED).build()))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT STATUS FROM LOAN_APPLICATIONS", String.class)).isEqualTo("APPROVED");
+    }
+
+    @Test
+    @DisplayName("saveAll should send new loans and their audit rows in JDBC batches under one revision")
+    void saveAllBatchesInsertsUnderOneRevision() {
+        List<LoanApplication> loans = loans(200);
+
+        List<LoanApplication> saved = adapter.saveAll(loans);
+
+        assertThat(saved).extracting(LoanApplication::getId).containsExactlyElementsOf(ids(loans));
+        assertThat(count("SELECT COUNT(*) FROM LOAN_APPLICATIONS")).isEqualTo(200);
+        assertThat(count("SELECT COUNT(*) FROM LOAN_APPLICATIONS_AUD")).isEqualTo(200);
+        assertThat(count("SELECT COUNT(*) FROM REVINFO")).isEqualTo(1);
+        // One lookup, one revision sequence call and insert, then 4 batches of 50 per table instead of 400 inserts
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("saveAll should update existing loans without selecting them one by one")
+    void saveAllUpdatesExistingLoans() {
+        List<LoanApplication> saved = adapter.saveAll(loans(100));
+        statistics.clear();
+
+        List<LoanApplication> approved = adapter.saveAll(saved.stream().map(LoanApplication::approve).toList());
+
+        assertThat(approved).extracting(LoanApplication::getStatus).containsOnly(LoanStatus.APPROVED);
+        assertThat(count("SELECT COUNT(*) FROM LOAN_APPLICATIONS WHERE STATUS = 'APPROVED'")).isEqualTo(100);
+        assertThat(count("SELECT COUNT(*) FROM REVINFO")).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("findRecentBefore and findByStatusAfter should page by keyset through every loan once, ties broken by id")
+    void keysetPagesCoverEveryLoanOnce() {
+        List<LoanApplication> loans = new ArrayList<>(loans(5));
+        Instant createdAt = Instant.parse("2026-02-07T10:00:00Z");
+        for (int i = 0; i < loans.size(); i++) {
+            // Two loans share a creation time, so pages must resume on the id
+            LoanApplication loan = loans.get(i);
+            loans.set(i, loan.toBuilder()
+                    .createdAt(createdAt.plusSeconds(Math.min(i, 3)))
+                    .status(i % 2 == 0 ? LoanStatus.PENDING : LoanStatus.APPROVED)
+                    .build());
+        }
+        adapter.saveAll(loans);
+
+        List<LoanApplication> recent = new ArrayList<>();
+        LoanCursor before = null;
+        for (List<LoanApplication> page; !(page = adapter.findRecentBefore(before, 2)).isEmpty(); ) {
+            recent.addAll(page);
+            before = LoanCursor.of(page.get(page.size() - 1));
+        }
+        List<LoanApplication> pending = new ArrayList<>();
+        LoanCursor after = null;
+        for (List<LoanApplication> page; !(page = adapter.findByStatusAfter(LoanStatus.PENDING, after, 2)).isEmpty(); ) {
+            pending.addAll(page);
+            after = LoanCursor.of(page.get(page.size() - 1));
+        }
+
+        // The database decides how ids compare; what matters is that every loan comes once, in creation order
+        assertThat(ids(recent)).containsExactlyInAnyOrderElementsOf(ids(loans));
+        assertThat(recent).extracting(LoanApplication::getCreatedAt).isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(ids(pending)).containsExactlyInAnyOrderElementsOf(ids(loans.stream()
+                .filter(loan -> loan.getStatus() == LoanStatus.PENDING).toList()));
+        assertThat(pending).extracting(LoanApplication::getCreatedAt).isSorted();
+    }
+
+    @Test
+    @DisplayName("Benchmark: rows per second saved by saveAll at different JDBC batch sizes")
+    void benchmarkSaveAllBatchSizes() {
+        int rows = 2_000;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // Unmeasured first round: warms up the JIT, which would otherwise be charged to the first batch size
+        adapter.saveAll(loans(rows));
+        for (int batchSize : new int[] {1, 10, 50, 100}) {
+            List<LoanApplication> loans = loans(rows);
+            long start = System.nanoTime();
+            transaction.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                adapter.saveAll(loans);
+            });
+            long nanos = System.nanoTime() - start;
+            log.info("saveAll of {} loans with batch size {}: {} rows per second", rows, batchSize,
+                    rows * 1_000_000_000L / nanos);
+        }
+
+        assertThat(count("SELECT COUNT(*) FROM LOAN_APPLICATIONS")).isEqualTo(5L * rows);
+        assertThat(count("SELECT COUNT(*) FROM REVINFO")).isEqualTo(5);
+    }
+
+    /**
+     * Records the SQL Hibernate prepares, as sent.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private static List<LoanId> ids(List<LoanApplication> loans) {
+        return loans.stream().map(LoanApplication::getId).toList();
+    }
+
+    private static List<LoanApplication> loans(int count) {
+        List<LoanApplication> loans = new ArrayList<>(count);
+        Instant now = Instant.now();
+        for (int i = 0; i < count; i++) {
+            loans.add(LoanApplication.builder()
+                    .id(new LoanId(UUID.randomUUID()))
+                    .applicantName("Alvaro de la Flor Bonilla")
+                    .applicantIdentity(new ApplicantIdentity("12345678Z"))
+                    .loanAmount(new LoanAmount(new BigDecimal("1998.03"), Currency.getInstance("EUR")))
+                    .createdAt(now)
+                    .modifiedAt(now)
+                    .status(LoanStatus.PENDING)
+                    .build());
+        }
+        return loans;
+    }
+}
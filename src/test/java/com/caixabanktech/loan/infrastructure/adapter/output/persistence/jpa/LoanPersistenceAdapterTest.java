@@ -5,33 +5,52 @@ import com.caixabanktech.loan.domain.model.LoanAmount;
 import com.caixabanktech.loan.domain.model.LoanApplication;
 import com.caixabanktech.loan.domain.model.LoanId;
 import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.domain.port.out.LoanCursor;
 import com.caixabanktech.loan.infrastructure.adapter.input.rest.mapper.LoanPersistenceMapper;
 import org.hibernate.envers.AuditReader;
 import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.RevisionType;
 import org.hibernate.envers.query.AuditQuery;
 import org.hibernate.envers.query.AuditQueryCreator;
+import org.hibernate.jpa.HibernateHints;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Currency;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -54,16 +73,109 @@ class LoanPersistenceAdapterTest {
         LoanApplication mappedBack = domain;
 
         when(mapper.toEntity(domain)).thenReturn(entity);
-        when(jpaRepo.save(entity)).thenReturn(savedEntity);
+        when(jpaRepo.saveAndFlush(entity)).thenReturn(savedEntity);
         when(mapper.toDomain(savedEntity)).thenReturn(mappedBack);
 
         LoanApplication result = adapter.save(domain);
         assertSame(mappedBack, result);
         verify(mapper).toEntity(domain);
-        verify(jpaRepo).save(entity);
+        verify(jpaRepo).saveAndFlush(entity);
         verify(mapper).toDomain(savedEntity);
     }
 
+    @Test
+    @DisplayName("create should mark the entity as new, so the repository persists it without a lookup")
+    void createMarksEntityAsNew() {
+        LoanJpaRepository jpaRepo = mock(LoanJpaRepository.class);
+        LoanPersistenceMapper mapper = mock(LoanPersistenceMapper.class);
+        LoanPersistenceAdapter adapter = new LoanPersistenceAdapter(jpaRepo, mock(EntityManager.class), mapper);
+
+        LoanApplication domain = sampleDomain(LoanStatus.PENDING);
+        LoanJpaEntity entity = sampleEntity(domain.getId().value(), "PENDING");
+        when(mapper.toEntity(domain)).thenReturn(entity);
+        when(jpaRepo.saveAndFlush(entity)).thenAnswer(invocation -> {
+            assertTrue(entity.isNew());
+            return entity;
+        });
+        when(mapper.toDomain(entity)).thenReturn(domain);
+
+        assertSame(domain, adapter.create(domain));
+        verify(jpaRepo).saveAndFlush(entity);
+    }
+
+    @Test
+    @DisplayName("updateStatus should report a lost version check without auditing anything")
+    void updateStatusReportsNoChange() {
+        LoanJpaRepository jpaRepo = mock(LoanJpaRepository.class);
+        EntityManager em = mock(EntityManager.class);
+        LoanPersistenceAdapter adapter = new LoanPersistenceAdapter(jpaRepo, em, mock(LoanPersistenceMapper.class));
+        LoanApplication approved = sampleDomain(LoanStatus.APPROVED);
+        when(jpaRepo.updateStatus(approved.getId().value(), 0L, "APPROVED", approved.getModifiedAt())).thenReturn(0);
+
+        assertTrue(adapter.updateStatus(approved).isEmpty());
+        Mockito.verifyNoInteractions(em);
+    }
+
+    @Test
+    @DisplayName("updateStatus should return the loan with its next version and copy the updated row to the audit table")
+    void updateStatusAuditsChange() {
+        LoanJpaRepository jpaRepo = mock(LoanJpaRepository.class);
+        EntityManager em = mock(EntityManager.class);
+        LoanPersistenceAdapter adapter = new LoanPersistenceAdapter(jpaRepo, em, mock(LoanPersistenceMapper.class));
+        LoanApplication approved = sampleDomain(LoanStatus.APPROVED);
+        when(jpaRepo.updateStatus(approved.getId().value(), 0L, "APPROVED", approved.getModifiedAt())).thenReturn(1);
+        AuditReader auditReader = mock(AuditReader.class);
+        AuditRevisionEntity revision = new AuditRevisionEntity();
+        revision.setId(7);
+        Query audit = mock(Query.class);
+        when(em.createNativeQuery(any(String.class))).thenReturn(audit);
+        when(audit.setParameter(Mockito.anyInt(), any())).thenReturn(audit);
+
+        try (MockedStatic<AuditReaderFactory> mocked = Mockito.mockStatic(AuditReaderFactory.class)) {
+            mocked.when(() -> AuditReaderFactory.get(em)).thenReturn(auditReader);
+            when(auditReader.getCurrentRevision(AuditRevisionEntity.class, true)).thenReturn(revision);
+
+            assertEquals(1L, adapter.updateStatus(approved).orElseThrow().getVersion());
+        }
+
+        InOrder inOrder = Mockito.inOrder(em, audit);
+        inOrder.verify(em).flush();
+        inOrder.verify(audit).setParameter(1, 7);
+        inOrder.verify(audit).setParameter(2, RevisionType.MOD.getRepresentation());
+        inOrder.verify(audit).setParameter(3, approved.getId().value());
+        inOrder.verify(audit).executeUpdate();
+    }
+
+    @Test
+    @DisplayName("saveAll should persist new loans and merge existing ones after one lookup, then flush them together")
+    void saveAllPersistsNewAndMergesExisting() {
+        LoanJpaRepository jpaRepo = mock(LoanJpaRepository.class);
+        EntityManager em = mock(EntityManager.class);
+        LoanPersistenceMapper mapper = mock(LoanPersistenceMapper.class);
+        LoanPersistenceAdapter adapter = new LoanPersistenceAdapter(jpaRepo, em, mapper);
+
+        LoanApplication created = sampleDomain(LoanStatus.PENDING);
+        LoanApplication updated = sampleDomain(LoanStatus.APPROVED);
+        LoanJpaEntity newEntity = sampleEntity(created.getId().value(), "PENDING");
+        LoanJpaEntity changedEntity = sampleEntity(updated.getId().value(), "APPROVED");
+        LoanJpaEntity storedEntity = sampleEntity(updated.getId().value(), "PENDING");
+        when(mapper.toEntity(created)).thenReturn(newEntity);
+        when(mapper.toEntity(updated)).thenReturn(changedEntity);
+        when(jpaRepo.findAllById(List.of(created.getId().value(), updated.getId().value()))).thenReturn(List.of(storedEntity));
+        when(em.merge(changedEntity)).thenReturn(storedEntity);
+        when(mapper.toDomain(newEntity)).thenReturn(created);
+        when(mapper.toDomain(storedEntity)).thenReturn(updated);
+
+        assertEquals(List.of(created, updated), adapter.saveAll(List.of(created, updated)));
+
+        InOrder inOrder = Mockito.inOrder(em);
+        inOrder.verify(em).persist(newEntity);
+        inOrder.verify(em).merge(changedEntity);
+        inOrder.verify(em).flush();
+        inOrder.verify(em).clear();
+        verify(jpaRepo, never()).save(any());
+    }
+
     @Test
     @DisplayName("findById should query repository and map to domain")
     void findByIdMaps() {
@@ -111,6 +223,50 @@ class LoanPersistenceAdapterTest {
         verify(mapper).toDomain(e2);
     }
 
+    @Test
+    @DisplayName("findRecentBefore should read at most one keyset page, newest first, and map it to domain")
+    @SuppressWarnings("unchecked")
+    void findRecentBeforeReadsNewestFirst() {
+        LoanJpaRepository jpaRepo = mock(LoanJpaRepository.class);
+        LoanPersistenceMapper mapper = mock(LoanPersistenceMapper.class);
+        LoanPersistenceAdapter adapter = new LoanPersistenceAdapter(jpaRepo, mock(EntityManager.class), mapper);
+        LoanJpaEntity entity = sampleEntity(UUID.randomUUID(), "APPROVED");
+        LoanApplication domain = sampleDomain(LoanStatus.APPROVED);
+        FetchableFluentQuery<LoanJpaEntity> query = mock(FetchableFluentQuery.class);
+        ArgumentCaptor<Sort> sort = ArgumentCaptor.forClass(Sort.class);
+        when(query.sortBy(sort.capture())).thenReturn(query);
+        when(query.limit(50)).thenReturn(query);
+        when(query.all()).thenReturn(List.of(entity));
+        when(jpaRepo.findBy(any(Specification.class), any())).thenAnswer(invocation ->
+                invocation.<Function<FetchableFluentQuery<LoanJpaEntity>, Object>>getArgument(1).apply(query));
+        when(mapper.toDomain(entity)).thenReturn(domain);
+
+        assertEquals(List.of(domain), adapter.findRecentBefore(LoanCursor.of(sampleDomain(LoanStatus.PENDING)), 50));
+        assertEquals(List.of(Sort.Order.desc("createdAt"), Sort.Order.desc("id")), sort.getValue().toList());
+    }
+
+    @Test
+    @DisplayName("findByStatusAfter should read at most one keyset page of loans in that status, oldest first")
+    @SuppressWarnings("unchecked")
+    void findByStatusAfterReadsOldestFirst() {
+        LoanJpaRepository jpaRepo = mock(LoanJpaRepository.class);
+        LoanPersistenceMapper mapper = mock(LoanPersistenceMapper.class);
+        LoanPersistenceAdapter adapter = new LoanPersistenceAdapter(jpaRepo, mock(EntityManager.class), mapper);
+        LoanJpaEntity entity = sampleEntity(UUID.randomUUID(), "PENDING");
+        LoanApplication domain = sampleDomain(LoanStatus.PENDING);
+        FetchableFluentQuery<LoanJpaEntity> query = mock(FetchableFluentQuery.class);
+        ArgumentCaptor<Sort> sort = ArgumentCaptor.forClass(Sort.class);
+        when(query.sortBy(sort.capture())).thenReturn(query);
+        when(query.limit(50)).thenReturn(query);
+        when(query.all()).thenReturn(List.of(entity));
+        when(jpaRepo.findBy(any(Specification.class), any())).thenAnswer(invocation ->
+                invocation.<Function<FetchableFluentQuery<LoanJpaEntity>, Object>>getArgument(1).apply(query));
+        when(mapper.toDomain(entity)).thenReturn(domain);
+
+        assertEquals(List.of(domain), adapter.findByStatusAfter(LoanStatus.PENDING, null, 50));
+        assertEquals(List.of(Sort.Order.asc("createdAt"), Sort.Order.asc("id")), sort.getValue().toList());
+    }
+
     @Test
     @DisplayName("findHistory should use Envers AuditReader and map revisions to domain")
     void findHistoryMapsRevisions() {
@@ -241,6 +397,67 @@ class LoanPersistenceAdapterTest {
         verify(mapper).toDomain(e);
     }
 
+    @Test
+    @DisplayName("findByCriteriaAfter should read at most one page, ordered by creation time then id")
+    @SuppressWarnings("unchecked")
+    void findByCriteriaAfterReadsOneKeysetPage() {
+        LoanJpaRepository jpaRepo = mock(LoanJpaRepository.class);
+        LoanPersistenceMapper mapper = mock(LoanPersistenceMapper.class);
+        LoanPersistenceAdapter adapter = new LoanPersistenceAdapter(jpaRepo, mock(EntityManager.class), mapper);
+        LoanJpaEntity entity = sampleEntity(UUID.randomUUID(), "APPROVED");
+        LoanApplication domain = sampleDomain(LoanStatus.APPROVED);
+        FetchableFluentQuery<LoanJpaEntity> query = mock(FetchableFluentQuery.class);
+        ArgumentCaptor<Sort> sort = ArgumentCaptor.forClass(Sort.class);
+        when(query.sortBy(sort.capture())).thenReturn(query);
+        when(query.limit(50)).thenReturn(query);
+        when(query.all()).thenReturn(List.of(entity));
+        when(jpaRepo.findBy(any(Specification.class), any())).thenAnswer(invocation ->
+                invocation.<Function<FetchableFluentQuery<LoanJpaEntity>, Object>>getArgument(1).apply(query));
+        when(mapper.toDomain(entity)).thenReturn(domain);
+
+        List<LoanApplication> result = adapter.findByCriteriaAfter("12345678Z", null, null,
+                LoanCursor.of(sampleDomain(LoanStatus.PENDING)), 50);
+
+        assertEquals(List.of(domain), result);
+        assertEquals(List.of(Sort.Order.asc("createdAt"), Sort.Order.asc("id")), sort.getValue().toList());
+    }
+
+    @Test
+    @DisplayName("streamByCriteria should stream lazily with a tuned fetch size, detaching each entity once mapped")
+    @SuppressWarnings("unchecked")
+    void streamByCriteriaStreamsThroughCursor() {
+        LoanJpaRepository jpaRepo = mock(LoanJpaRepository.class);
+        EntityManager em = mock(EntityManager.class);
+        LoanPersistenceMapper mapper = mock(LoanPersistenceMapper.class);
+        LoanPersistenceAdapter adapter = new LoanPersistenceAdapter(jpaRepo, em, mapper);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        CriteriaQuery<LoanJpaEntity> criteriaQuery = mock(CriteriaQuery.class);
+        TypedQuery<LoanJpaEntity> typedQuery = mock(TypedQuery.class);
+        LoanJpaEntity e1 = sampleEntity(UUID.randomUUID(), "PENDING");
+        LoanJpaEntity e2 = sampleEntity(UUID.randomUUID(), "APPROVED");
+        LoanApplication d1 = sampleDomain(LoanStatus.PENDING);
+        LoanApplication d2 = sampleDomain(LoanStatus.APPROVED);
+        when(em.getCriteriaBuilder()).thenReturn(cb);
+        when(cb.createQuery(LoanJpaEntity.class)).thenReturn(criteriaQuery);
+        when(criteriaQuery.from(LoanJpaEntity.class)).thenReturn(mock(Root.class));
+        when(em.createQuery(criteriaQuery)).thenReturn(typedQuery);
+        when(typedQuery.setHint(any(), any())).thenReturn(typedQuery);
+        when(typedQuery.getResultStream()).thenReturn(Stream.of(e1, e2));
+        when(mapper.toDomain(e1)).thenReturn(d1);
+        when(mapper.toDomain(e2)).thenReturn(d2);
+
+        try (Stream<LoanApplication> loans = adapter.streamByCriteria(null, null, null)) {
+            verify(mapper, never()).toDomain(any());
+            assertEquals(List.of(d1, d2), loans.toList());
+        }
+
+        verify(criteriaQuery, never()).where(any(Predicate.class));
+        verify(typedQuery).setHint(HibernateHints.HINT_FETCH_SIZE, LoanPersistenceAdapter.STREAM_FETCH_SIZE);
+        verify(typedQuery).setHint(HibernateHints.HINT_READ_ONLY, true);
+        verify(em).detach(e1);
+        verify(em).detach(e2);
+    }
+
     @Test
     @DisplayName("deleteById should delegate to repository")
     void deleteByIdDelegatesToRepository() {
@@ -256,6 +473,47 @@ class LoanPersistenceAdapterTest {
         verify(jpaRepo).deleteById(id.value());
     }
 
+    @Test
+    @DisplayName("findAllById should query in chunks of at most 1000 ids and keep request order")
+    @SuppressWarnings("unchecked")
+    void findAllByIdQueriesInChunks() {
+        LoanJpaRepository jpaRepo = mock(LoanJpaRepository.class);
+        EntityManager em = mock(EntityManager.class);
+        LoanPersistenceMapper mapper = mock(LoanPersistenceMapper.class);
+        LoanPersistenceAdapter adapter = new LoanPersistenceAdapter(jpaRepo, em, mapper);
+
+        List<LoanId> ids = new ArrayList<>();
+        for (int i = 0; i < LoanPersistenceAdapter.IN_CLAUSE_CHUNK_SIZE + 1; i++) {
+            ids.add(new LoanId(UUID.randomUUID()));
+        }
+        LoanId first = ids.get(0);
+        LoanId last = ids.get(ids.size() - 1);
+        LoanJpaEntity firstEntity = sampleEntity(first.value(), "PENDING");
+        LoanJpaEntity lastEntity = sampleEntity(last.value(), "APPROVED");
+        LoanApplication firstDomain = sampleDomain(LoanStatus.PENDING);
+        LoanApplication lastDomain = sampleDomain(LoanStatus.APPROVED);
+        when(jpaRepo.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<UUID> chunk = invocation.getArgument(0);
+            List<LoanJpaEntity> entities = new ArrayList<>();
+            chunk.forEach(uuid -> {
+                if (uuid.equals(first.value())) entities.add(firstEntity);
+                if (uuid.equals(last.value())) entities.add(lastEntity);
+            });
+            // The database does not guarantee IN-list order
+            return entities.reversed();
+        });
+        when(mapper.toDomain(firstEntity)).thenReturn(firstDomain);
+        when(mapper.toDomain(lastEntity)).thenReturn(lastDomain);
+
+        List<LoanApplication> result = adapter.findAllById(ids.reversed());
+
+        assertEquals(List.of(lastDomain, firstDomain), result);
+        ArgumentCaptor<Iterable<UUID>> chunks = ArgumentCaptor.forClass(Iterable.class);
+        verify(jpaRepo, times(2)).findAllById(chunks.capture());
+        assertEquals(LoanPersistenceAdapter.IN_CLAUSE_CHUNK_SIZE, ((List<UUID>) chunks.getAllValues().get(0)).size());
+        assertEquals(1, ((List<UUID>) chunks.getAllValues().get(1)).size());
+    }
+
     private LoanApplication sampleDomain(LoanStatus status) {
         return LoanApplication.builder()
                 .id(new LoanId(UUID.randomUUID()))
@@ -7,6 +7,7 @@ import org.mockito.Mockito;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -130,4 +131,95 @@ class LoanSpecificationsTest {
         Predicate result = LoanSpecifications.createdBetween(null, end).toPredicate(root, query, cb);
         assertSame(ltPredicate, result);
     }
+
+    @Test
+    @DisplayName("after returns null when there is no cursor")
+    void afterReturnsNullWithoutCursor() {
+        Root<LoanJpaEntity> root = Mockito.mock(Root.class);
+        CriteriaQuery<?> query = Mockito.mock(CriteriaQuery.class);
+        CriteriaBuilder cb = Mockito.mock(CriteriaBuilder.class);
+
+        Predicate result = LoanSpecifications.after(null, null).toPredicate(root, query, cb);
+        assertNull(result);
+    }
+
+    @Test
+    @DisplayName("after returns later creation times, or the same time with a greater id")
+    void afterReturnsKeysetPredicate() {
+        Root<LoanJpaEntity> root = Mockito.mock(Root.class);
+        CriteriaQuery<?> query = Mockito.mock(CriteriaQuery.class);
+        CriteriaBuilder cb = Mockito.mock(CriteriaBuilder.class);
+        @SuppressWarnings("unchecked")
+        Path<Instant> createdAtPath = (Path<Instant>) Mockito.mock(Path.class);
+        @SuppressWarnings("unchecked")
+        Path<UUID> idPath = (Path<UUID>) Mockito.mock(Path.class);
+        Mockito.when(root.<Instant>get("createdAt")).thenReturn(createdAtPath);
+        Mockito.when(root.<UUID>get("id")).thenReturn(idPath);
+
+        Instant createdAt = Instant.parse("2026-02-07T10:00:00.123Z");
+        UUID id = UUID.randomUUID();
+
+        Predicate laterPredicate = Mockito.mock(Predicate.class);
+        Predicate sameTimePredicate = Mockito.mock(Predicate.class);
+        Predicate greaterIdPredicate = Mockito.mock(Predicate.class);
+        Predicate tiePredicate = Mockito.mock(Predicate.class);
+        Predicate orPredicate = Mockito.mock(Predicate.class);
+
+        Mockito.when(cb.greaterThan(createdAtPath, createdAt)).thenReturn(laterPredicate);
+        Mockito.when(cb.equal(createdAtPath, createdAt)).thenReturn(sameTimePredicate);
+        Mockito.when(cb.greaterThan(idPath, id)).thenReturn(greaterIdPredicate);
+        Mockito.when(cb.and(sameTimePredicate, greaterIdPredicate)).thenReturn(tiePredicate);
+        Mockito.when(cb.or(laterPredicate, tiePredicate)).thenReturn(orPredicate);
+
+        Predicate result = LoanSpecifications.after(createdAt, id).toPredicate(root, query, cb);
+        assertSame(orPredicate, result);
+    }
+
+    @Test
+    @DisplayName("hasStatus returns null predicate when status is null, equal predicate otherwise")
+    void hasStatusReturnsEqualPredicate() {
+        Root<LoanJpaEntity> root = Mockito.mock(Root.class);
+        CriteriaQuery<?> query = Mockito.mock(CriteriaQuery.class);
+        CriteriaBuilder cb = Mockito.mock(CriteriaBuilder.class);
+        @SuppressWarnings("unchecked")
+        Path<String> statusPath = (Path<String>) Mockito.mock(Path.class);
+        Mockito.when(root.<String>get("status")).thenReturn(statusPath);
+        Predicate expected = Mockito.mock(Predicate.class);
+        Mockito.when(cb.equal(statusPath, "PENDING")).thenReturn(expected);
+
+        assertNull(LoanSpecifications.hasStatus(null).toPredicate(root, query, cb));
+        assertSame(expected, LoanSpecifications.hasStatus("PENDING").toPredicate(root, query, cb));
+    }
+
+    @Test
+    @DisplayName("before returns earlier creation times, or the same time with a smaller id")
+    void beforeReturnsKeysetPredicate() {
+        Root<LoanJpaEntity> root = Mockito.mock(Root.class);
+        CriteriaQuery<?> query = Mockito.mock(CriteriaQuery.class);
+        CriteriaBuilder cb = Mockito.mock(CriteriaBuilder.class);
+        @SuppressWarnings("unchecked")
+        Path<Instant> createdAtPath = (Path<Instant>) Mockito.mock(Path.class);
+        @SuppressWarnings("unchecked")
+        Path<UUID> idPath = (Path<UUID>) Mockito.mock(Path.class);
+        Mockito.when(root.<Instant>get("createdAt")).thenReturn(createdAtPath);
+        Mockito.when(root.<UUID>get("id")).thenReturn(idPath);
+
+        Instant createdAt = Instant.parse("2026-02-07T10:00:00.123Z");
+        UUID id = UUID.randomUUID();
+
+        Predicate earlierPredicate = Mockito.mock(Predicate.class);
+        Predicate sameTimePredicate = Mockito.mock(Predicate.class);
+        Predicate smallerIdPredicate = Mockito.mock(Predicate.class);
+        Predicate tiePredicate = Mockito.mock(Predicate.class);
+        Predicate orPredicate = Mockito.mock(Predicate.class);
+
+        Mockito.when(cb.lessThan(createdAtPath, createdAt)).thenReturn(earlierPredicate);
+        Mockito.when(cb.equal(createdAtPath, createdAt)).thenReturn(sameTimePredicate);
+        Mockito.when(cb.lessThan(idPath, id)).thenReturn(smallerIdPredicate);
+        Mockito.when(cb.and(sameTimePredicate, smallerIdPredicate)).thenReturn(tiePredicate);
+        Mockito.when(cb.or(earlierPredicate, tiePredicate)).thenReturn(orPredicate);
+
+        assertNull(LoanSpecifications.before(null, null).toPredicate(root, query, cb));
+        assertSame(orPredicate, LoanSpecifications.before(createdAt, id).toPredicate(root, query, cb));
+    }
 }
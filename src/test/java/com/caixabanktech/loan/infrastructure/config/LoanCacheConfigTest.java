@@ -0,0 +1,196 @@
+package com.caixabanktech.loan.infrastructure.config;
+
+import com.caixabanktech.loan.domain.model.LoanApplication;
+import com.caixabanktech.loan.domain.model.LoanId;
+import com.caixabanktech.loan.domain.model.LoanStatus;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CacheLoadCoordinator;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.HotKeys;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.InMemoryLoanCacheBackend;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheInvalidationBus;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheMetrics.Family;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.LoanCacheTtlPolicy;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.NearCache;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.RedisCircuitBreaker;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.RedisLoanCacheBackend;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.RefreshAheadScheduler;
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.StaleWhileRevalidate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("LoanCacheConfig Tests")
+class LoanCacheConfigTest {
+
+    private final LoanCacheConfig config = new LoanCacheConfig();
+
+    @Test
+    @DisplayName("the loan cache backend should be Redis by default and in-process for a single node")
+    @SuppressWarnings("unchecked")
+    void shouldCreateCacheBackends() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+
+        assertThat(config.redisLoanCacheBackend(mock(RedisTemplate.class), properties)).isInstanceOf(RedisLoanCacheBackend.class);
+        assertThat(config.inMemoryLoanCacheBackend(properties)).isInstanceOf(InMemoryLoanCacheBackend.class);
+    }
+
+    @Test
+    @DisplayName("loanNearCache should be sized from the near cache properties")
+    void shouldSizeNearCacheFromProperties() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        properties.getNear().setMaximumSize(42);
+        properties.getNear().setTtl(Duration.ofSeconds(5));
+
+        assertThat(config.loanNearCache(properties, config.loanHotKeys(properties)).maximumSize()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("loanNearCache should be disabled when the near cache is switched off")
+    void shouldDisableNearCache() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        properties.getNear().setEnabled(false);
+
+        assertThat(config.loanNearCache(properties, config.loanHotKeys(properties)).maximumSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("loanNearCache should only admit loans the loan hot keys saw often enough, unless admission is off")
+    void shouldAdmitNearCacheEntriesByFrequency() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        HotKeys<LoanId> hotKeys = config.loanHotKeys(properties);
+        LoanId id = new LoanId(UUID.randomUUID());
+        LoanApplication loan = mock(LoanApplication.class);
+        NearCache<LoanId, LoanApplication> nearCache = config.loanNearCache(properties, hotKeys);
+
+        hotKeys.record(id);
+        assertThat(nearCache.offer(id, loan)).isFalse();
+        hotKeys.record(id);
+        assertThat(nearCache.offer(id, loan)).isTrue();
+
+        properties.getHotKeys().setAdmission(false);
+        assertThat(config.loanNearCache(properties, hotKeys).offer(new LoanId(UUID.randomUUID()), loan)).isTrue();
+    }
+
+    @Test
+    @DisplayName("cacheLoadCoordinator should be created from the coalescing properties")
+    @SuppressWarnings("unchecked")
+    void shouldCreateLoadCoordinator() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        properties.getCoalescing().setDistributedLock(true);
+
+        assertThat(config.cacheLoadCoordinator(mock(RedisTemplate.class), properties).inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("refreshAheadScheduler should honour the enabled flag")
+    void shouldCreateRefreshAheadScheduler() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        try (RefreshAheadScheduler enabled = config.refreshAheadScheduler(properties)) {
+            enabled.onHit("loan:1", () -> null, () -> { });
+            assertThat(enabled.trackedKeys()).isEqualTo(1);
+        }
+
+        properties.getRefreshAhead().setEnabled(false);
+        RefreshAheadScheduler disabled = config.refreshAheadScheduler(properties);
+        disabled.onHit("loan:1", () -> null, () -> { });
+        assertThat(disabled.trackedKeys()).isZero();
+    }
+
+    @Test
+    @DisplayName("redisCircuitBreaker should open after the configured failures unless disabled")
+    @SuppressWarnings("unchecked")
+    void shouldCreateRedisCircuitBreaker() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        properties.getCircuitBreaker().setFailureThreshold(1);
+        try (RedisCircuitBreaker enabled = config.redisCircuitBreaker(mock(RedisTemplate.class), properties)) {
+            enabled.recordFailure();
+            assertThat(enabled.state()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        }
+
+        properties.getCircuitBreaker().setEnabled(false);
+        RedisCircuitBreaker disabled = config.redisCircuitBreaker(mock(RedisTemplate.class), properties);
+        disabled.recordFailure();
+        assertThat(disabled.state()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("loanCacheTtlPolicy should keep terminal loans cached longer than pending ones")
+    void shouldBuildStatusAwareTtlPolicy() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        properties.getTtl().setJitter(0);
+        properties.getTtl().getCriteria().setTtl(Duration.ofMinutes(2));
+
+        LoanCacheTtlPolicy policy = config.loanCacheTtlPolicy(properties);
+
+        assertThat(policy.ttl(Family.LOAN, LoanStatus.PENDING)).isEqualTo(Duration.ofMinutes(5));
+        assertThat(policy.ttl(Family.LOAN, LoanStatus.APPROVED)).isEqualTo(Duration.ofMinutes(10));
+        assertThat(policy.ttl(Family.LOAN, LoanStatus.REJECTED)).isEqualTo(Duration.ofHours(24));
+        assertThat(policy.ttl(Family.HISTORY, LoanStatus.CANCELLED)).isEqualTo(Duration.ofHours(24));
+        assertThat(policy.ttl(Family.CRITERIA)).isEqualTo(Duration.ofMinutes(2));
+    }
+
+    @Test
+    @DisplayName("loanCacheMetrics should expose circuit breaker and near cache gauges")
+    @SuppressWarnings("unchecked")
+    void shouldRegisterCacheGauges() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        NearCache<LoanId, LoanApplication> nearCache = config.loanNearCache(properties, config.loanHotKeys(properties));
+        CacheLoadCoordinator coordinator = config.cacheLoadCoordinator(mock(RedisTemplate.class), properties);
+
+        String scrape = config.loanCacheMetrics(nearCache, RedisCircuitBreaker.disabled(), RefreshAheadScheduler.disabled(),
+                coordinator, new RedisConfig().loanCacheValueSerializer(properties), StaleWhileRevalidate.disabled()).scrape();
+
+        assertThat(scrape).contains("loan_cache_circuit_state 0\n", "# TYPE loan_cache_circuit_trips_total counter\n",
+                "loan_cache_circuit_short_circuited_total 0\n", "loan_cache_near_size 0\n",
+                "loan_cache_near_evictions_total 0\n", "loan_cache_near_rejections_total 0\n",
+                "loan_cache_refresh_tracked_keys 0\n", "loan_cache_loads_in_flight 0\n",
+                "loan_cache_compressed_values_total 0\n", "loan_cache_compression_ratio 1\n", "loan_cache_stale_served_total 0\n",
+                "loan_cache_load_timeouts_total 0\n", "loan_cache_load_coalesced_total 0\n");
+    }
+
+    @Test
+    @DisplayName("staleWhileRevalidate should only be enabled when stale serving is configured")
+    void shouldEnableStaleServingFromProperties() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        assertThat(config.staleWhileRevalidate(properties).isEnabled()).isTrue();
+
+        properties.getStale().setEnabled(false);
+        assertThat(config.staleWhileRevalidate(properties).isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("loanCacheListenerContainer should not auto start and should be started on application ready")
+    @SuppressWarnings("unchecked")
+    void shouldStartListenerContainerOnApplicationReady() {
+        NearCache<LoanId, LoanApplication> nearCache = new NearCache<>(10, Duration.ofSeconds(5));
+        LoanCacheInvalidationBus bus = config.loanCacheInvalidationBus(mock(RedisTemplate.class), nearCache);
+        RedisMessageListenerContainer container = config.loanCacheListenerContainer(mock(RedisConnectionFactory.class), bus);
+        assertThat(container.isAutoStartup()).isFalse();
+
+        RedisMessageListenerContainer mockedContainer = mock(RedisMessageListenerContainer.class);
+        config.loanCacheListenerStarter(mockedContainer).onApplicationEvent(mock(ApplicationReadyEvent.class));
+
+        verify(mockedContainer).start();
+    }
+
+    @Test
+    @DisplayName("loanCacheListenerStarter should not fail startup when Redis is unavailable")
+    void shouldNotFailWhenSubscriptionFails() {
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+        doThrow(new IllegalStateException("Redis down")).when(container).start();
+
+        assertThatCode(() -> config.loanCacheListenerStarter(container).onApplicationEvent(mock(ApplicationReadyEvent.class)))
+                .doesNotThrowAnyException();
+    }
+}
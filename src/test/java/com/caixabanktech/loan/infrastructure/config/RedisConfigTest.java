@@ -1,10 +1,10 @@
 package com.caixabanktech.loan.infrastructure.config;
 
+import com.caixabanktech.loan.infrastructure.adapter.output.persistence.cache.CompressingRedisSerializer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -20,13 +20,26 @@ class RedisConfigTest {
     void shouldConfigureRedisTemplateWithCorrectSerializers() {
         RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
 
-        RedisTemplate<String, Object> template = redisConfig.redisTemplate(connectionFactory);
+        CompressingRedisSerializer serializer = redisConfig.loanCacheValueSerializer(new LoanCacheProperties());
+
+        RedisTemplate<String, Object> template = redisConfig.redisTemplate(connectionFactory, serializer);
 
         assertThat(template).isNotNull();
         assertThat(template.getConnectionFactory()).isEqualTo(connectionFactory);
         assertThat(template.getKeySerializer()).isInstanceOf(StringRedisSerializer.class);
-        assertThat(template.getValueSerializer()).isInstanceOf(GenericJackson2JsonRedisSerializer.class);
+        assertThat(template.getValueSerializer()).isSameAs(serializer);
         assertThat(template.getHashKeySerializer()).isInstanceOf(StringRedisSerializer.class);
-        assertThat(template.getHashValueSerializer()).isInstanceOf(GenericJackson2JsonRedisSerializer.class);
+        assertThat(template.getHashValueSerializer()).isSameAs(serializer);
+    }
+
+    @Test
+    @DisplayName("loanCacheValueSerializer should use the configured threshold and never compress when disabled")
+    void shouldApplyCompressionProperties() {
+        LoanCacheProperties properties = new LoanCacheProperties();
+        properties.getCompression().setThresholdBytes(256);
+        assertThat(redisConfig.loanCacheValueSerializer(properties).thresholdBytes()).isEqualTo(256);
+
+        properties.getCompression().setEnabled(false);
+        assertThat(redisConfig.loanCacheValueSerializer(properties).thresholdBytes()).isEqualTo(Integer.MAX_VALUE);
     }
 }